@@ -0,0 +1,69 @@
+package graphsAndAlgorithms.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphsAndAlgorithms.AllPairsShortestPaths;
+import graphsAndAlgorithms.DistanceMatrix;
+import graphsAndAlgorithms.GraphGenerators;
+import graphsAndAlgorithms.Location;
+
+/*
+ * All pairs distances of a 2,000 vertex random geometric graph by blocked Floyd-Warshall and
+ * by repeated Dijkstra, across average degrees from sparse to an edge in every 4 pairs.
+ * The crossover sets AllPairsShortestPaths.DENSE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AllPairsBenchmark {
+    @Param({ "2000" })
+    public int size;
+
+    @Param({ "8", "128", "512" })
+    public int degree;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private ForkJoinPool pool;
+    private AllPairsShortestPaths<Location> allPairs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.pool = new ForkJoinPool(this.threads);
+        this.allPairs = new AllPairsShortestPaths<>(GraphGenerators.randomGeometric(this.size, this.degree, 42), this.pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public DistanceMatrix<Location> floydWarshall() {
+        return this.allPairs.compute(AllPairsShortestPaths.Method.FLOYD_WARSHALL);
+    }
+
+    @Benchmark
+    public DistanceMatrix<Location> dijkstra() {
+        return this.allPairs.compute(AllPairsShortestPaths.Method.DIJKSTRA);
+    }
+}
@@ -0,0 +1,80 @@
+package graphsAndAlgorithms.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphsAndAlgorithms.CSRGraph;
+import graphsAndAlgorithms.DeltaStepping;
+import graphsAndAlgorithms.GraphGenerators;
+import graphsAndAlgorithms.IndexedDijkstras;
+import graphsAndAlgorithms.Location;
+import graphsAndAlgorithms.Path;
+
+/*
+ * Full single source shortest paths on a million vertex random geometric graph: delta-stepping
+ * on a pool of the given size against one sequential Dijkstra run to the farthest vertex.
+ * Run with -p threads=1,2,4,8,16,32 to see how it scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class DeltaSteppingBenchmark {
+    @Param({ "1000000" })
+    public int size;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private CSRGraph<Location> graph;
+    private ForkJoinPool pool;
+    private DeltaStepping<Location> deltaStepping;
+    private IndexedDijkstras<Location> dijkstras;
+    private Location farthest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.graph = GraphGenerators.randomGeometric(this.size, 6, 42);
+        this.pool = new ForkJoinPool(this.threads);
+        this.deltaStepping = new DeltaStepping<>(this.graph, Double.NaN, this.pool);
+        this.dijkstras = new IndexedDijkstras<>(this.graph);
+
+        double[] distances = this.deltaStepping.distances(0);
+        int farthest = 0;
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] != Double.POSITIVE_INFINITY && distances[v] > distances[farthest]) farthest = v;
+        }
+        this.farthest = this.graph.valueOf(farthest);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] deltaStepping() {
+        return this.deltaStepping.distances(0);
+    }
+
+    @Benchmark
+    public Path<Location> dijkstras() {
+        return this.dijkstras.findPath(this.graph.valueOf(0), this.farthest);
+    }
+}
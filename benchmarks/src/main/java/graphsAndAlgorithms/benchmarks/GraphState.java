@@ -0,0 +1,67 @@
+package graphsAndAlgorithms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import graphsAndAlgorithms.GridGraph;
+import graphsAndAlgorithms.Location;
+
+/*
+ * Benchmark graph and query set, both built from fixed seeds so every run and every
+ * algorithm answers the same queries on the same graph.
+ * random: size random points joined to their 3 nearest neighbors (Main's old workload)
+ * grid: full 4-connected grid of about size cells
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    public static final int QUERIES = 1024;
+
+    @Param({ "random", "grid" })
+    public String family;
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "42" })
+    public long seed;
+
+    public GridGraph graph;
+    public Location[] starts;
+    public Location[] ends;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (this.family.equals("grid")) {
+            int side = (int) Math.ceil(Math.sqrt(this.size));
+            this.graph = GridGraph.makeFullGridGraph(side, side);
+        } else {
+            this.graph = GridGraph.makeRandomGridGraph(this.size, 3, this.seed);
+        }
+
+        /* Vertex ids follow insertion order, which the seeded generators fix */
+        List<Location> vertices = new ArrayList<>();
+        for (int i = 0; i < this.graph.size(); i++) {
+            vertices.add(this.graph.vertexAt(i).getValue());
+        }
+
+        SplittableRandom random = new SplittableRandom(this.seed);
+        this.starts = new Location[QUERIES];
+        this.ends = new Location[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Location start = vertices.get(random.nextInt(vertices.size()));
+            Location end = vertices.get(random.nextInt(vertices.size()));
+            while (end.equals(start)) {
+                end = vertices.get(random.nextInt(vertices.size()));
+            }
+            this.starts[i] = start;
+            this.ends[i] = end;
+        }
+    }
+}
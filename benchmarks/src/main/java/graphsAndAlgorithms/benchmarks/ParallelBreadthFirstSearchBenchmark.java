@@ -0,0 +1,87 @@
+package graphsAndAlgorithms.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphsAndAlgorithms.BreadthFirstSearch;
+import graphsAndAlgorithms.GraphGenerators;
+import graphsAndAlgorithms.IndexedGraph;
+import graphsAndAlgorithms.Location;
+import graphsAndAlgorithms.ParallelBreadthFirstSearch;
+import graphsAndAlgorithms.Path;
+
+/*
+ * Full breadth first traversal of a million vertices from the middle vertex: the direction
+ * optimizing search on a pool of the given size against the sequential BreadthFirstSearch
+ * run to the last vertex reached.
+ * grid: open 1000 x 1000 grid, a thousand levels
+ * scaleFree: Barabasi-Albert graph with 8 edges per vertex, a handful of levels
+ * Run with -p threads=1,2,4,8,16,32 to see how it scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParallelBreadthFirstSearchBenchmark {
+    @Param({ "grid", "scaleFree" })
+    public String family;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private IndexedGraph<Location> graph;
+    private ForkJoinPool pool;
+    private ParallelBreadthFirstSearch<Location> parallel;
+    private int source;
+    private Location farthest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (this.family.equals("grid")) {
+            this.graph = GraphGenerators.obstacleGrid(1000, 1000, 0, false, 42);
+        } else {
+            this.graph = GraphGenerators.scaleFree(1000000, 8, 42);
+        }
+        this.pool = new ForkJoinPool(this.threads);
+        this.parallel = new ParallelBreadthFirstSearch<>(this.graph, this.pool);
+        this.source = this.graph.size() / 2;
+
+        ParallelBreadthFirstSearch.Tree tree = this.parallel.traverse(this.source, -1);
+        int farthest = this.source;
+        for (int v = 0; v < this.graph.size(); v++) {
+            if (tree.levels[v] > tree.levels[farthest]) farthest = v;
+        }
+        this.farthest = this.graph.valueOf(farthest);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public ParallelBreadthFirstSearch.Tree parallel() {
+        return this.parallel.traverse(this.source, -1);
+    }
+
+    @Benchmark
+    public Path<Location> sequential() {
+        return BreadthFirstSearch.findPath(this.graph, this.graph.valueOf(this.source), this.farthest);
+    }
+}
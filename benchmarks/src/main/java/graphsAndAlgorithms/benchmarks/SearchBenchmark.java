@@ -0,0 +1,88 @@
+package graphsAndAlgorithms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphsAndAlgorithms.AStar;
+import graphsAndAlgorithms.BreadthFirstSearch;
+import graphsAndAlgorithms.DepthFirstSearch;
+import graphsAndAlgorithms.Dijkstras;
+import graphsAndAlgorithms.Location;
+import graphsAndAlgorithms.NearestNeighbor;
+import graphsAndAlgorithms.Path;
+import graphsAndAlgorithms.WVertex;
+
+/*
+ * One findPath call per invocation, cycling through the fixed query set. Returning the path
+ * hands it to JMH's blackhole so the search cannot be optimized away.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+    private BreadthFirstSearch<Location> bfs;
+    private DepthFirstSearch<Location> dfs;
+    private NearestNeighbor<Location> nearestNeighbor;
+    private Dijkstras<Location> dijkstras;
+    private AStar<Location> aStar;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setup(GraphState state) {
+        this.bfs = new BreadthFirstSearch<>(state.graph);
+        this.dfs = new DepthFirstSearch<>(state.graph);
+        this.nearestNeighbor = new NearestNeighbor<>(state.graph);
+        this.dijkstras = new Dijkstras<>(state.graph);
+        this.aStar = new AStar<>(state.graph);
+        this.query = 0;
+    }
+
+    private int next() {
+        this.query = (this.query + 1) & (GraphState.QUERIES - 1);
+        return this.query;
+    }
+
+    @Benchmark
+    public Path<WVertex<Location>> bfs(GraphState state) {
+        int i = this.next();
+        return this.bfs.findPath(state.starts[i], state.ends[i]);
+    }
+
+    @Benchmark
+    public Path<WVertex<Location>> dfs(GraphState state) {
+        int i = this.next();
+        return this.dfs.findPath(state.starts[i], state.ends[i]);
+    }
+
+    @Benchmark
+    public Path<WVertex<Location>> nearestNeighbor(GraphState state) {
+        int i = this.next();
+        return this.nearestNeighbor.findPath(state.starts[i], state.ends[i]);
+    }
+
+    @Benchmark
+    public Path<WVertex<Location>> dijkstras(GraphState state) {
+        int i = this.next();
+        return this.dijkstras.findPath(state.starts[i], state.ends[i]);
+    }
+
+    @Benchmark
+    public Path<WVertex<Location>> aStar(GraphState state) {
+        int i = this.next();
+        return this.aStar.findPath(state.starts[i], state.ends[i]);
+    }
+}
@@ -0,0 +1,81 @@
+package graphsAndAlgorithms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphsAndAlgorithms.CSRGraph;
+import graphsAndAlgorithms.GraphGenerators;
+import graphsAndAlgorithms.IndexedDijkstras;
+import graphsAndAlgorithms.Location;
+import graphsAndAlgorithms.Path;
+import graphsAndAlgorithms.ShortestPathTree;
+
+/*
+ * Distances from one depot to many customers on a hundred thousand vertex random geometric
+ * graph: one findPath() per customer against one shortestPathTree() for all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ShortestPathTreeBenchmark {
+    @Param({ "100", "5000" })
+    public int customers;
+
+    private CSRGraph<Location> graph;
+    private IndexedDijkstras<Location> dijkstras;
+    private Location depot;
+    private List<Location> targets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.graph = GraphGenerators.randomGeometric(100000, 6, 42);
+        this.dijkstras = new IndexedDijkstras<>(this.graph);
+        this.depot = this.graph.valueOf(0);
+
+        ShortestPathTree<Location> reachable = this.dijkstras.shortestPathTree(this.depot);
+        SplittableRandom random = new SplittableRandom(42);
+        this.targets = new ArrayList<>();
+        while (this.targets.size() < this.customers) {
+            Location target = this.graph.valueOf(random.nextInt(this.graph.size()));
+            if (reachable.isReached(target)) this.targets.add(target);
+        }
+    }
+
+    @Benchmark
+    public double findPathPerCustomer() {
+        double total = 0;
+        for (Location target : this.targets) {
+            Path<Location> path = this.dijkstras.findPath(this.depot, target);
+            total += path.distance;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double shortestPathTree() {
+        ShortestPathTree<Location> tree = this.dijkstras.shortestPathTree(this.depot, this.targets);
+        double total = 0;
+        for (Location target : this.targets) {
+            total += tree.distance(target);
+        }
+        return total;
+    }
+}
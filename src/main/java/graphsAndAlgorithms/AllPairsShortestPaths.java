@@ -0,0 +1,238 @@
+package graphsAndAlgorithms;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/*
+ * Shortest distances between all pairs of vertices of an IndexedGraph, into a DistanceMatrix,
+ * computed on a fork/join pool by one of two methods:
+ *
+ *     FLOYD_WARSHALL  blocked Floyd-Warshall (Venkataraman, Sahni and Mukhopadhyaya). For each
+ *                     diagonal tile k in turn, the tile is closed on its own, then the other
+ *                     tiles of row and column k against it, then every remaining tile (i, j)
+ *                     against (i, k) and (k, j). Tiles of the last two phases are independent,
+ *                     so they run in parallel, and each update works on three tiles that fit
+ *                     in cache together. n^3 steps of a min and an add, whatever the edges.
+ *     DIJKSTRA        one Dijkstra per source, sources in parallel, each writing its row.
+ *                     About n (m + n log n) steps, far less than n^3 on sparse graphs.
+ *
+ * choose() picks Floyd-Warshall once the graph is dense enough for its simpler steps to win, or
+ * when a weight is negative, which Dijkstra cannot handle (Floyd-Warshall can, as long as there
+ * is no negative cycle).
+ */
+public class AllPairsShortestPaths<T> {
+    public enum Method {
+        FLOYD_WARSHALL, DIJKSTRA
+    }
+
+    /* From AllPairsBenchmark on 2,000 vertices: Dijkstra stays ahead below about one edge in 5 pairs */
+    private static final double DENSE = 1.0 / 5;
+
+    private final IndexedGraph<T> graph;
+    private final ForkJoinPool pool;
+    private final long edges;
+    private final boolean negative;
+
+    public AllPairsShortestPaths(IndexedGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public AllPairsShortestPaths(IndexedGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        long edges = 0;
+        boolean negative = false;
+        for (int v = 0; v < graph.size(); v++) {
+            for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                if (graph.edgeTarget(edge) < 0) continue;
+                edges++;
+                negative |= graph.edgeWeight(edge) < 0;
+            }
+        }
+        this.edges = edges;
+        this.negative = negative;
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public Method choose() {
+        double pairs = (double) this.graph.size() * this.graph.size();
+        return this.negative || this.edges >= DENSE * pairs ? Method.FLOYD_WARSHALL : Method.DIJKSTRA;
+    }
+
+    public DistanceMatrix<T> compute() {
+        return this.compute(this.choose());
+    }
+
+    public DistanceMatrix<T> compute(Method method) {
+        return this.fill(new DistanceMatrix<>(this.graph, method));
+    }
+
+    /*
+     * compute() into a matrix mapped from file, for matrices bigger than the heap
+     */
+    public DistanceMatrix<T> compute(Method method, java.nio.file.Path file) throws IOException {
+        return this.fill(DistanceMatrix.map(this.graph, method, file));
+    }
+
+    private DistanceMatrix<T> fill(DistanceMatrix<T> matrix) {
+        if (matrix.getMethod() == Method.FLOYD_WARSHALL) {
+            this.floydWarshall(matrix);
+        } else {
+            if (this.negative) {
+                throw new IllegalArgumentException("Dijkstra needs weights that are not negative");
+            }
+            this.dijkstras(matrix);
+        }
+        return matrix;
+    }
+
+    private void floydWarshall(DistanceMatrix<T> matrix) {
+        int tiles = matrix.tiles();
+        this.parallel(tiles, row -> this.initializeRow(matrix, row));
+
+        for (int k = 0; k < tiles; k++) {
+            int diagonal = k * tiles + k;
+            float[] pivot = matrix.distanceTile(diagonal);
+            int[] pivotSuccessors = matrix.successorTile(diagonal);
+            relax(pivot, pivotSuccessors, pivot, pivotSuccessors, pivot);
+            matrix.storeTile(diagonal, pivot, pivotSuccessors);
+
+            /* Row k then column k, each against the closed diagonal tile */
+            int pivotRow = k;
+            this.parallel(2 * tiles, task -> {
+                int other = task % tiles;
+                if (other == pivotRow) return;
+                if (task < tiles) {
+                    int tile = pivotRow * tiles + other;
+                    float[] distances = matrix.distanceTile(tile);
+                    int[] successors = matrix.successorTile(tile);
+                    relax(distances, successors, pivot, pivotSuccessors, distances);
+                    matrix.storeTile(tile, distances, successors);
+                } else {
+                    int tile = other * tiles + pivotRow;
+                    float[] distances = matrix.distanceTile(tile);
+                    int[] successors = matrix.successorTile(tile);
+                    relax(distances, successors, distances, successors, pivot);
+                    matrix.storeTile(tile, distances, successors);
+                }
+            });
+
+            this.parallel(tiles * tiles, tile -> {
+                int row = tile / tiles;
+                int col = tile % tiles;
+                if (row == pivotRow || col == pivotRow) return;
+                float[] distances = matrix.distanceTile(tile);
+                int[] successors = matrix.successorTile(tile);
+                int left = row * tiles + pivotRow;
+                relax(distances, successors, matrix.distanceTile(left), matrix.successorTile(left), matrix.distanceTile(pivotRow * tiles + col));
+                matrix.storeTile(tile, distances, successors);
+            });
+        }
+    }
+
+    /*
+     * Tiles of one row of tiles with the edges and zero diagonal, infinity elsewhere
+     */
+    private void initializeRow(DistanceMatrix<T> matrix, int row) {
+        int tiles = matrix.tiles();
+        float[][] distances = new float[tiles][];
+        int[][] successors = new int[tiles][];
+        for (int col = 0; col < tiles; col++) {
+            distances[col] = matrix.distanceTile(row * tiles + col);
+            successors[col] = matrix.successorTile(row * tiles + col);
+            DistanceMatrix.clearTile(distances[col], successors[col]);
+        }
+        int first = row * DistanceMatrix.TILE;
+        int last = Math.min(this.graph.size(), first + DistanceMatrix.TILE);
+        for (int v = first; v < last; v++) {
+            int cell = (v - first) * DistanceMatrix.TILE;
+            distances[row][cell + v % DistanceMatrix.TILE] = 0;
+            successors[row][cell + v % DistanceMatrix.TILE] = v;
+            for (int edge = this.graph.edgeStart(v); edge < this.graph.edgeEnd(v); edge++) {
+                int target = this.graph.edgeTarget(edge);
+                if (target < 0) continue;
+                float weight = (float) this.graph.edgeWeight(edge);
+                int col = target / DistanceMatrix.TILE;
+                int at = cell + target % DistanceMatrix.TILE;
+                if (weight < distances[col][at]) {
+                    distances[col][at] = weight;
+                    successors[col][at] = target;
+                }
+            }
+        }
+        for (int col = 0; col < tiles; col++) {
+            matrix.storeTile(row * tiles + col, distances[col], successors[col]);
+        }
+    }
+
+    /*
+     * One Floyd-Warshall pass over tile c through the vertices of a tile k:
+     * c[i][j] = min(c[i][j], a[i][k] + b[k][j]), where a is tile (i, k) and b is tile (k, j).
+     * a or b may be c itself; their row and column k do not change while k is the pivot.
+     * The update is written without a branch, since whether a sum is shorter is unpredictable.
+     */
+    private static void relax(float[] c, int[] cSuccessors, float[] a, int[] aSuccessors, float[] b) {
+        int tile = DistanceMatrix.TILE;
+        for (int k = 0; k < tile; k++) {
+            int kRow = k * tile;
+            for (int i = 0; i < tile; i++) {
+                int iRow = i * tile;
+                float ik = a[iRow + k];
+                if (ik == Float.POSITIVE_INFINITY) continue;
+                int via = aSuccessors[iRow + k];
+                for (int j = 0; j < tile; j++) {
+                    float distance = ik + b[kRow + j];
+                    float current = c[iRow + j];
+                    boolean shorter = distance < current;
+                    c[iRow + j] = shorter ? distance : current;
+                    cSuccessors[iRow + j] = shorter ? via : cSuccessors[iRow + j];
+                }
+            }
+        }
+    }
+
+    /*
+     * Sources in blocks of one tile row, each block reusing its row buffers
+     */
+    private void dijkstras(DistanceMatrix<T> matrix) {
+        int width = matrix.tiles() * DistanceMatrix.TILE;
+        this.parallel(matrix.tiles(), block -> {
+            float[] distances = new float[width];
+            int[] successors = new int[width];
+            int last = Math.min(this.graph.size(), (block + 1) * DistanceMatrix.TILE);
+            for (int source = block * DistanceMatrix.TILE; source < last; source++) {
+                this.row(source, distances, successors);
+                matrix.storeRow(source, distances, successors);
+            }
+        });
+    }
+
+    /*
+     * Distances from source and, for each vertex, the first vertex after source on its path.
+     * Vertices settle after their predecessors, so each takes its predecessor's first vertex,
+     * or itself next to the source.
+     */
+    private void row(int source, float[] distances, int[] successors) {
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(successors, -1);
+        SearchWorkspace workspace = SearchWorkspace.forThread(this.graph.size());
+        int[] order = workspace.queue();
+        int settled = IndexedDijkstras.search(this.graph, workspace, source, -1, null, 0, null, order);
+        for (int i = 0; i < settled; i++) {
+            int current = order[i];
+            int predecessor = workspace.predecessor(current);
+            distances[current] = (float) workspace.distance(current);
+            successors[current] = predecessor == -1 || predecessor == source ? current : successors[predecessor];
+        }
+    }
+
+    private void parallel(int tasks, IntConsumer task) {
+        this.pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task)).join();
+    }
+}
@@ -0,0 +1,12 @@
+package graphsAndAlgorithms;
+
+public class BidirectionalAStar<T extends Distancable<T>> extends BidirectionalDijkstras<T> {
+    public BidirectionalAStar(WAdjacencyGraph<T> graph) {
+        super(graph);
+    }
+
+    @Override
+    public double heuristic(T start, T end) {
+        return start.distance(end);
+    }
+}
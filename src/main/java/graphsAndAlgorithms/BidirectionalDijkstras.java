@@ -0,0 +1,190 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Dijkstra's algorithm run from both ends at once: forward from the start over outgoing
+ * edges and backward from the end over the reverse adjacency index. Each step expands the
+ * side with the smaller queue. The best edge joining the two searches is remembered, and the
+ * search stops once the two queue minimums add up to at least its start-to-end distance.
+ *
+ * heuristic() turns this into bidirectional A*. Both sides then order their queues with the
+ * average potential p(v) = (h(v, end) - h(start, v)) / 2 (forward: g + p, backward: g - p),
+ * which gives both searches the same non-negative reduced edge costs, so the stopping rule
+ * above stays exact for consistent heuristics.
+ */
+public class BidirectionalDijkstras<T extends Distancable<T>> extends SearchAlgorithm<T> {
+    public BidirectionalDijkstras(WAdjacencyGraph<T> graph) {
+        super(graph);
+    }
+
+    public double heuristic(T start, T end) {
+        return 0;
+    }
+
+    private double potential(T value, T start, T end) {
+        return (this.heuristic(value, end) - this.heuristic(start, value)) / 2;
+    }
+
+    private static double potential(Heuristic heuristic, int id, int startId, int endId) {
+        return heuristic == null ? 0 : (heuristic.estimate(id, endId) - heuristic.estimate(startId, id)) / 2;
+    }
+
+    @Override
+    public Path<WVertex<T>> findPath(T start, T end) {
+        if (!this.graph.contains(start) || !this.graph.contains(end)) {
+            return null;
+        }
+        this.running = true;
+        this.expansions = 0;
+
+        int startId = this.graph.vertices.get(start).getIndex();
+        int endId = this.graph.vertices.get(end).getIndex();
+
+        SearchWorkspace forward = SearchWorkspace.forThread(this.graph.size());
+        SearchWorkspace backward = SearchWorkspace.reverseForThread(this.graph.size());
+        forward.reach(startId, 0, -1);
+        forward.heap().offer(startId, this.potential(start, start, end), 0);
+        backward.reach(endId, 0, -1);
+        backward.heap().offer(endId, -this.potential(end, start, end), 0);
+
+        double best = startId == endId ? 0 : Double.POSITIVE_INFINITY;
+        int meetingForward = startId == endId ? startId : -1;
+        int meetingBackward = meetingForward;
+
+        while (!forward.heap().isEmpty() && !backward.heap().isEmpty()) {
+            if (!this.running) return null;
+            if (forward.heap().peekKey() + backward.heap().peekKey() >= best) {
+                break;
+            }
+
+            boolean forwardStep = forward.heap().size() <= backward.heap().size();
+            SearchWorkspace side = forwardStep ? forward : backward;
+            SearchWorkspace other = forwardStep ? backward : forward;
+
+            int current = side.heap().poll();
+            WVertex<T> currentVertex = this.graph.vertexAt(current);
+            side.close(current);
+            this.visited(currentVertex.getValue());
+
+            double currentDistance = side.distance(current);
+            Map<WVertex<T>, Double> edges = forwardStep ? currentVertex.getNeighbors() : currentVertex.getIncoming();
+            for (Map.Entry<WVertex<T>, Double> edge : edges.entrySet()) {
+                WVertex<T> neighbor = edge.getKey();
+                int neighborId = neighbor.getIndex();
+                double newDistance = currentDistance + edge.getValue();
+                if (other.isReached(neighborId) && newDistance + other.distance(neighborId) < best) {
+                    best = newDistance + other.distance(neighborId);
+                    meetingForward = forwardStep ? current : neighborId;
+                    meetingBackward = forwardStep ? neighborId : current;
+                }
+                if (side.isClosed(neighborId)) {
+                    continue;
+                }
+                this.queued(neighbor.getValue());
+                if (newDistance < side.distance(neighborId)) {
+                    side.reach(neighborId, newDistance, current);
+                    double potential = this.potential(neighbor.getValue(), start, end);
+                    side.heap().offer(neighborId, newDistance + (forwardStep ? potential : -potential), newDistance);
+                }
+            }
+        }
+
+        if (meetingForward == -1) {
+            return null;
+        }
+
+        List<WVertex<T>> pathList = new ArrayList<>();
+        for (int current = meetingForward; current != -1; current = forward.predecessor(current)) {
+            pathList.add(this.graph.vertexAt(current));
+        }
+        Collections.reverse(pathList);
+        int first = meetingBackward == meetingForward ? backward.predecessor(meetingBackward) : meetingBackward;
+        for (int current = first; current != -1; current = backward.predecessor(current)) {
+            pathList.add(this.graph.vertexAt(current));
+        }
+        for (WVertex<T> vertex : pathList) {
+            this.onPath(vertex.getValue());
+        }
+        this.running = false;
+        return new Path<>(pathList, best);
+    }
+
+    /*
+     * Search on an IndexedGraph, as bidirectional A* when heuristic is not null (for example
+     * Heuristic.straightLine() for what BidirectionalAStar does)
+     */
+    public static <T> Path<T> findPath(IndexedGraph<T> graph, T start, T end, Heuristic heuristic) {
+        int startId = graph.indexOf(start);
+        int endId = graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        IndexedGraph<T> reverse = graph.reverse();
+
+        SearchWorkspace forward = SearchWorkspace.forThread(graph.size());
+        SearchWorkspace backward = SearchWorkspace.reverseForThread(graph.size());
+        forward.reach(startId, 0, -1);
+        forward.heap().offer(startId, potential(heuristic, startId, startId, endId), 0);
+        backward.reach(endId, 0, -1);
+        backward.heap().offer(endId, -potential(heuristic, endId, startId, endId), 0);
+
+        double best = startId == endId ? 0 : Double.POSITIVE_INFINITY;
+        int meetingForward = startId == endId ? startId : -1;
+        int meetingBackward = meetingForward;
+
+        while (!forward.heap().isEmpty() && !backward.heap().isEmpty()) {
+            if (forward.heap().peekKey() + backward.heap().peekKey() >= best) {
+                break;
+            }
+
+            boolean forwardStep = forward.heap().size() <= backward.heap().size();
+            SearchWorkspace side = forwardStep ? forward : backward;
+            SearchWorkspace other = forwardStep ? backward : forward;
+            IndexedGraph<T> edges = forwardStep ? graph : reverse;
+
+            int current = side.heap().poll();
+            side.close(current);
+
+            double currentDistance = side.distance(current);
+            for (int edge = edges.edgeStart(current); edge < edges.edgeEnd(current); edge++) {
+                int neighbor = edges.edgeTarget(edge);
+                if (neighbor < 0) {
+                    continue;
+                }
+                double newDistance = currentDistance + edges.edgeWeight(edge);
+                if (other.isReached(neighbor) && newDistance + other.distance(neighbor) < best) {
+                    best = newDistance + other.distance(neighbor);
+                    meetingForward = forwardStep ? current : neighbor;
+                    meetingBackward = forwardStep ? neighbor : current;
+                }
+                if (side.isClosed(neighbor)) {
+                    continue;
+                }
+                if (newDistance < side.distance(neighbor)) {
+                    side.reach(neighbor, newDistance, current);
+                    double potential = potential(heuristic, neighbor, startId, endId);
+                    side.heap().offer(neighbor, newDistance + (forwardStep ? potential : -potential), newDistance);
+                }
+            }
+        }
+
+        if (meetingForward == -1) {
+            return null;
+        }
+
+        List<T> path = new ArrayList<>();
+        for (int current = meetingForward; current != -1; current = forward.predecessor(current)) {
+            path.add(graph.valueOf(current));
+        }
+        Collections.reverse(path);
+        int first = meetingBackward == meetingForward ? backward.predecessor(meetingBackward) : meetingBackward;
+        for (int current = first; current != -1; current = backward.predecessor(current)) {
+            path.add(graph.valueOf(current));
+        }
+        return new Path<>(path, best);
+    }
+}
@@ -0,0 +1,198 @@
+package graphsAndAlgorithms;
+
+/*
+ * Implicit grid graph. Nothing is stored per vertex or per edge: cell (x, y) has id
+ * y * cols + x, walls are one bit per cell in a long[] and neighbors are computed from the
+ * coordinates when an edge slot is read, so a wall toggle is a single bit flip.
+ *
+ * Every cell has 4 edge slots (+x, -x, +y, -y), or 8 with diagonal moves, which never cut a
+ * corner. A slot is empty (target -1) when it leaves the grid or touches a wall.
+ * Moving into a cell costs that cell's entry in the optional byte or float cost map (1 without
+ * one), times sqrt(2) for diagonal moves.
+ */
+public class BitGridGraph implements IndexedGraph<Location> {
+    private static final double SQRT2 = Math.sqrt(2);
+    private static final int[] DX = { 1, -1, 0, 0, 1, 1, -1, -1 };
+    private static final int[] DY = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+    private final int rows;
+    private final int cols;
+    private final boolean diagonal;
+    private final int slotShift;
+    private final long[] walls;
+    private byte[] byteCosts;
+    private float[] floatCosts;
+    private final boolean reversed;
+    private final BitGridGraph reverse;
+
+    public BitGridGraph(int rows, int cols) {
+        this(rows, cols, false);
+    }
+
+    /*
+     * Edge ids are the cell id shifted by the slot count, so the grid can have at most
+     * Integer.MAX_VALUE >> 2 cells, or Integer.MAX_VALUE >> 3 with diagonal moves
+     */
+    public BitGridGraph(int rows, int cols, boolean diagonal) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE >> (diagonal ? 3 : 2)) {
+            throw new IllegalArgumentException("A " + rows + " x " + cols + " grid has too many cells for int edge ids");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.diagonal = diagonal;
+        this.slotShift = diagonal ? 3 : 2;
+        this.walls = new long[(rows * cols + 63) >>> 6];
+        this.reversed = false;
+        this.reverse = new BitGridGraph(this);
+    }
+
+    /*
+     * Reversed view sharing the walls and costs of graph
+     */
+    private BitGridGraph(BitGridGraph graph) {
+        this.rows = graph.rows;
+        this.cols = graph.cols;
+        this.diagonal = graph.diagonal;
+        this.slotShift = graph.slotShift;
+        this.walls = graph.walls;
+        this.reversed = true;
+        this.reverse = graph;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getCols() {
+        return this.cols;
+    }
+
+    public boolean isDiagonal() {
+        return this.diagonal;
+    }
+
+    public int id(int x, int y) {
+        return y * this.cols + x;
+    }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < this.cols && y < this.rows;
+    }
+
+    public boolean isWall(int x, int y) {
+        return this.isWall(this.id(x, y));
+    }
+
+    public boolean isWall(int id) {
+        return (this.walls[id >>> 6] & (1L << id)) != 0;
+    }
+
+    public void setWall(int x, int y, boolean wall) {
+        int id = this.id(x, y);
+        if (wall) {
+            this.walls[id >>> 6] |= 1L << id;
+        } else {
+            this.walls[id >>> 6] &= ~(1L << id);
+        }
+    }
+
+    /*
+     * Overwrite the walls of cells 64 * word to 64 * word + 63, bit i being cell 64 * word + i
+     */
+    void setWallWord(int word, long bits) {
+        this.walls[word] = bits;
+    }
+
+    int wallWords() {
+        return this.walls.length;
+    }
+
+    public void toggleWall(int x, int y) {
+        int id = this.id(x, y);
+        this.walls[id >>> 6] ^= 1L << id;
+    }
+
+    /*
+     * Open cells that are in the grid and not walls
+     */
+    public boolean isOpen(int x, int y) {
+        return this.inBounds(x, y) && !this.isWall(this.id(x, y));
+    }
+
+    /*
+     * Per cell entry costs, rows * cols entries read as unsigned bytes, or null for uniform cost
+     */
+    public void setCostMap(byte[] costs) {
+        this.byteCosts = costs;
+        this.floatCosts = null;
+        if (!this.reversed) this.reverse.setCostMap(costs);
+    }
+
+    /*
+     * Per cell entry costs, rows * cols entries, or null for uniform cost
+     */
+    public void setCostMap(float[] costs) {
+        this.floatCosts = costs;
+        this.byteCosts = null;
+        if (!this.reversed) this.reverse.setCostMap(costs);
+    }
+
+    public double cost(int id) {
+        if (this.byteCosts != null) return this.byteCosts[id] & 0xFF;
+        if (this.floatCosts != null) return this.floatCosts[id];
+        return 1;
+    }
+
+    @Override
+    public int size() {
+        return this.rows * this.cols;
+    }
+
+    @Override
+    public int indexOf(Location value) {
+        return this.inBounds(value.getX(), value.getY()) ? this.id(value.getX(), value.getY()) : -1;
+    }
+
+    @Override
+    public Location valueOf(int id) {
+        return new Location(id % this.cols, id / this.cols);
+    }
+
+    @Override
+    public int edgeStart(int id) {
+        return id << this.slotShift;
+    }
+
+    @Override
+    public int edgeEnd(int id) {
+        return (id + 1) << this.slotShift;
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        int id = edge >>> this.slotShift;
+        int direction = edge & ((1 << this.slotShift) - 1);
+        if (this.isWall(id)) return -1;
+        int x = id % this.cols;
+        int y = id / this.cols;
+        int nx = x + DX[direction];
+        int ny = y + DY[direction];
+        if (!this.isOpen(nx, ny)) return -1;
+        if (direction >= 4 && (this.isWall(this.id(nx, y)) || this.isWall(this.id(x, ny)))) return -1;
+        return this.id(nx, ny);
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        int id = edge >>> this.slotShift;
+        int direction = edge & ((1 << this.slotShift) - 1);
+        int entered = this.reversed ? id : id + DY[direction] * this.cols + DX[direction];
+        double cost = this.cost(entered);
+        return direction >= 4 ? cost * SQRT2 : cost;
+    }
+
+    @Override
+    public BitGridGraph reverse() {
+        return this.reverse;
+    }
+}
@@ -1,9 +1,6 @@
 package graphsAndAlgorithms;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
+import java.util.Collection;
 
 public class BreadthFirstSearch<T extends Distancable<T>> extends SearchAlgorithm<T> {  
     public BreadthFirstSearch(WAdjacencyGraph<T> graph) {
@@ -12,53 +9,165 @@ public class BreadthFirstSearch<T extends Distancable<T>> extends SearchAlgorith
 
     @Override
     public Path<WVertex<T>> findPath(T start, T end) {
-        if (!this.graph.contains(start) || !this.graph.contains(end)) {
+        return this.run(new Session(start, end, SearchWorkspace.forThread(this.graph.size())));
+    }
+
+    @Override
+    public SearchSession<T> session(T start, T end) {
+        return new Session(start, end, new SearchWorkspace(this.graph.size()));
+    }
+
+    private class Session extends SearchSession<T> {
+        private final WVertex<T> endVertex;
+        private final SearchWorkspace workspace;
+        private final int[] queue;
+        private int head;
+        private int tail;
+
+        Session(T start, T end, SearchWorkspace workspace) {
+            super(BreadthFirstSearch.this.listener);
+            this.endVertex = BreadthFirstSearch.this.graph.vertices.get(end);
+            this.workspace = workspace;
+            this.queue = workspace.queue();
+            this.head = 0;
+            this.tail = 0;
+            WVertex<T> startVertex = BreadthFirstSearch.this.graph.vertices.get(start);
+            if (startVertex == null || this.endVertex == null) {
+                this.finish(null);
+                return;
+            }
+            this.queue[this.tail++] = startVertex.getIndex();
+            workspace.reach(startVertex.getIndex(), 0, -1);
+        }
+
+        @Override
+        protected void expand() {
+            if (this.head == this.tail) {
+                this.finish(null);
+                return;
+            }
+            WVertex<T> currentVertex = BreadthFirstSearch.this.graph.vertexAt(this.queue[this.head++]);
+            this.visited(currentVertex.getValue());
+            if (currentVertex == this.endVertex) {
+                this.finish(this.tracePath());
+                return;
+            }
+            for (WVertex<T> neighbor : currentVertex.getNeighbors().keySet()) {
+                if (!this.workspace.isReached(neighbor.getIndex())) {
+                    this.queued(neighbor.getValue());
+                    this.workspace.reach(neighbor.getIndex(), 0, currentVertex.getIndex());
+                    this.queue[this.tail++] = neighbor.getIndex();
+                }
+            }
+        }
+
+        private Path<WVertex<T>> tracePath() {
+            Path<WVertex<T>> path = new Path<>();
+            int current = this.endVertex.getIndex();
+            while (current != -1) {
+                WVertex<T> currentVertex = BreadthFirstSearch.this.graph.vertexAt(current);
+                path.addFirst(currentVertex, 1);
+                this.onPath(currentVertex.getValue());
+                current = this.workspace.predecessor(current);
+            }
+            return path;
+        }
+    }
+
+    /*
+     * Fewest edges path on an IndexedGraph, counting vertices as its distance like findPath()
+     */
+    public static <T> Path<T> findPath(IndexedGraph<T> graph, T start, T end) {
+        int startId = graph.indexOf(start);
+        int endId = graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
             return null;
         }
-        this.running = true;
-        WVertex<T> startVertex = this.graph.vertices.get(start);
-        WVertex<T> endVertex = this.graph.vertices.get(end);
-
-        Queue<WVertex<T>> queue = new LinkedList<>();
-        Map<WVertex<T>, WVertex<T>> predecessors = new HashMap<>();
-
-        queue.add(startVertex);
-        predecessors.put(startVertex, null);
-
-        while(!queue.isEmpty() && this.running) {
-            WVertex<T> currentVertex = queue.poll();
-            GridVertex gv = (GridVertex) currentVertex;
-            gv.setVisited();
-            this.notifyObservers(gv.getValue());
-            if(currentVertex == endVertex) {
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(graph.size());
+        int[] queue = workspace.queue();
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = startId;
+        workspace.reach(startId, 0, -1);
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == endId) {
                 break;
-            } else {
-                for(WVertex<T> neighbor : currentVertex.getNeighbors().keySet()) {
-                    if(!predecessors.containsKey(neighbor)) {
-                        GridVertex gvNeighbor = (GridVertex) neighbor;
-                        gvNeighbor.setQueued();
-                        this.notifyObservers(gvNeighbor.getValue());
-                        predecessors.put(neighbor, currentVertex);
-                        queue.add(neighbor);
-                    }
+            }
+            for (int edge = graph.edgeStart(current); edge < graph.edgeEnd(current); edge++) {
+                int neighbor = graph.edgeTarget(edge);
+                if (neighbor < 0) {
+                    continue;
+                }
+                if (!workspace.isReached(neighbor)) {
+                    workspace.reach(neighbor, 0, current);
+                    queue[tail++] = neighbor;
                 }
             }
-            try { Thread.sleep(this.delay); } catch (InterruptedException e) {}
         }
-        if (!this.running || !predecessors.containsKey(endVertex)) {
+        if (!workspace.isReached(endId)) {
             return null;
         }
-        Path<WVertex<T>> path = new Path<>();
-        WVertex<T> currentVertex = endVertex;
-        while(currentVertex != null) {
-            path.addFirst(currentVertex, 1);
-            GridVertex gv = (GridVertex) currentVertex;
-            gv.setPath();
-            this.notifyObservers(gv.getValue());
-            currentVertex = predecessors.get(currentVertex);
-            try { Thread.sleep(10); } catch (InterruptedException e) {}
-        }
-        this.running = false;
+        Path<T> path = tracePath(graph, workspace, endId, 0);
+        path.distance = path.path.size();
         return path;
     }
+
+    /*
+     * Fewest edge paths from source to every vertex it reaches, see ShortestPathTree
+     */
+    public static <T> ShortestPathTree<T> shortestPathTree(IndexedGraph<T> graph, T source) {
+        return shortestPathTree(graph, source, null);
+    }
+
+    /*
+     * Fewest edge paths from source, stopping as soon as every target in the graph is reached:
+     * a vertex's hop count is final when it is first queued. Returns null if source is not in graph.
+     */
+    public static <T> ShortestPathTree<T> shortestPathTree(IndexedGraph<T> graph, T source, Collection<T> targets) {
+        int sourceId = graph.indexOf(source);
+        if (sourceId < 0) {
+            return null;
+        }
+
+        long[] targetBits = null;
+        int remaining = 0;
+        if (targets != null) {
+            targetBits = new long[(graph.size() + 63) >>> 6];
+            remaining = ShortestPathTree.markTargets(graph, targets, targetBits);
+            if ((targetBits[sourceId >>> 6] & (1L << sourceId)) != 0) {
+                remaining--;
+            }
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(graph.size());
+        int[] queue = workspace.queue();
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = sourceId;
+        workspace.reach(sourceId, 0, -1);
+
+        while (head < tail && (targetBits == null || remaining > 0)) {
+            int current = queue[head++];
+            double hops = workspace.distance(current) + 1;
+            for (int edge = graph.edgeStart(current); edge < graph.edgeEnd(current); edge++) {
+                int neighbor = graph.edgeTarget(edge);
+                if (neighbor < 0) {
+                    continue;
+                }
+                if (!workspace.isReached(neighbor)) {
+                    workspace.reach(neighbor, hops, current);
+                    queue[tail++] = neighbor;
+                    if (targetBits != null && (targetBits[neighbor >>> 6] & (1L << neighbor)) != 0 && --remaining == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        return new ShortestPathTree<>(graph, sourceId, workspace, queue, tail, true);
+    }
 }
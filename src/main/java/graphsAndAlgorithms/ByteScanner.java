@@ -0,0 +1,150 @@
+package graphsAndAlgorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/*
+ * Tokenizer for the ASCII graph formats, reading bytes straight out of one reusable buffer.
+ * Numbers are parsed from the bytes without building a String per token, so a file of
+ * millions of lines is read with no allocation per line.
+ */
+class ByteScanner implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final InputStream input;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private long line;
+
+    ByteScanner(InputStream input) {
+        this.input = input;
+        this.buffer = new byte[BUFFER_BYTES];
+        this.line = 1;
+    }
+
+    ByteScanner(java.nio.file.Path file) throws IOException {
+        this(Files.newInputStream(file));
+    }
+
+    /*
+     * Next byte without consuming it, -1 at the end of the input
+     */
+    int peek() throws IOException {
+        if (this.position == this.limit) {
+            this.limit = this.input.read(this.buffer, 0, this.buffer.length);
+            this.position = 0;
+            if (this.limit <= 0) {
+                this.limit = 0;
+                return -1;
+            }
+        }
+        return this.buffer[this.position];
+    }
+
+    int read() throws IOException {
+        int c = this.peek();
+        if (c != -1) {
+            this.position++;
+            if (c == '\n') this.line++;
+        }
+        return c;
+    }
+
+    /*
+     * Skip spaces, tabs and line breaks, returning the next byte (not consumed) or -1
+     */
+    int skipWhitespace() throws IOException {
+        while (true) {
+            if (this.position == this.limit && this.peek() == -1) {
+                return -1;
+            }
+            byte c = this.buffer[this.position];
+            if (c == '\n') {
+                this.line++;
+            } else if (c != ' ' && c != '\t' && c != '\r') {
+                return c;
+            }
+            this.position++;
+        }
+    }
+
+    /*
+     * Skip the rest of the current line, including its line break
+     */
+    void skipLine() throws IOException {
+        int c = this.read();
+        while (c != '\n' && c != -1) {
+            c = this.read();
+        }
+    }
+
+    long nextLong() throws IOException {
+        int c = this.skipWhitespace();
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            this.position++;
+            c = this.peek();
+        }
+        if (c < '0' || c > '9') {
+            throw this.error("Expected a number");
+        }
+        long value = 0;
+        while (true) {
+            if (this.position == this.limit && this.peek() == -1) {
+                break;
+            }
+            int digit = this.buffer[this.position] - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+            this.position++;
+        }
+        return negative ? -value : value;
+    }
+
+    int nextInt() throws IOException {
+        long value = this.nextLong();
+        if (value != (int) value) {
+            throw this.error("Number out of int range");
+        }
+        return (int) value;
+    }
+
+    /*
+     * Next whitespace separated token, null at the end of the input
+     */
+    String next() throws IOException {
+        if (this.skipWhitespace() == -1) {
+            return null;
+        }
+        StringBuilder token = new StringBuilder();
+        int c = this.peek();
+        while (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            token.append((char) this.read());
+            c = this.peek();
+        }
+        return token.toString();
+    }
+
+    double nextDouble() throws IOException {
+        String token = this.next();
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw this.error("Expected a number");
+        }
+    }
+
+    IOException error(String message) {
+        return new IOException(message + " on line " + this.line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+}
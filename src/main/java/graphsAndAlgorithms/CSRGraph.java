@@ -0,0 +1,154 @@
+package graphsAndAlgorithms;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Immutable compressed sparse row (CSR) snapshot of a weighted graph.
+ * Vertices are numbered 0 to size() - 1 and the outgoing edges of vertex v occupy
+ * the slots edgeStart(v) (inclusive) to edgeEnd(v) (exclusive) of the target and weight arrays.
+ */
+public class CSRGraph<E> implements IndexedGraph<E> {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final List<E> values;
+    private final Map<E, Integer> ids;
+    private volatile CSRGraph<E> reverse;
+
+    /*
+     * Snapshot the given vertices, numbering them in the order they appear in order.
+     */
+    CSRGraph(Map<E, WVertex<E>> vertices, List<E> order) {
+        int size = order.size();
+        this.values = List.copyOf(order);
+        this.ids = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            this.ids.put(order.get(i), i);
+        }
+
+        this.offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            this.offsets[i + 1] = this.offsets[i] + vertices.get(order.get(i)).getNeighbors().size();
+        }
+
+        this.targets = new int[this.offsets[size]];
+        this.weights = new double[this.offsets[size]];
+        for (int i = 0; i < size; i++) {
+            int edge = this.offsets[i];
+            for (Map.Entry<WVertex<E>, Double> neighbor : vertices.get(order.get(i)).getNeighbors().entrySet()) {
+                this.targets[edge] = this.ids.get(neighbor.getKey().getValue());
+                this.weights[edge] = neighbor.getValue();
+                edge++;
+            }
+        }
+    }
+
+    /*
+     * Wrap arrays that are already in CSR form. values must be distinct.
+     */
+    CSRGraph(List<E> values, int[] offsets, int[] targets, double[] weights) {
+        this.values = List.copyOf(values);
+        this.ids = new HashMap<>(values.size() * 2);
+        for (int i = 0; i < values.size(); i++) {
+            this.ids.put(values.get(i), i);
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /*
+     * Transpose of graph: same ids, every edge reversed
+     */
+    private CSRGraph(CSRGraph<E> graph) {
+        int size = graph.size();
+        this.values = graph.values;
+        this.ids = graph.ids;
+        this.reverse = graph;
+
+        this.offsets = new int[size + 1];
+        for (int edge = 0; edge < graph.targets.length; edge++) {
+            this.offsets[graph.targets[edge] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            this.offsets[i + 1] += this.offsets[i];
+        }
+
+        this.targets = new int[graph.targets.length];
+        this.weights = new double[graph.weights.length];
+        int[] next = new int[size];
+        for (int i = 0; i < size; i++) {
+            next[i] = this.offsets[i];
+        }
+        for (int source = 0; source < size; source++) {
+            for (int edge = graph.offsets[source]; edge < graph.offsets[source + 1]; edge++) {
+                int slot = next[graph.targets[edge]]++;
+                this.targets[slot] = source;
+                this.weights[slot] = graph.weights[edge];
+            }
+        }
+    }
+
+    /*
+     * Reverse adjacency index, built on first use and shared afterwards
+     */
+    @Override
+    public CSRGraph<E> reverse() {
+        CSRGraph<E> reverse = this.reverse;
+        if (reverse == null) {
+            reverse = new CSRGraph<>(this);
+            this.reverse = reverse;
+        }
+        return reverse;
+    }
+
+    @Override
+    public int size() {
+        return this.values.size();
+    }
+
+    public int edgeCount() {
+        return this.targets.length;
+    }
+
+    public boolean contains(E value) {
+        return this.ids.containsKey(value);
+    }
+
+    @Override
+    public int indexOf(E value) {
+        Integer id = this.ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public E valueOf(int id) {
+        return this.values.get(id);
+    }
+
+    @Override
+    public int edgeStart(int id) {
+        return this.offsets[id];
+    }
+
+    @Override
+    public int edgeEnd(int id) {
+        return this.offsets[id + 1];
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return this.targets[edge];
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return this.weights[edge];
+    }
+
+    public int degree(int id) {
+        return this.offsets[id + 1] - this.offsets[id];
+    }
+}
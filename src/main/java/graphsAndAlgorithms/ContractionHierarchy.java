@@ -0,0 +1,441 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Contraction Hierarchies for repeated point to point queries on a graph that does not change.
+ *
+ * Preprocessing removes ("contracts") vertices one by one, least important first, adding a
+ * shortcut u -> w whenever the only shortest u -> w path ran through the removed vertex v.
+ * Importance is twice the edge difference (shortcuts added minus edges removed) plus the number
+ * of already contracted neighbors and the depth of the hierarchy below the vertex. It is only
+ * recomputed for the neighbors of contracted vertices, with a cheaper witness search.
+ * Each round contracts, in parallel, every vertex whose importance is lower than all of its
+ * neighbors'. These vertices are pairwise non adjacent. Witness searches avoid the whole round
+ * and cannot use shortcuts added earlier in it, so a round may add redundant shortcuts that
+ * contracting one at a time would not. They cost query time only; distances stay exact.
+ *
+ * A query is a bidirectional Dijkstra that only follows edges to more important vertices, which
+ * settles a few hundred vertices even on large graphs. Shortcuts remember the vertex they
+ * bypass, so paths unpack back into edges of the original graph.
+ * Queries are thread safe; they use the calling thread's SearchWorkspaces and count their
+ * expansions per thread.
+ */
+public class ContractionHierarchy<T> {
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int ESTIMATE_SETTLE_LIMIT = 50;
+
+    private final IndexedGraph<T> graph;
+    private final int[] rank;
+    private int shortcuts;
+
+    /* Edges to more important vertices: v -> w stored at v */
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddles;
+
+    /* Edges from more important vertices: u -> v stored at v, with target u */
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final double[] downWeights;
+    private final int[] downMiddles;
+
+    private final ThreadLocal<int[]> expansions = ThreadLocal.withInitial(() -> new int[1]);
+
+    /*
+     * Growable edge list of one vertex during contraction. Middle is the bypassed vertex of a
+     * shortcut, -1 for an original edge. Parallel edges are merged keeping the lightest.
+     */
+    private static class Edges {
+        int[] targets = new int[4];
+        double[] weights = new double[4];
+        int[] middles = new int[4];
+        int size;
+
+        void add(int target, double weight, int middle) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.targets[i] == target) {
+                    if (weight < this.weights[i]) {
+                        this.weights[i] = weight;
+                        this.middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (this.size == this.targets.length) {
+                this.targets = Arrays.copyOf(this.targets, this.size * 2);
+                this.weights = Arrays.copyOf(this.weights, this.size * 2);
+                this.middles = Arrays.copyOf(this.middles, this.size * 2);
+            }
+            this.targets[this.size] = target;
+            this.weights[this.size] = weight;
+            this.middles[this.size] = middle;
+            this.size++;
+        }
+
+        void remove(int target) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.targets[i] == target) {
+                    this.size--;
+                    this.targets[i] = this.targets[this.size];
+                    this.weights[i] = this.weights[this.size];
+                    this.middles[i] = this.middles[this.size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * Shortcuts found for one vertex: from -> to with the given weight
+     */
+    private static class Shortcuts {
+        int[] from = new int[4];
+        int[] to = new int[4];
+        double[] weights = new double[4];
+        int size;
+
+        void add(int from, int to, double weight) {
+            if (this.size == this.from.length) {
+                this.from = Arrays.copyOf(this.from, this.size * 2);
+                this.to = Arrays.copyOf(this.to, this.size * 2);
+                this.weights = Arrays.copyOf(this.weights, this.size * 2);
+            }
+            this.from[this.size] = from;
+            this.to[this.size] = to;
+            this.weights[this.size] = weight;
+            this.size++;
+        }
+    }
+
+    public ContractionHierarchy(WAdjacencyGraph<T> graph) {
+        this(graph.freeze());
+    }
+
+    public ContractionHierarchy(IndexedGraph<T> graph) {
+        this.graph = graph;
+        int size = graph.size();
+        this.rank = new int[size];
+
+        Edges[] out = new Edges[size];
+        Edges[] in = new Edges[size];
+        for (int v = 0; v < size; v++) {
+            out[v] = new Edges();
+            in[v] = new Edges();
+        }
+        for (int v = 0; v < size; v++) {
+            for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                int target = graph.edgeTarget(edge);
+                if (target < 0 || target == v) continue;
+                out[v].add(target, graph.edgeWeight(edge), -1);
+                in[target].add(v, graph.edgeWeight(edge), -1);
+            }
+        }
+
+        /* 0: waiting, 1: being contracted this round, 2: contracted */
+        byte[] state = new byte[size];
+        int[] deleted = new int[size];
+        int[] level = new int[size];
+        int[] priority = new int[size];
+        IntStream.range(0, size).parallel().forEach(v -> priority[v] = this.priority(v, out, in, state, deleted, level));
+
+        int[] active = IntStream.range(0, size).toArray();
+        int nextRank = 0;
+        boolean[] affected = new boolean[size];
+        while (active.length > 0) {
+            int[] round = IntStream.of(active).parallel().filter(v -> isLocalMinimum(v, out, in, priority)).toArray();
+            for (int v : round) {
+                state[v] = 1;
+            }
+            Shortcuts[] found = new Shortcuts[round.length];
+            IntStream.range(0, round.length).parallel().forEach(i -> found[i] = witnessSearch(round[i], out, in, state, true));
+
+            for (int i = 0; i < round.length; i++) {
+                int v = round[i];
+                this.rank[v] = nextRank++;
+                state[v] = 2;
+                for (int j = 0; j < out[v].size; j++) {
+                    int w = out[v].targets[j];
+                    in[w].remove(v);
+                    deleted[w]++;
+                    level[w] = Math.max(level[w], level[v] + 1);
+                    affected[w] = true;
+                }
+                for (int j = 0; j < in[v].size; j++) {
+                    int u = in[v].targets[j];
+                    out[u].remove(v);
+                    deleted[u]++;
+                    level[u] = Math.max(level[u], level[v] + 1);
+                    affected[u] = true;
+                }
+                Shortcuts shortcuts = found[i];
+                for (int j = 0; j < shortcuts.size; j++) {
+                    out[shortcuts.from[j]].add(shortcuts.to[j], shortcuts.weights[j], v);
+                    in[shortcuts.to[j]].add(shortcuts.from[j], shortcuts.weights[j], v);
+                }
+                this.shortcuts += shortcuts.size;
+            }
+
+            active = IntStream.of(active).filter(v -> state[v] == 0).toArray();
+            int[] update = IntStream.of(active).filter(v -> affected[v]).toArray();
+            IntStream.of(update).parallel().forEach(v -> {
+                priority[v] = this.priority(v, out, in, state, deleted, level);
+                affected[v] = false;
+            });
+        }
+
+        /* The edge lists of a vertex stop changing once it is contracted */
+        this.upOffsets = new int[size + 1];
+        this.downOffsets = new int[size + 1];
+        for (int v = 0; v < size; v++) {
+            this.upOffsets[v + 1] = this.upOffsets[v] + out[v].size;
+            this.downOffsets[v + 1] = this.downOffsets[v] + in[v].size;
+        }
+        this.upTargets = new int[this.upOffsets[size]];
+        this.upWeights = new double[this.upOffsets[size]];
+        this.upMiddles = new int[this.upOffsets[size]];
+        this.downTargets = new int[this.downOffsets[size]];
+        this.downWeights = new double[this.downOffsets[size]];
+        this.downMiddles = new int[this.downOffsets[size]];
+        for (int v = 0; v < size; v++) {
+            System.arraycopy(out[v].targets, 0, this.upTargets, this.upOffsets[v], out[v].size);
+            System.arraycopy(out[v].weights, 0, this.upWeights, this.upOffsets[v], out[v].size);
+            System.arraycopy(out[v].middles, 0, this.upMiddles, this.upOffsets[v], out[v].size);
+            System.arraycopy(in[v].targets, 0, this.downTargets, this.downOffsets[v], in[v].size);
+            System.arraycopy(in[v].weights, 0, this.downWeights, this.downOffsets[v], in[v].size);
+            System.arraycopy(in[v].middles, 0, this.downMiddles, this.downOffsets[v], in[v].size);
+        }
+    }
+
+    private int priority(int v, Edges[] out, Edges[] in, byte[] state, int[] deleted, int[] level) {
+        int added = this.witnessSearch(v, out, in, state, false).size;
+        return 2 * (added - out[v].size - in[v].size) + deleted[v] + level[v];
+    }
+
+    private static boolean isLocalMinimum(int v, Edges[] out, Edges[] in, int[] priority) {
+        return isBelow(v, out[v], priority) && isBelow(v, in[v], priority);
+    }
+
+    /*
+     * Whether v comes before every vertex of edges, ordered by priority and then id
+     */
+    private static boolean isBelow(int v, Edges edges, int[] priority) {
+        for (int i = 0; i < edges.size; i++) {
+            int u = edges.targets[i];
+            if (priority[u] < priority[v] || (priority[u] == priority[v] && u < v)) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Shortcuts needed to contract v: for every in neighbor u, a Dijkstra that avoids v and
+     * everything contracted this round looks for a path to each out neighbor w that is no
+     * longer than u -> v -> w. The search is capped, which can only add unneeded shortcuts.
+     * With collect false only the count is kept, for estimating importance.
+     */
+    private Shortcuts witnessSearch(int v, Edges[] out, Edges[] in, byte[] state, boolean collect) {
+        Shortcuts shortcuts = new Shortcuts();
+        Edges ins = in[v];
+        Edges outs = out[v];
+        if (ins.size == 0 || outs.size == 0) return shortcuts;
+        double maxOut = 0;
+        for (int j = 0; j < outs.size; j++) {
+            maxOut = Math.max(maxOut, outs.weights[j]);
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(this.graph.size());
+        IndexedMinHeap heap = workspace.heap();
+        for (int i = 0; i < ins.size; i++) {
+            int u = ins.targets[i];
+            double limit = ins.weights[i] + maxOut;
+            workspace.begin(this.graph.size());
+            workspace.reach(u, 0, -1);
+            heap.offer(u, 0);
+            int settled = 0;
+            while (!heap.isEmpty() && settled++ < (collect ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT)) {
+                int current = heap.poll();
+                workspace.close(current);
+                double currentDistance = workspace.distance(current);
+                Edges edges = out[current];
+                for (int j = 0; j < edges.size; j++) {
+                    int neighbor = edges.targets[j];
+                    if (neighbor == v || state[neighbor] != 0 || workspace.isClosed(neighbor)) continue;
+                    double newDistance = currentDistance + edges.weights[j];
+                    if (newDistance <= limit && newDistance < workspace.distance(neighbor)) {
+                        workspace.reach(neighbor, newDistance, current);
+                        heap.offer(neighbor, newDistance);
+                    }
+                }
+            }
+
+            for (int j = 0; j < outs.size; j++) {
+                int w = outs.targets[j];
+                double via = ins.weights[i] + outs.weights[j];
+                if (w == u || workspace.distance(w) <= via) continue;
+                if (collect) {
+                    shortcuts.add(u, w, via);
+                } else {
+                    shortcuts.size++;
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public int getShortcutCount() {
+        return this.shortcuts;
+    }
+
+    /*
+     * Contraction order of id, 0 for the first vertex contracted
+     */
+    public int rank(int id) {
+        return this.rank[id];
+    }
+
+    /*
+     * Vertices settled by the calling thread's last query
+     */
+    public int getExpansions() {
+        return this.expansions.get()[0];
+    }
+
+    /*
+     * Shortest distance from source to target, infinity if unreachable
+     */
+    public double distance(int source, int target) {
+        SearchWorkspace forward = SearchWorkspace.forThread(this.graph.size());
+        SearchWorkspace backward = SearchWorkspace.reverseForThread(this.graph.size());
+        int meeting = this.search(source, target, forward, backward);
+        return meeting < 0 ? Double.POSITIVE_INFINITY : forward.distance(meeting) + backward.distance(meeting);
+    }
+
+    public Path<T> findPath(T start, T end) {
+        int source = this.graph.indexOf(start);
+        int target = this.graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        SearchWorkspace forward = SearchWorkspace.forThread(this.graph.size());
+        SearchWorkspace backward = SearchWorkspace.reverseForThread(this.graph.size());
+        int meeting = this.search(source, target, forward, backward);
+        if (meeting < 0) {
+            return null;
+        }
+
+        List<Integer> upward = new ArrayList<>();
+        for (int current = meeting; current != -1; current = forward.predecessor(current)) {
+            upward.add(current);
+        }
+        Collections.reverse(upward);
+        for (int current = backward.predecessor(meeting); current != -1; current = backward.predecessor(current)) {
+            upward.add(current);
+        }
+
+        List<T> path = new ArrayList<>();
+        path.add(this.graph.valueOf(source));
+        for (int i = 1; i < upward.size(); i++) {
+            this.unpack(upward.get(i - 1), upward.get(i), path);
+        }
+        return new Path<>(path, forward.distance(meeting) + backward.distance(meeting));
+    }
+
+    /*
+     * Upward search from both ends, returning the best meeting vertex or -1
+     */
+    private int search(int source, int target, SearchWorkspace forward, SearchWorkspace backward) {
+        int settled = 0;
+        forward.reach(source, 0, -1);
+        forward.heap().offer(source, 0);
+        backward.reach(target, 0, -1);
+        backward.heap().offer(target, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (true) {
+            boolean forwardOpen = !forward.heap().isEmpty() && forward.heap().peekKey() < best;
+            boolean backwardOpen = !backward.heap().isEmpty() && backward.heap().peekKey() < best;
+            if (!forwardOpen && !backwardOpen) break;
+            boolean forwardStep = forwardOpen && (!backwardOpen || forward.heap().peekKey() <= backward.heap().peekKey());
+            SearchWorkspace side = forwardStep ? forward : backward;
+            SearchWorkspace other = forwardStep ? backward : forward;
+            int[] offsets = forwardStep ? this.upOffsets : this.downOffsets;
+            int[] targets = forwardStep ? this.upTargets : this.downTargets;
+            double[] weights = forwardStep ? this.upWeights : this.downWeights;
+
+            int current = side.heap().poll();
+            side.close(current);
+            settled++;
+            double currentDistance = side.distance(current);
+            if (other.isReached(current) && currentDistance + other.distance(current) < best) {
+                best = currentDistance + other.distance(current);
+                meeting = current;
+            }
+
+            for (int edge = offsets[current]; edge < offsets[current + 1]; edge++) {
+                int neighbor = targets[edge];
+                if (side.isClosed(neighbor)) continue;
+                double newDistance = currentDistance + weights[edge];
+                if (newDistance < side.distance(neighbor)) {
+                    side.reach(neighbor, newDistance, current);
+                    side.heap().offer(neighbor, newDistance);
+                }
+            }
+        }
+        this.expansions.get()[0] = settled;
+        return meeting;
+    }
+
+    /*
+     * Append the original vertices of hierarchy edge from -> to, excluding from, to path.
+     * Shortcuts expand to (from -> middle, middle -> to) on an explicit stack.
+     */
+    private void unpack(int from, int to, List<T> path) {
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = from;
+        stack[top++] = to;
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+            int middle = this.middle(a, b);
+            if (middle == -1) {
+                path.add(this.graph.valueOf(b));
+                continue;
+            }
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = middle;
+            stack[top++] = b;
+            stack[top++] = a;
+            stack[top++] = middle;
+        }
+    }
+
+    /*
+     * Bypassed vertex of the hierarchy edge a -> b, -1 for an original edge.
+     * The edge is stored at whichever end was contracted first.
+     */
+    private int middle(int a, int b) {
+        if (this.rank[a] < this.rank[b]) {
+            for (int edge = this.upOffsets[a]; edge < this.upOffsets[a + 1]; edge++) {
+                if (this.upTargets[edge] == b) return this.upMiddles[edge];
+            }
+        } else {
+            for (int edge = this.downOffsets[b]; edge < this.downOffsets[b + 1]; edge++) {
+                if (this.downTargets[edge] == a) return this.downMiddles[edge];
+            }
+        }
+        throw new IllegalStateException("No hierarchy edge " + a + " -> " + b);
+    }
+}
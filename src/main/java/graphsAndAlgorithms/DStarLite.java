@@ -0,0 +1,270 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Incremental replanning with D* Lite (Koenig and Likhachev), the moving start version of
+ * Lifelong Planning A*.
+ *
+ * The search runs backward from the end, keeping for every vertex its distance to the end (g)
+ * and a one step lookahead of it (rhs). It subscribes to the graph's edge changes, and the next
+ * findPath with the same end only repairs the vertices whose distances the changes affected
+ * instead of searching from scratch. The start may move between calls; the km offset keeps the
+ * queued keys valid without reordering the queue. Changing the end, or adding vertices to the
+ * graph, starts over.
+ *
+ * heuristic() must be consistent, as for A*. Call detach() once the search is no longer used,
+ * so the graph stops notifying it.
+ */
+public class DStarLite<T extends Distancable<T>> extends SearchAlgorithm<T> implements GraphChangeListener<T> {
+    private final Set<Integer> changed;
+    private double[] g;
+    private double[] rhs;
+    private IndexedMinHeap open;
+    private int goal;
+    private T start;
+    private double km;
+
+    public DStarLite(WAdjacencyGraph<T> graph) {
+        super(graph);
+        this.changed = new LinkedHashSet<>();
+        this.goal = -1;
+        graph.addChangeListener(this);
+    }
+
+    public double heuristic(T start, T end) {
+        return start.distance(end);
+    }
+
+    public void detach() {
+        this.graph.removeChangeListener(this);
+    }
+
+    /*
+     * Forget the previous search, the next findPath starts from scratch
+     */
+    public void reset() {
+        this.goal = -1;
+        this.changed.clear();
+    }
+
+    @Override
+    public void edgeChanged(T from, T to, double weight) {
+        if (this.goal != -1) {
+            this.changed.add(this.graph.vertices.get(from).getIndex());
+        }
+    }
+
+    @Override
+    public Path<WVertex<T>> findPath(T start, T end) {
+        return this.run(new Session(start, end));
+    }
+
+    /*
+     * The search state belongs to the algorithm, so only one session of a DStarLite should be
+     * stepped at a time. A session that is dropped part way leaves the state consistent and the
+     * next search with the same end continues from it.
+     */
+    @Override
+    public SearchSession<T> session(T start, T end) {
+        return new Session(start, end);
+    }
+
+    private class Session extends SearchSession<T> {
+        private final T start;
+        private final T end;
+        private int startId;
+        private boolean prepared;
+
+        Session(T start, T end) {
+            super(DStarLite.this.listener);
+            this.start = start;
+            this.end = end;
+            this.prepared = false;
+            if (!DStarLite.this.graph.contains(start) || !DStarLite.this.graph.contains(end)) {
+                this.finish(null);
+            }
+        }
+
+        /*
+         * The first step starts over or repairs the previous search, then every step expands one
+         * inconsistent vertex
+         */
+        @Override
+        protected void expand() {
+            DStarLite<T> search = DStarLite.this;
+            if (!this.prepared) {
+                this.prepared = true;
+                this.startId = search.prepare(this, this.start, this.end);
+            }
+            while (!search.isSettled(this.startId)) {
+                int expanded = search.expandNext(this);
+                if (expanded != -1) {
+                    this.visited(search.graph.vertexAt(expanded).getValue());
+                    return;
+                }
+            }
+            this.finish(search.g[this.startId] == Double.POSITIVE_INFINITY ? null : search.extractPath(this.startId));
+        }
+    }
+
+    /*
+     * Start over for a new end or a grown graph, otherwise move the start and requeue the
+     * vertices whose edges changed. Returns the start's id.
+     */
+    private int prepare(Session session, T start, T end) {
+        int startId = this.graph.vertices.get(start).getIndex();
+        int endId = this.graph.vertices.get(end).getIndex();
+        if (endId != this.goal || this.g.length != this.graph.size()) {
+            this.initialize(start, endId);
+        } else {
+            this.km += this.heuristic(this.start, start);
+            this.start = start;
+            for (int vertex : this.changed) {
+                this.updateVertex(session, vertex);
+            }
+        }
+        this.changed.clear();
+        return startId;
+    }
+
+    private void initialize(T start, int goal) {
+        int size = this.graph.size();
+        if (this.g == null || this.g.length != size) {
+            this.g = new double[size];
+            this.rhs = new double[size];
+            this.open = new IndexedMinHeap(size);
+        } else {
+            this.open.clear();
+        }
+        Arrays.fill(this.g, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.rhs, Double.POSITIVE_INFINITY);
+        this.goal = goal;
+        this.start = start;
+        this.km = 0;
+        this.rhs[goal] = 0;
+        this.open.offer(goal, this.heuristic(start, this.graph.vertexAt(goal).getValue()), 0);
+    }
+
+    /*
+     * Queue vertex with key [min(g, rhs) + h + km; min(g, rhs)]. The heap takes the second
+     * component as a tie breaker that prefers larger values, so it gets the negated one.
+     * The event goes to the listener of the session being stepped.
+     */
+    private void queue(Session session, int vertex) {
+        double distance = Math.min(this.g[vertex], this.rhs[vertex]);
+        T value = this.graph.vertexAt(vertex).getValue();
+        this.open.update(vertex, distance + this.heuristic(this.start, value) + this.km, -distance);
+        session.queued(value);
+    }
+
+    /*
+     * Recompute rhs from the vertex's successors and queue it only while it is inconsistent
+     */
+    private void updateVertex(Session session, int vertex) {
+        if (vertex != this.goal) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Map.Entry<WVertex<T>, Double> edge : this.graph.vertexAt(vertex).getNeighbors().entrySet()) {
+                best = Math.min(best, edge.getValue() + this.g[edge.getKey().getIndex()]);
+            }
+            this.rhs[vertex] = best;
+        }
+        if (this.g[vertex] != this.rhs[vertex]) {
+            this.queue(session, vertex);
+        } else {
+            this.open.remove(vertex);
+        }
+    }
+
+    private static boolean before(double a1, double a2, double b1, double b2) {
+        return a1 < b1 || (a1 == b1 && a2 < b2);
+    }
+
+    /*
+     * True once the start is consistent and nothing queued could still lower it
+     */
+    private boolean isSettled(int startId) {
+        if (this.open.isEmpty()) {
+            return true;
+        }
+        int current = this.open.peek();
+        double startDistance = Math.min(this.g[startId], this.rhs[startId]);
+        return !before(this.open.peekKey(), -this.open.tie(current), startDistance + this.km, startDistance)
+            && this.rhs[startId] == this.g[startId];
+    }
+
+    /*
+     * Expand the first queued vertex and return it, or only refresh its outdated key and
+     * return -1
+     */
+    private int expandNext(Session session) {
+        int current = this.open.peek();
+        double oldKey = this.open.peekKey();
+        double oldTie = -this.open.tie(current);
+        double distance = Math.min(this.g[current], this.rhs[current]);
+        double key = distance + this.heuristic(this.start, this.graph.vertexAt(current).getValue()) + this.km;
+        if (before(oldKey, oldTie, key, distance)) {
+            this.open.update(current, key, -distance);
+            return -1;
+        }
+        this.open.poll();
+        WVertex<T> currentVertex = this.graph.vertexAt(current);
+
+        if (this.g[current] > this.rhs[current]) {
+            this.g[current] = this.rhs[current];
+            for (Map.Entry<WVertex<T>, Double> edge : currentVertex.getIncoming().entrySet()) {
+                int predecessor = edge.getKey().getIndex();
+                double throughCurrent = edge.getValue() + this.g[current];
+                if (predecessor != this.goal && throughCurrent < this.rhs[predecessor]) {
+                    this.rhs[predecessor] = throughCurrent;
+                    this.queue(session, predecessor);
+                }
+            }
+        } else {
+            this.g[current] = Double.POSITIVE_INFINITY;
+            this.updateVertex(session, current);
+            for (WVertex<T> predecessor : currentVertex.getIncoming().keySet()) {
+                this.updateVertex(session, predecessor.getIndex());
+            }
+        }
+        return current;
+    }
+
+    /*
+     * Follow the cheapest edge plus remaining distance from the start down to the end
+     */
+    private Path<WVertex<T>> extractPath(int startId) {
+        List<WVertex<T>> pathList = new ArrayList<>();
+        double distance = 0;
+        int current = startId;
+        pathList.add(this.graph.vertexAt(current));
+        while (current != this.goal) {
+            int next = -1;
+            double nextWeight = 0;
+            double best = Double.POSITIVE_INFINITY;
+            for (Map.Entry<WVertex<T>, Double> edge : this.graph.vertexAt(current).getNeighbors().entrySet()) {
+                double throughNeighbor = edge.getValue() + this.g[edge.getKey().getIndex()];
+                if (throughNeighbor < best) {
+                    best = throughNeighbor;
+                    next = edge.getKey().getIndex();
+                    nextWeight = edge.getValue();
+                }
+            }
+            if (next == -1 || pathList.size() > this.graph.size()) {
+                return null;
+            }
+            distance += nextWeight;
+            current = next;
+            pathList.add(this.graph.vertexAt(current));
+        }
+        for (WVertex<T> vertex : pathList) {
+            this.onPath(vertex.getValue());
+        }
+        return new Path<>(pathList, distance);
+    }
+}
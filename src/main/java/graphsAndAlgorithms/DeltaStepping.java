@@ -0,0 +1,406 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/*
+ * Parallel single source shortest paths by delta-stepping (Meyer and Sanders).
+ *
+ * Tentative distances are grouped into buckets of width delta. The lowest nonempty bucket is
+ * settled in rounds that relax its light edges (weight <= delta) in parallel until no vertex
+ * falls back into it, then the heavy edges of everything it settled are relaxed once, since
+ * they can only reach later buckets. Distances are lowered with compare-and-set, so the work
+ * of one round is split over the pool with no locks.
+ *
+ * Work is split into lanes, more of them than the pool has threads so fork/join can balance
+ * uneven degrees. Each lane keeps its own buckets and is run by one task per round, so inserts
+ * need no synchronization either. Pending vertices lie at most ceil(maxWeight / delta) + 1
+ * buckets past the current one, so each lane keeps its buckets in a cyclic array that only
+ * grows to that span, however far the distances reach.
+ *
+ * The edges are copied once, light edges first per vertex. Unless given, delta is picked from
+ * the weight distribution: the mean weight over the average degree, times a small constant.
+ * Small deltas approach Dijkstra's work, large ones Bellman-Ford's parallelism. A delta so
+ * small that the span or the bucket numbers would overflow is rejected.
+ * Weights must not be negative. Distances are bit for bit those of Dijkstras.
+ */
+public class DeltaStepping<T> {
+    private static final int GRAIN = 256;
+    private static final double DELTA_SCALE = 4;
+    private static final double MAX_SPAN = 1 << 29;
+
+    private final IndexedGraph<T> graph;
+    private final ForkJoinPool pool;
+    private final int lanes;
+    private final double delta;
+    private final int[] offsets;
+    private final int[] lightEnds;
+    private final int[] targets;
+    private final double[] weights;
+    private volatile IndexedGraph<T> reverse;
+
+    public DeltaStepping(IndexedGraph<T> graph) {
+        this(graph, Double.NaN, ForkJoinPool.commonPool());
+    }
+
+    public DeltaStepping(IndexedGraph<T> graph, double delta) {
+        this(graph, delta, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * delta of NaN picks one from the weights
+     */
+    public DeltaStepping(IndexedGraph<T> graph, double delta, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.lanes = 4 * pool.getParallelism();
+        int size = graph.size();
+        this.offsets = new int[size + 1];
+        this.lightEnds = new int[size];
+
+        int[] degrees = new int[size];
+        double[] weightSums = new double[size];
+        IntStream.range(0, size).parallel().forEach(v -> {
+            for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                if (graph.edgeTarget(edge) < 0) continue;
+                degrees[v]++;
+                weightSums[v] += graph.edgeWeight(edge);
+            }
+        });
+        for (int v = 0; v < size; v++) {
+            this.offsets[v + 1] = this.offsets[v] + degrees[v];
+        }
+        int edges = this.offsets[size];
+        if (Double.isNaN(delta)) {
+            double total = Arrays.stream(weightSums).parallel().sum();
+            delta = edges == 0 || total == 0 ? 1 : DELTA_SCALE * (total / edges) / ((double) edges / size);
+        }
+        if (!(delta > 0)) {
+            throw new IllegalArgumentException("delta must be positive");
+        }
+        this.delta = delta;
+
+        this.targets = new int[edges];
+        this.weights = new double[edges];
+        double width = delta;
+        IntStream.range(0, size).parallel().forEach(v -> {
+            int light = this.offsets[v];
+            int heavy = this.offsets[v + 1];
+            for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                int target = graph.edgeTarget(edge);
+                if (target < 0) continue;
+                double weight = graph.edgeWeight(edge);
+                int slot = weight <= width ? light++ : --heavy;
+                this.targets[slot] = target;
+                this.weights[slot] = weight;
+            }
+            this.lightEnds[v] = light;
+        });
+
+        double maxWeight = Arrays.stream(this.weights).parallel().max().orElse(0);
+        if (!(maxWeight / delta < MAX_SPAN && size * maxWeight / delta < 0x1p62)) {
+            throw new IllegalArgumentException("delta " + delta + " is too small for edge weights up to " + maxWeight);
+        }
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public double getDelta() {
+        return this.delta;
+    }
+
+    /*
+     * Distance from source to every id, infinity where unreachable, or null if source is not
+     * in the graph
+     */
+    public double[] distances(T source) {
+        int id = this.graph.indexOf(source);
+        return id < 0 ? null : this.distances(id);
+    }
+
+    public double[] distances(int source) {
+        Run run = new Run();
+        run.execute(source);
+        double[] distances = new double[this.graph.size()];
+        for (int v = 0; v < distances.length; v++) {
+            distances[v] = Double.longBitsToDouble(run.distances.get(v));
+        }
+        return distances;
+    }
+
+    /*
+     * Shortest path from start to end, null if there is none. Runs the full single source
+     * search; use distances() to answer many ends from one start.
+     */
+    public Path<T> findPath(T start, T end) {
+        int startId = this.graph.indexOf(start);
+        int endId = this.graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        return this.tracePath(this.distances(startId), startId, endId);
+    }
+
+    /*
+     * Walk back from end along edges that are tight for distances. Every reached vertex but
+     * the source got its distance from some in-edge, so the sum matches exactly.
+     */
+    public Path<T> tracePath(double[] distances, int start, int end) {
+        if (distances[end] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        IndexedGraph<T> reverse = this.reverse;
+        if (reverse == null) {
+            reverse = this.graph.reverse();
+            this.reverse = reverse;
+        }
+        List<T> path = new ArrayList<>();
+        path.add(this.graph.valueOf(end));
+        for (int current = end; current != start; ) {
+            int previous = -1;
+            for (int edge = reverse.edgeStart(current); edge < reverse.edgeEnd(current); edge++) {
+                int source = reverse.edgeTarget(edge);
+                if (source >= 0 && source != current && distances[source] + reverse.edgeWeight(edge) == distances[current]) {
+                    previous = source;
+                    if (distances[source] < distances[current]) break;
+                }
+            }
+            if (previous == -1 || path.size() > distances.length) {
+                return null;
+            }
+            current = previous;
+            path.add(this.graph.valueOf(current));
+        }
+        Collections.reverse(path);
+        return new Path<>(path, distances[end]);
+    }
+
+    private static class IntList {
+        private int[] data = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (this.size == this.data.length) {
+                this.data = Arrays.copyOf(this.data, this.size * 2);
+            }
+            this.data[this.size++] = value;
+        }
+    }
+
+    /*
+     * One lane's buckets and the vertices it settled in the current bucket. Bucket b is kept in
+     * bins[b % bins.length] while it lies in the window from base, the bucket being settled,
+     * and the window grows when an insert falls past it. All bins below cursor are empty.
+     */
+    private static class Lane {
+        private IntList[] bins = new IntList[16];
+        private final IntList settled = new IntList();
+        private long base;
+        private long cursor;
+        private int used;
+
+        void insert(int vertex, long bucket) {
+            if (bucket - this.base >= this.bins.length) {
+                this.grow(bucket - this.base + 1);
+            }
+            int slot = (int) bucket & (this.bins.length - 1);
+            IntList bin = this.bins[slot];
+            if (bin == null) {
+                bin = new IntList();
+                this.bins[slot] = bin;
+                this.used++;
+            }
+            bin.add(vertex);
+            this.cursor = Math.min(this.cursor, bucket);
+        }
+
+        /*
+         * Double the array until it holds span buckets from base, moving each bin to its new slot
+         */
+        private void grow(long span) {
+            int length = this.bins.length;
+            while (length < span) {
+                length <<= 1;
+            }
+            IntList[] bins = new IntList[length];
+            int mask = this.bins.length - 1;
+            for (int slot = 0; slot < this.bins.length; slot++) {
+                if (this.bins[slot] == null) continue;
+                long bucket = this.base + ((slot - this.base) & mask);
+                bins[(int) bucket & (length - 1)] = this.bins[slot];
+            }
+            this.bins = bins;
+        }
+
+        /*
+         * Lowest nonempty bucket from from on, which becomes the window's base
+         */
+        long lowest(long from) {
+            this.base = from;
+            if (this.used == 0) {
+                return Long.MAX_VALUE;
+            }
+            this.cursor = Math.max(this.cursor, from);
+            while (this.bins[(int) this.cursor & (this.bins.length - 1)] == null) {
+                this.cursor++;
+            }
+            return this.cursor;
+        }
+
+        IntList take(long bucket) {
+            if (bucket - this.base >= this.bins.length) return null;
+            int slot = (int) bucket & (this.bins.length - 1);
+            IntList bin = this.bins[slot];
+            if (bin != null) {
+                this.bins[slot] = null;
+                this.used--;
+            }
+            return bin;
+        }
+    }
+
+    /*
+     * State of one search, so concurrent searches on the same instance do not interfere
+     */
+    private class Run {
+        private final AtomicLongArray distances;
+        private final int[] settledIn;
+        private final Lane[] lanes;
+        private int[] frontier;
+        private int frontierSize;
+
+        Run() {
+            int size = DeltaStepping.this.graph.size();
+            this.distances = new AtomicLongArray(size);
+            this.settledIn = new int[size];
+            this.lanes = new Lane[DeltaStepping.this.lanes];
+            this.frontier = new int[GRAIN];
+            long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+            IntStream.range(0, size).parallel().forEach(v -> this.distances.set(v, infinity));
+            for (int i = 0; i < this.lanes.length; i++) {
+                this.lanes[i] = new Lane();
+            }
+        }
+
+        void execute(int source) {
+            this.distances.set(source, Double.doubleToRawLongBits(0));
+            this.lanes[0].insert(source, 0);
+            long current = 0;
+            int step = 0;
+            while ((current = this.nextBucket(current)) != Long.MAX_VALUE) {
+                long bucket = current;
+                int mark = ++step;
+                while (this.gather(bucket) > 0) {
+                    int active = Math.max(1, Math.min(this.lanes.length, this.frontierSize / GRAIN));
+                    int size = this.frontierSize;
+                    DeltaStepping.this.parallel(active, lane -> this.relaxLight(this.lanes[lane], bucket, mark, lane * (long) size / active, (lane + 1) * (long) size / active));
+                }
+                int settled = 0;
+                for (Lane lane : this.lanes) {
+                    settled += lane.settled.size;
+                }
+                if (settled > GRAIN) {
+                    DeltaStepping.this.parallel(this.lanes.length, lane -> this.relaxHeavy(this.lanes[lane]));
+                } else {
+                    for (Lane lane : this.lanes) {
+                        this.relaxHeavy(lane);
+                    }
+                }
+            }
+        }
+
+        private long nextBucket(long from) {
+            long lowest = Long.MAX_VALUE;
+            for (Lane lane : this.lanes) {
+                lowest = Math.min(lowest, lane.lowest(from));
+            }
+            return lowest;
+        }
+
+        /*
+         * Move every lane's bin for bucket into the shared frontier
+         */
+        private int gather(long bucket) {
+            this.frontierSize = 0;
+            for (Lane lane : this.lanes) {
+                IntList bin = lane.take(bucket);
+                if (bin == null) continue;
+                if (this.frontierSize + bin.size > this.frontier.length) {
+                    this.frontier = Arrays.copyOf(this.frontier, Math.max(this.frontier.length * 2, this.frontierSize + bin.size));
+                }
+                System.arraycopy(bin.data, 0, this.frontier, this.frontierSize, bin.size);
+                this.frontierSize += bin.size;
+            }
+            return this.frontierSize;
+        }
+
+        /*
+         * Relax the light edges of frontier[from, to), marking the vertices settled in this
+         * bucket with its step number
+         */
+        private void relaxLight(Lane lane, long bucket, int step, long from, long to) {
+            int[] offsets = DeltaStepping.this.offsets;
+            for (int i = (int) from; i < to; i++) {
+                int vertex = this.frontier[i];
+                double distance = Double.longBitsToDouble(this.distances.get(vertex));
+                /* Stale copy of a vertex that was queued more than once */
+                if (DeltaStepping.this.bucket(distance) != bucket) continue;
+                if (this.settledIn[vertex] != step) {
+                    this.settledIn[vertex] = step;
+                    lane.settled.add(vertex);
+                }
+                this.relax(lane, distance, offsets[vertex], DeltaStepping.this.lightEnds[vertex]);
+            }
+        }
+
+        private void relaxHeavy(Lane lane) {
+            for (int i = 0; i < lane.settled.size; i++) {
+                int vertex = lane.settled.data[i];
+                double distance = Double.longBitsToDouble(this.distances.get(vertex));
+                this.relax(lane, distance, DeltaStepping.this.lightEnds[vertex], DeltaStepping.this.offsets[vertex + 1]);
+            }
+            lane.settled.size = 0;
+        }
+
+        /*
+         * Lower the targets of edges from to to through a vertex at distance. Non negative
+         * doubles order the same as their bits, so the minimum is kept by compare-and-set on
+         * the bits.
+         */
+        private void relax(Lane lane, double distance, int from, int to) {
+            for (int edge = from; edge < to; edge++) {
+                int target = DeltaStepping.this.targets[edge];
+                double newDistance = distance + DeltaStepping.this.weights[edge];
+                long bits = Double.doubleToRawLongBits(newDistance);
+                long current = this.distances.get(target);
+                while (bits < current) {
+                    if (this.distances.compareAndSet(target, current, bits)) {
+                        lane.insert(target, DeltaStepping.this.bucket(newDistance));
+                        break;
+                    }
+                    current = this.distances.get(target);
+                }
+            }
+        }
+    }
+
+    private long bucket(double distance) {
+        return (long) (distance / this.delta);
+    }
+
+    private void parallel(int tasks, IntConsumer task) {
+        if (tasks == 1) {
+            task.accept(0);
+            return;
+        }
+        this.pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task)).join();
+    }
+}
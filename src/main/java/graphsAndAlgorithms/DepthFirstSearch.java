@@ -1,69 +1,259 @@
 package graphsAndAlgorithms;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
+/*
+ * Depth first search with an explicit stack, so the search depth is limited by memory rather
+ * than by the thread's stack size. Each stack entry keeps a cursor into its vertex's neighbors
+ * and visited vertices are one bit each. On an IndexedGraph the cursor is an edge index, so a
+ * search costs about 8 bytes per vertex on the current path plus one bit per vertex of the
+ * graph. On a WAdjacencyGraph it is an iterator over the neighbor map, an object per entry.
+ *
+ * The static searches on an IndexedGraph can also be depth limited, and iterativeDeepening()
+ * repeats a depth limited search with growing limits to find a fewest hops path.
+ */
 public class DepthFirstSearch<T extends Distancable<T>> extends SearchAlgorithm<T> {
     public DepthFirstSearch(WAdjacencyGraph<T> graph) {
         super(graph);
     }
 
+    private static boolean isSet(long[] bits, int id) {
+        return (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    private static void set(long[] bits, int id) {
+        bits[id >>> 6] |= 1L << id;
+    }
+
     @Override
     public Path<WVertex<T>> findPath(T start, T end) {
-        if (!this.graph.contains(start) || !this.graph.contains(end)) {
-            return null;
-        }
-        this.running = true;
-        
-        WVertex<T> startVertex = graph.vertices.get(start);
-        WVertex<T> endVertex = graph.vertices.get(end);
-
-        Set<WVertex<T>> visited = new HashSet<>();
-        visited.add(startVertex);
+        return this.run(new Session(start, end));
+    }
 
-        Path<WVertex<T>> path = this.visitDFPath(startVertex, endVertex, visited);
-        this.running = false;
-        return path;
+    @Override
+    public SearchSession<T> session(T start, T end) {
+        return new Session(start, end);
     }
 
-    private Path<WVertex<T>> visitDFPath(WVertex<T> vertex, WVertex<T> end, Set<WVertex<T>> visited) {
-        if (!this.running) return null;
+    private class Session extends SearchSession<T> {
+        private final WVertex<T> startVertex;
+        private final WVertex<T> endVertex;
+        private final long[] visited;
+        private final List<WVertex<T>> stack;
+        private final List<Iterator<WVertex<T>>> cursors;
 
-        GridVertex gv = (GridVertex) vertex;
-        gv.setVisited();
-        this.notifyObservers(gv.getValue());
-        if(vertex == end) {
-            Path<WVertex<T>> path = new Path<>();
-            path.addLast(end, 1);
-            GridVertex gvVertex = (GridVertex) end;
-            gvVertex.setPath();
-            this.notifyObservers(gvVertex.getValue());
-            try { Thread.sleep(1); } catch (InterruptedException e) {}
-            return path;
-        } else {
-            for(WVertex<T> n : vertex.getNeighbors().keySet()) {
-                if (!visited.contains(n)) {
-                    GridVertex gvNeighbor = (GridVertex) n;
-                    gvNeighbor.setQueued();
-                    this.notifyObservers(gvNeighbor.getValue());
+        Session(T start, T end) {
+            super(DepthFirstSearch.this.listener);
+            WAdjacencyGraph<T> graph = DepthFirstSearch.this.graph;
+            this.startVertex = graph.vertices.get(start);
+            this.endVertex = graph.vertices.get(end);
+            this.visited = new long[(graph.size() + 63) >>> 6];
+            this.stack = new ArrayList<>();
+            this.cursors = new ArrayList<>();
+            if (this.startVertex == null || this.endVertex == null) {
+                this.finish(null);
+            }
+        }
+
+        /*
+         * Enter the start on the first step, then follow edges, backing up from exhausted
+         * vertices, until a new vertex is entered
+         */
+        @Override
+        protected void expand() {
+            if (!isSet(this.visited, this.startVertex.getIndex())) {
+                set(this.visited, this.startVertex.getIndex());
+                this.enter(this.startVertex);
+                return;
+            }
+            while (!this.stack.isEmpty()) {
+                int top = this.stack.size() - 1;
+                if (this.stack.get(top) == this.endVertex) {
+                    this.finish(this.tracePath());
+                    return;
+                }
+                Iterator<WVertex<T>> cursor = this.cursors.get(top);
+                if (!cursor.hasNext()) {
+                    this.stack.remove(top);
+                    this.cursors.remove(top);
+                    continue;
                 }
-             }
-            for(WVertex<T> neighbor : vertex.getNeighbors().keySet()) {
-                if(!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    Path<WVertex<T>> path = this.visitDFPath(neighbor, end, visited);
-                    if(path != null) {
-                        path.addFirst(vertex, 1);
-                        GridVertex gvVertex = (GridVertex) vertex;
-                        gvVertex.setPath();
-                        this.notifyObservers(gvVertex.getValue());
-                        try { Thread.sleep(10); } catch (InterruptedException e) {}
-                        return path;
+                WVertex<T> neighbor = cursor.next();
+                if (!isSet(this.visited, neighbor.getIndex())) {
+                    set(this.visited, neighbor.getIndex());
+                    this.enter(neighbor);
+                    return;
+                }
+            }
+            this.finish(null);
+        }
+
+        /*
+         * Push vertex with a fresh cursor, reporting it visited and its unvisited neighbors queued
+         */
+        private void enter(WVertex<T> vertex) {
+            this.visited(vertex.getValue());
+            if (this.listener != null) {
+                for (WVertex<T> neighbor : vertex.getNeighbors().keySet()) {
+                    if (!isSet(this.visited, neighbor.getIndex())) {
+                        this.queued(neighbor.getValue());
                     }
                 }
-                try { Thread.sleep(this.delay); } catch (InterruptedException e) {}
             }
+            this.stack.add(vertex);
+            this.cursors.add(vertex.getNeighbors().keySet().iterator());
+        }
+
+        private Path<WVertex<T>> tracePath() {
+            Path<WVertex<T>> path = new Path<>();
+            for (int i = this.stack.size() - 1; i >= 0; i--) {
+                path.addFirst(this.stack.get(i), 1);
+                this.onPath(this.stack.get(i).getValue());
+            }
+            return path;
+        }
+    }
+
+    /*
+     * Vertices on the current path and their edge cursors, grown as the path gets deeper
+     */
+    private static class Stack {
+        private int[] vertices = new int[64];
+        private int[] cursors = new int[64];
+        private int depth = -1;
+
+        void push(int vertex, int cursor) {
+            if (++this.depth == this.vertices.length) {
+                this.vertices = Arrays.copyOf(this.vertices, this.depth * 2);
+                this.cursors = Arrays.copyOf(this.cursors, this.depth * 2);
+            }
+            this.vertices[this.depth] = vertex;
+            this.cursors[this.depth] = cursor;
+        }
+
+        <T> Path<T> toPath(IndexedGraph<T> graph) {
+            List<T> path = new ArrayList<>(this.depth + 1);
+            for (int i = 0; i <= this.depth; i++) {
+                path.add(graph.valueOf(this.vertices[i]));
+            }
+            return new Path<>(path, this.depth + 1);
+        }
+    }
+
+    /*
+     * Same traversal order as the search on the adjacency graph
+     */
+    public static <T> Path<T> findPath(IndexedGraph<T> graph, T start, T end) {
+        int startId = graph.indexOf(start);
+        int endId = graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+
+        long[] visited = new long[(graph.size() + 63) >>> 6];
+        Stack stack = new Stack();
+        stack.push(startId, graph.edgeStart(startId));
+        set(visited, startId);
+
+        while (stack.depth >= 0) {
+            int current = stack.vertices[stack.depth];
+            if (current == endId) {
+                return stack.toPath(graph);
+            }
+            if (stack.cursors[stack.depth] == graph.edgeEnd(current)) {
+                stack.depth--;
+                continue;
+            }
+            int neighbor = graph.edgeTarget(stack.cursors[stack.depth]++);
+            if (neighbor >= 0 && !isSet(visited, neighbor)) {
+                set(visited, neighbor);
+                stack.push(neighbor, graph.edgeStart(neighbor));
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Path of at most maxDepth edges found depth first, or null if there is none
+     */
+    public static <T> Path<T> findPath(IndexedGraph<T> graph, T start, T end, int maxDepth) {
+        int startId = graph.indexOf(start);
+        int endId = graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
             return null;
         }
+        SearchWorkspace entered = SearchWorkspace.forThread(graph.size());
+        Stack stack = depthLimited(graph, startId, endId, maxDepth, entered, null);
+        return stack == null ? null : stack.toPath(graph);
+    }
+
+    /*
+     * Depth limited searches with limits 0, 1, 2, ... until one reaches end, so the path has
+     * the fewest hops. Stops with null once a search explores everything reachable without
+     * hitting its limit.
+     * The stack only holds the current path, but the depth each vertex was entered at is kept
+     * too, in this thread's SearchWorkspace, so memory is O(V) as for breadth first search. The
+     * workspace starts each limit in O(1), so a round only costs the vertices it enters.
+     */
+    public static <T> Path<T> iterativeDeepening(IndexedGraph<T> graph, T start, T end) {
+        int startId = graph.indexOf(start);
+        int endId = graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        SearchWorkspace entered = SearchWorkspace.forThread(graph.size());
+        boolean[] cutOff = new boolean[1];
+        for (int limit = 0; ; limit++) {
+            cutOff[0] = false;
+            entered.begin(graph.size());
+            Stack stack = depthLimited(graph, startId, endId, limit, entered, cutOff);
+            if (stack != null) {
+                return stack.toPath(graph);
+            }
+            if (!cutOff[0]) {
+                return null;
+            }
+        }
+    }
+
+    /*
+     * Depth first search that does not go deeper than limit edges. A vertex is entered again
+     * when it is reached by a shorter path than before, so nothing within the limit is missed;
+     * entered holds the shallowest depth each vertex was entered at as its distance.
+     * cutOff, if given, is set when some edge was not followed because of the limit.
+     */
+    private static Stack depthLimited(IndexedGraph<?> graph, int startId, int endId, int limit, SearchWorkspace entered, boolean[] cutOff) {
+        Stack stack = new Stack();
+        stack.push(startId, graph.edgeStart(startId));
+        entered.reach(startId, 0, -1);
+
+        while (stack.depth >= 0) {
+            int current = stack.vertices[stack.depth];
+            if (current == endId) {
+                return stack;
+            }
+            if (stack.cursors[stack.depth] == graph.edgeEnd(current)) {
+                stack.depth--;
+                continue;
+            }
+            int neighbor = graph.edgeTarget(stack.cursors[stack.depth]++);
+            if (neighbor < 0) {
+                continue;
+            }
+            int depth = stack.depth + 1;
+            if (entered.distance(neighbor) <= depth) {
+                continue;
+            }
+            if (depth > limit) {
+                if (cutOff != null) cutOff[0] = true;
+                continue;
+            }
+            entered.reach(neighbor, depth, stack.vertices[stack.depth]);
+            stack.push(neighbor, graph.edgeStart(neighbor));
+        }
+        return null;
     }
 }
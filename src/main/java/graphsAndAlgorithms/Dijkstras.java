@@ -1,28 +1,18 @@
 package graphsAndAlgorithms;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Set;
-
+import java.util.Map;
+
+/*
+ * Dijkstra's algorithm, and A* through heuristic().
+ * The stored distance of a vertex is its cost from the start (g) and the heap is ordered by
+ * f = g + heuristic, with ties going to the larger g. Settled vertices are closed and never
+ * reopened, which is exact for a consistent heuristic (one that never overestimates an edge).
+ * Snapshots such as a CSRGraph are searched with IndexedDijkstras instead.
+ */
 public class Dijkstras<T extends Distancable<T>> extends SearchAlgorithm<T> {
-    public class PathItem implements Comparable<PathItem> {
-        public WVertex<T> vertex;
-        public double distance;
-
-        public PathItem(double distance, WVertex<T> vertex) {
-            this.distance = distance;
-            this.vertex = vertex;
-        }
-
-        @Override
-        public int compareTo(PathItem o) {
-            return Double.compare(this.distance, o.distance);
-        }
-    }
-
     public Dijkstras(WAdjacencyGraph<T> graph) {
         super(graph);
     }
@@ -31,97 +21,77 @@ public class Dijkstras<T extends Distancable<T>> extends SearchAlgorithm<T> {
         return 0;
     }
 
-    private HashMap<WVertex<T>, Double> makeDistanceMap(WVertex<T> start) {
-        HashMap<WVertex<T>, Double> distances = new HashMap<>();
-        for (WVertex<T> vertex : this.graph.vertices.values()) {
-            distances.put(vertex, Double.POSITIVE_INFINITY);
-        }
-        distances.put(start, 0d);
-        return distances;
+    @Override
+    public Path<WVertex<T>> findPath(T start, T end) {
+        return this.run(new Session(start, end, SearchWorkspace.forThread(this.graph.size())));
     }
 
-    private HashMap<WVertex<T>, WVertex<T>> makePredecessorMap() {
-        HashMap<WVertex<T>, WVertex<T>> predecessors = new HashMap<>();
-        for (WVertex<T> vertex : this.graph.vertices.values()) {
-            predecessors.put(vertex, null);
-        }
-        return predecessors;
+    @Override
+    public SearchSession<T> session(T start, T end) {
+        return new Session(start, end, new SearchWorkspace(this.graph.size()));
     }
 
-    @Override
-    public Path<WVertex<T>> findPath(T start, T end) {
-        if (!this.graph.contains(start) || !this.graph.contains(end)) {
-            return null;
+    private class Session extends SearchSession<T> {
+        private final T end;
+        private final WVertex<T> endVertex;
+        private final SearchWorkspace workspace;
+        private final IndexedMinHeap heap;
+
+        Session(T start, T end, SearchWorkspace workspace) {
+            super(Dijkstras.this.listener);
+            this.end = end;
+            this.endVertex = Dijkstras.this.graph.vertices.get(end);
+            this.workspace = workspace;
+            this.heap = workspace.heap();
+            WVertex<T> startVertex = Dijkstras.this.graph.vertices.get(start);
+            if (startVertex == null || this.endVertex == null) {
+                this.finish(null);
+                return;
+            }
+            workspace.reach(startVertex.getIndex(), 0, -1);
+            this.heap.offer(startVertex.getIndex(), Dijkstras.this.heuristic(start, end), 0);
         }
-        this.running = true;
-
-        WVertex<T> startVertex = this.graph.vertices.get(start);
-        WVertex<T> endVertex = this.graph.vertices.get(end);
-
-        HashMap<WVertex<T>, Double> distances = this.makeDistanceMap(startVertex);
-        HashMap<WVertex<T>, WVertex<T>> predecessors = makePredecessorMap();
-        Set<WVertex<T>> visited = new HashSet<>();
-
-        PriorityQueue<PathItem> heap = new PriorityQueue<>();
-
-        distances.put(startVertex, 0d);
-        heap.add(new PathItem(0, startVertex));
 
-        while (!heap.isEmpty()){
-            if (!this.running) return null;
-
-            PathItem current = heap.poll();
-            WVertex<T> currentVertex = current.vertex;
-            GridVertex gv = (GridVertex) currentVertex;
-            gv.setVisited();
-            this.notifyObservers(gv.getValue());
-
-            double currentDistance = current.distance;
-            if (visited.contains(currentVertex)) {
-                continue;
+        @Override
+        protected void expand() {
+            if (this.heap.isEmpty()) {
+                this.finish(null);
+                return;
             }
-            visited.add(currentVertex);
-
-            if (currentVertex.equals(endVertex)) {
-                break;
+            int current = this.heap.poll();
+            WVertex<T> currentVertex = Dijkstras.this.graph.vertexAt(current);
+            this.workspace.close(current);
+            this.visited(currentVertex.getValue());
+
+            if (currentVertex == this.endVertex) {
+                this.finish(this.tracePath());
+                return;
             }
 
-            for (WVertex<T> neighbor : currentVertex.getNeighbors().keySet()) {
-                if (visited.contains(neighbor)) {
+            double currentDistance = this.workspace.distance(current);
+            for (Map.Entry<WVertex<T>, Double> edge : currentVertex.getNeighbors().entrySet()) {
+                WVertex<T> neighbor = edge.getKey();
+                if (this.workspace.isClosed(neighbor.getIndex())) {
                     continue;
                 }
-                GridVertex gvNeighbor = (GridVertex) neighbor;
-                gvNeighbor.setQueued();
-                this.notifyObservers(gvNeighbor.getValue());
-                double newDistance = currentDistance + currentVertex.weight(neighbor) + this.heuristic(neighbor.getValue(), end);
-                if (newDistance < distances.get(neighbor)) {
-                    distances.put(neighbor, newDistance);
-                    predecessors.put(neighbor, currentVertex);
-                    heap.add(new PathItem(newDistance, neighbor));
+                this.queued(neighbor.getValue());
+                double newDistance = currentDistance + edge.getValue();
+                if (newDistance < this.workspace.distance(neighbor.getIndex())) {
+                    this.workspace.reach(neighbor.getIndex(), newDistance, current);
+                    this.heap.offer(neighbor.getIndex(), newDistance + Dijkstras.this.heuristic(neighbor.getValue(), this.end), newDistance);
                 }
             }
-            try { Thread.sleep(this.delay); } catch (InterruptedException e) {}
-        }
-
-        if (distances.get(endVertex) == Double.POSITIVE_INFINITY) {
-            return null;
         }
 
-        List<WVertex<T>> pathList = new ArrayList<>();
-        WVertex<T> currentVertex = endVertex;
-        double distance = 0;
-        while (currentVertex != null) {
-            pathList.add(0, currentVertex);
-            GridVertex gv = (GridVertex) currentVertex;
-            gv.setPath();
-            this.notifyObservers(gv.getValue());
-            try { Thread.sleep(10); } catch (InterruptedException e) {}
-            currentVertex = predecessors.get(currentVertex);
-            if (currentVertex != null) {
-                distance += currentVertex.getNeighbors().get(pathList.get(0));
+        private Path<WVertex<T>> tracePath() {
+            List<WVertex<T>> pathList = new ArrayList<>();
+            for (int current = this.endVertex.getIndex(); current != -1; current = this.workspace.predecessor(current)) {
+                WVertex<T> currentVertex = Dijkstras.this.graph.vertexAt(current);
+                pathList.add(currentVertex);
+                this.onPath(currentVertex.getValue());
             }
+            Collections.reverse(pathList);
+            return new Path<>(pathList, this.workspace.distance(this.endVertex.getIndex()));
         }
-        this.running = false;
-        return new Path<>(pathList, distance);
     }
 }
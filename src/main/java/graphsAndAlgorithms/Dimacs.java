@@ -0,0 +1,123 @@
+package graphsAndAlgorithms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/*
+ * Reader for the road networks of the 9th DIMACS implementation challenge.
+ *     .gr  "p sp n m" then m lines "a u v w": an arc from u to v of integer weight w, ids from 1
+ *     .co  "p aux sp co n" then n lines "v id x y": the coordinates of vertex id
+ * Lines starting with c are comments.
+ *
+ * Arcs are read into flat int arrays sized from the problem line. The challenge files list
+ * them grouped by source, which makes those arrays the CSR arrays as they are; other files
+ * take one counting sort. No object is made per vertex or per arc, so the 24 million vertex
+ * USA graph needs about 1 GB while loading.
+ */
+public class Dimacs {
+    private Dimacs() {
+    }
+
+    /*
+     * Graph from a .gr file and, if coordinates is not null, its .co file
+     */
+    public static RoadGraph read(java.nio.file.Path graph, java.nio.file.Path coordinates) throws IOException {
+        try (InputStream graphInput = Files.newInputStream(graph);
+                InputStream coordinatesInput = coordinates == null ? null : Files.newInputStream(coordinates)) {
+            return read(graphInput, coordinatesInput);
+        }
+    }
+
+    public static RoadGraph read(InputStream graph, InputStream coordinates) throws IOException {
+        ByteScanner scanner = new ByteScanner(graph);
+        int size = -1;
+        int arcs = 0;
+        int[] sources = null;
+        int[] targets = null;
+        int[] weights = null;
+        boolean grouped = true;
+
+        for (int c = scanner.skipWhitespace(); c != -1; c = scanner.skipWhitespace()) {
+            if (c == 'c') {
+                scanner.skipLine();
+            } else if (c == 'p') {
+                scanner.read();
+                if (!"sp".equals(scanner.next()) || size != -1) {
+                    throw scanner.error("Expected one \"p sp n m\" line");
+                }
+                size = scanner.nextInt();
+                int count = scanner.nextInt();
+                sources = new int[count];
+                targets = new int[count];
+                weights = new int[count];
+            } else if (c == 'a') {
+                scanner.read();
+                if (sources == null || arcs == sources.length) {
+                    throw scanner.error("Arc outside the count of the problem line");
+                }
+                int source = scanner.nextInt() - 1;
+                int target = scanner.nextInt() - 1;
+                if (source < 0 || source >= size || target < 0 || target >= size) {
+                    throw scanner.error("Vertex id out of range");
+                }
+                grouped &= arcs == 0 || source >= sources[arcs - 1];
+                sources[arcs] = source;
+                targets[arcs] = target;
+                weights[arcs] = scanner.nextInt();
+                arcs++;
+            } else {
+                throw scanner.error("Unexpected line");
+            }
+        }
+        if (sources == null || arcs != sources.length) {
+            throw scanner.error("Fewer arcs than the problem line");
+        }
+
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < arcs; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        if (!grouped) {
+            int[] next = Arrays.copyOf(offsets, size);
+            int[] sortedTargets = new int[arcs];
+            int[] sortedWeights = new int[arcs];
+            for (int i = 0; i < arcs; i++) {
+                int slot = next[sources[i]]++;
+                sortedTargets[slot] = targets[i];
+                sortedWeights[slot] = weights[i];
+            }
+            targets = sortedTargets;
+            weights = sortedWeights;
+        }
+
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        if (coordinates != null) {
+            readCoordinates(new ByteScanner(coordinates), xs, ys);
+        }
+        return new RoadGraph(xs, ys, offsets, targets, weights);
+    }
+
+    private static void readCoordinates(ByteScanner scanner, int[] xs, int[] ys) throws IOException {
+        for (int c = scanner.skipWhitespace(); c != -1; c = scanner.skipWhitespace()) {
+            if (c == 'c' || c == 'p') {
+                scanner.skipLine();
+            } else if (c == 'v') {
+                scanner.read();
+                int id = scanner.nextInt() - 1;
+                if (id < 0 || id >= xs.length) {
+                    throw scanner.error("Vertex id out of range");
+                }
+                xs[id] = scanner.nextInt();
+                ys[id] = scanner.nextInt();
+            } else {
+                throw scanner.error("Unexpected line");
+            }
+        }
+    }
+}
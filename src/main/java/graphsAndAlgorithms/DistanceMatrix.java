@@ -0,0 +1,209 @@
+package graphsAndAlgorithms;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Shortest distance between every pair of vertices of an IndexedGraph, with a successor table
+ * to recover the paths, as built by AllPairsShortestPaths.
+ *
+ * Both tables are split into TILE x TILE tiles, each one flat array of floats or ints, so a
+ * tile is one contiguous block whether it lives on the heap or in a file. Floats halve the
+ * memory of doubles: the 400 million pairs of 20,000 vertices take 1.6 GB, plus as much again
+ * for successors. successor(from, to) is the vertex after from on a shortest path to to.
+ *
+ * A matrix built with a file keeps its tables in memory mappings of that file, so it can be
+ * bigger than the heap. The file is working storage only and is not meant to be read back.
+ */
+public class DistanceMatrix<T> {
+    static final int TILE = 64;
+    private static final int CHUNK_SHIFT = 30;
+
+    private final IndexedGraph<T> graph;
+    private final AllPairsShortestPaths.Method method;
+    private final int size;
+    private final int tiles;
+    private final float[][] distanceTiles;
+    private final int[][] successorTiles;
+    private final MappedGraph.Section distanceSection;
+    private final MappedGraph.Section successorSection;
+
+    private DistanceMatrix(IndexedGraph<T> graph, AllPairsShortestPaths.Method method, MappedGraph.Section distanceSection, MappedGraph.Section successorSection) {
+        this.graph = graph;
+        this.method = method;
+        this.size = graph.size();
+        this.tiles = (this.size + TILE - 1) / TILE;
+        this.distanceSection = distanceSection;
+        this.successorSection = successorSection;
+        if (distanceSection == null) {
+            this.distanceTiles = new float[this.tiles * this.tiles][];
+            this.successorTiles = new int[this.tiles * this.tiles][];
+            for (int tile = 0; tile < this.distanceTiles.length; tile++) {
+                this.distanceTiles[tile] = new float[TILE * TILE];
+                this.successorTiles[tile] = new int[TILE * TILE];
+            }
+        } else {
+            this.distanceTiles = null;
+            this.successorTiles = null;
+        }
+    }
+
+    /*
+     * Matrix on the heap
+     */
+    DistanceMatrix(IndexedGraph<T> graph, AllPairsShortestPaths.Method method) {
+        this(graph, method, null, null);
+    }
+
+    /*
+     * Matrix mapped from file, which is created or overwritten
+     */
+    static <T> DistanceMatrix<T> map(IndexedGraph<T> graph, AllPairsShortestPaths.Method method, java.nio.file.Path file) throws IOException {
+        int tiles = (graph.size() + TILE - 1) / TILE;
+        long bytes = 4L * tiles * tiles * TILE * TILE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedGraph.Section distances = MappedGraph.Section.map(channel, MapMode.READ_WRITE, 0, bytes, CHUNK_SHIFT);
+            MappedGraph.Section successors = MappedGraph.Section.map(channel, MapMode.READ_WRITE, bytes, bytes, CHUNK_SHIFT);
+            return new DistanceMatrix<>(graph, method, distances, successors);
+        }
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public AllPairsShortestPaths.Method getMethod() {
+        return this.method;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /*
+     * Shortest distance from from to to, infinity if there is no path
+     */
+    public double distance(int from, int to) {
+        int tile = this.tileOf(from, to);
+        int cell = cellOf(from, to);
+        if (this.distanceTiles != null) {
+            return this.distanceTiles[tile][cell];
+        }
+        return this.distanceSection.getFloat((long) tile * TILE * TILE + cell);
+    }
+
+    public double distance(T from, T to) {
+        int fromId = this.graph.indexOf(from);
+        int toId = this.graph.indexOf(to);
+        return fromId < 0 || toId < 0 ? Double.POSITIVE_INFINITY : this.distance(fromId, toId);
+    }
+
+    /*
+     * Vertex after from on a shortest path to to, from itself if they are equal, -1 if there
+     * is no path
+     */
+    public int successor(int from, int to) {
+        int tile = this.tileOf(from, to);
+        int cell = cellOf(from, to);
+        if (this.successorTiles != null) {
+            return this.successorTiles[tile][cell];
+        }
+        return this.successorSection.getInt((long) tile * TILE * TILE + cell);
+    }
+
+    /*
+     * Shortest path from from to to, following successors, or null if there is none
+     */
+    public Path<T> path(T from, T to) {
+        int fromId = this.graph.indexOf(from);
+        int toId = this.graph.indexOf(to);
+        if (fromId < 0 || toId < 0 || this.successor(fromId, toId) < 0) {
+            return null;
+        }
+        List<T> path = new ArrayList<>();
+        path.add(from);
+        for (int current = fromId; current != toId; current = this.successor(current, toId)) {
+            path.add(this.graph.valueOf(this.successor(current, toId)));
+        }
+        return new Path<>(path, this.distance(fromId, toId));
+    }
+
+    /*
+     * Tiles per side; tile (row, col) is number row * tiles() + col
+     */
+    int tiles() {
+        return this.tiles;
+    }
+
+    /*
+     * Distances of tile, the tile itself on the heap or a copy read from the file
+     */
+    float[] distanceTile(int tile) {
+        if (this.distanceTiles != null) {
+            return this.distanceTiles[tile];
+        }
+        float[] distances = new float[TILE * TILE];
+        this.distanceSection.getFloats((long) tile * TILE * TILE, distances);
+        return distances;
+    }
+
+    int[] successorTile(int tile) {
+        if (this.successorTiles != null) {
+            return this.successorTiles[tile];
+        }
+        int[] successors = new int[TILE * TILE];
+        this.successorSection.getInts((long) tile * TILE * TILE, successors);
+        return successors;
+    }
+
+    /*
+     * Write back tile after changing copies from distanceTile() and successorTile()
+     */
+    void storeTile(int tile, float[] distances, int[] successors) {
+        if (this.distanceTiles == null) {
+            this.distanceSection.putFloats((long) tile * TILE * TILE, distances);
+            this.successorSection.putInts((long) tile * TILE * TILE, successors);
+        }
+    }
+
+    /*
+     * Write the row of from, tiles() * TILE entries long
+     */
+    void storeRow(int from, float[] distances, int[] successors) {
+        int rowStart = (from / TILE) * this.tiles;
+        int cell = (from % TILE) * TILE;
+        float[] distanceSlice = new float[TILE];
+        int[] successorSlice = new int[TILE];
+        for (int col = 0; col < this.tiles; col++) {
+            if (this.distanceTiles != null) {
+                System.arraycopy(distances, col * TILE, this.distanceTiles[rowStart + col], cell, TILE);
+                System.arraycopy(successors, col * TILE, this.successorTiles[rowStart + col], cell, TILE);
+            } else {
+                long at = (long) (rowStart + col) * TILE * TILE + cell;
+                System.arraycopy(distances, col * TILE, distanceSlice, 0, TILE);
+                System.arraycopy(successors, col * TILE, successorSlice, 0, TILE);
+                this.distanceSection.putFloats(at, distanceSlice);
+                this.successorSection.putInts(at, successorSlice);
+            }
+        }
+    }
+
+    static void clearTile(float[] distances, int[] successors) {
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(successors, -1);
+    }
+
+    private int tileOf(int from, int to) {
+        return (from / TILE) * this.tiles + to / TILE;
+    }
+
+    private static int cellOf(int from, int to) {
+        return (from % TILE) * TILE + to % TILE;
+    }
+}
@@ -0,0 +1,9 @@
+package graphsAndAlgorithms;
+
+/*
+ * Receives every edge change made through a WAdjacencyGraph, after it is applied.
+ * weight is the edge's new weight, or infinity if the edge was removed.
+ */
+public interface GraphChangeListener<E> {
+    void edgeChanged(E from, E to, double weight);
+}
@@ -0,0 +1,376 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/*
+ * Reproducible synthetic workloads built in parallel on the common fork/join pool.
+ *
+ * Every generator takes a seed. Work is cut into fixed chunks and each chunk gets its own
+ * SplittableRandom, split off the seed in chunk order before any work starts, so the same
+ * seed gives the same graph however the chunks are scheduled.
+ * Grid shaped workloads come back as BitGridGraphs and point based ones as CSRGraphs over
+ * Locations whose edge weights are the distances between the points, so A* stays admissible.
+ */
+public final class GraphGenerators {
+    public enum MazeAlgorithm { RECURSIVE_BACKTRACKER, PRIM }
+
+    private static final int CHUNK = 1 << 14;
+    private static final int TILE = 32;
+    private static final int[] DX = { 1, -1, 0, 0 };
+    private static final int[] DY = { 0, 0, 1, -1 };
+
+    private GraphGenerators() {
+    }
+
+    /*
+     * Called with the two ends of every edge of a spanning tree
+     */
+    private interface Carver {
+        void carve(int from, int to);
+    }
+
+    private static SplittableRandom[] split(long seed, int chunks) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            randoms[i] = root.split();
+        }
+        return randoms;
+    }
+
+    /*
+     * rows x cols grid in which every cell is a wall with probability density
+     */
+    public static BitGridGraph obstacleGrid(int rows, int cols, double density, boolean diagonal, long seed) {
+        BitGridGraph grid = new BitGridGraph(rows, cols, diagonal);
+        int size = rows * cols;
+        int words = grid.wallWords();
+        int wordsPerChunk = CHUNK / 64;
+        int chunks = (words + wordsPerChunk - 1) / wordsPerChunk;
+        SplittableRandom[] randoms = split(seed, chunks);
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = randoms[chunk];
+            for (int word = chunk * wordsPerChunk; word < Math.min(words, (chunk + 1) * wordsPerChunk); word++) {
+                long bits = 0;
+                for (int bit = 0; bit < 64 && word * 64 + bit < size; bit++) {
+                    if (random.nextDouble() < density) bits |= 1L << bit;
+                }
+                grid.setWallWord(word, bits);
+            }
+        });
+        return grid;
+    }
+
+    /*
+     * Perfect maze (exactly one path between any two open cells) with rows x cols rooms, as a
+     * 4-connected (2 * rows + 1) x (2 * cols + 1) grid where room (c, r) is cell (2c + 1, 2r + 1)
+     * and the cells between rooms are walls or passages.
+     *
+     * The rooms are cut into 32 x 32 tiles that are carved in parallel, each into a spanning
+     * tree of its own. The tiles are then joined through one opening per edge of a random
+     * spanning tree over the tiles, which keeps the whole maze a tree.
+     */
+    public static BitGridGraph maze(int rows, int cols, MazeAlgorithm algorithm, long seed) {
+        int width = 2 * cols + 1;
+        int height = 2 * rows + 1;
+        boolean[] open = new boolean[width * height];
+        int tilesX = (cols + TILE - 1) / TILE;
+        int tilesY = (rows + TILE - 1) / TILE;
+        SplittableRandom[] randoms = split(seed, tilesX * tilesY + 1);
+
+        IntStream.range(0, tilesX * tilesY).parallel().forEach(tile -> {
+            int left = (tile % tilesX) * TILE;
+            int top = (tile / tilesX) * TILE;
+            int tileCols = Math.min(TILE, cols - left);
+            int tileRows = Math.min(TILE, rows - top);
+            for (int r = 0; r < tileRows; r++) {
+                for (int c = 0; c < tileCols; c++) {
+                    open[(2 * (top + r) + 1) * width + 2 * (left + c) + 1] = true;
+                }
+            }
+            Carver carver = (from, to) -> {
+                int x = left + from % tileCols + left + to % tileCols + 1;
+                int y = top + from / tileCols + top + to / tileCols + 1;
+                open[y * width + x] = true;
+            };
+            spanningTree(tileCols, tileRows, algorithm, randoms[tile], carver);
+        });
+
+        SplittableRandom random = randoms[tilesX * tilesY];
+        spanningTree(tilesX, tilesY, algorithm, random, (from, to) -> {
+            int tileX = Math.min(from % tilesX, to % tilesX);
+            int tileY = Math.min(from / tilesX, to / tilesX);
+            int x;
+            int y;
+            if (from / tilesX == to / tilesX) {
+                /* Horizontal neighbors: open the wall column between them in a random row */
+                x = 2 * (tileX + 1) * TILE;
+                y = 2 * (tileY * TILE + random.nextInt(Math.min(TILE, rows - tileY * TILE))) + 1;
+            } else {
+                x = 2 * (tileX * TILE + random.nextInt(Math.min(TILE, cols - tileX * TILE))) + 1;
+                y = 2 * (tileY + 1) * TILE;
+            }
+            open[y * width + x] = true;
+        });
+
+        BitGridGraph grid = new BitGridGraph(height, width);
+        int words = grid.wallWords();
+        IntStream.range(0, words).parallel().forEach(word -> {
+            long bits = 0;
+            for (int bit = 0; bit < 64 && word * 64 + bit < open.length; bit++) {
+                if (!open[word * 64 + bit]) bits |= 1L << bit;
+            }
+            grid.setWallWord(word, bits);
+        });
+        return grid;
+    }
+
+    /*
+     * Random spanning tree over a width x height 4-connected grid of ids y * width + x
+     */
+    private static void spanningTree(int width, int height, MazeAlgorithm algorithm, SplittableRandom random, Carver carver) {
+        if (algorithm == MazeAlgorithm.PRIM) {
+            prim(width, height, random, carver);
+        } else {
+            recursiveBacktracker(width, height, random, carver);
+        }
+    }
+
+    /*
+     * Depth first walk to random unvisited neighbors, backing up at dead ends
+     */
+    private static void recursiveBacktracker(int width, int height, SplittableRandom random, Carver carver) {
+        boolean[] visited = new boolean[width * height];
+        int[] stack = new int[width * height];
+        int[] options = new int[4];
+        int top = 0;
+        stack[top++] = random.nextInt(width * height);
+        visited[stack[0]] = true;
+        while (top > 0) {
+            int current = stack[top - 1];
+            int x = current % width;
+            int y = current / width;
+            int count = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                if (nx >= 0 && ny >= 0 && nx < width && ny < height && !visited[ny * width + nx]) {
+                    options[count++] = ny * width + nx;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int next = options[random.nextInt(count)];
+            visited[next] = true;
+            carver.carve(current, next);
+            stack[top++] = next;
+        }
+    }
+
+    /*
+     * Randomized Prim: grow the tree through a uniformly random frontier edge at a time.
+     * Frontier edges are stored as from * 4 + direction.
+     */
+    private static void prim(int width, int height, SplittableRandom random, Carver carver) {
+        boolean[] inTree = new boolean[width * height];
+        int[] frontier = new int[16];
+        int start = random.nextInt(width * height);
+        inTree[start] = true;
+        int size = addFrontier(frontier, 0, start, width, height);
+        while (size > 0) {
+            int pick = random.nextInt(size);
+            int edge = frontier[pick];
+            frontier[pick] = frontier[--size];
+            int from = edge >> 2;
+            int to = (from / width + DY[edge & 3]) * width + from % width + DX[edge & 3];
+            if (inTree[to]) continue;
+            inTree[to] = true;
+            carver.carve(from, to);
+            frontier = growFrontier(frontier, size);
+            size = addFrontier(frontier, size, to, width, height);
+        }
+    }
+
+    private static int[] growFrontier(int[] frontier, int size) {
+        return size + 4 > frontier.length ? Arrays.copyOf(frontier, frontier.length * 2) : frontier;
+    }
+
+    private static int addFrontier(int[] frontier, int size, int id, int width, int height) {
+        int x = id % width;
+        int y = id / width;
+        for (int direction = 0; direction < 4; direction++) {
+            int nx = x + DX[direction];
+            int ny = y + DY[direction];
+            if (nx >= 0 && ny >= 0 && nx < width && ny < height) {
+                frontier[size++] = id * 4 + direction;
+            }
+        }
+        return size;
+    }
+
+    /*
+     * count distinct random points in a square with side 16 * ceil(sqrt(count)), each joined both
+     * ways to every point within the radius that gives averageDegree expected neighbors.
+     * Points are numbered in row major order.
+     */
+    public static CSRGraph<Location> randomGeometric(int count, double averageDegree, long seed) {
+        int side = 16 * (int) Math.ceil(Math.sqrt(count));
+        List<Location> points = randomPoints(count, side, seed);
+        double radius = side * Math.sqrt(averageDegree / (Math.PI * count));
+
+        SpatialIndex index = new SpatialIndex(points);
+        int[][] neighbors = new int[count][];
+        IntStream.range(0, count).parallel().forEach(i -> neighbors[i] = index.within(points.get(i), radius));
+        return build(points, neighbors);
+    }
+
+    /*
+     * Preferential attachment (Barabasi-Albert) graph: every vertex v > 0 attaches edgesPerVertex
+     * edges to earlier vertices picked with probability proportional to their degree, with
+     * self loops and repeated edges dropped. Vertices sit on distinct random grid points.
+     *
+     * Uses the edge list form of the model: edge e copies the endpoint in a uniformly random
+     * earlier slot of the list, and every draw is a hash of the seed and e, so all edges
+     * resolve independently in parallel.
+     * Every edge is stored in both directions, so count * edgesPerVertex can be at most
+     * Integer.MAX_VALUE / 2.
+     */
+    public static CSRGraph<Location> scaleFree(int count, int edgesPerVertex, long seed) {
+        long edges = (long) count * edgesPerVertex;
+        if (count < 0 || edgesPerVertex < 0 || edges > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException(count + " vertices with " + edgesPerVertex + " edges each are too many for int edge ids");
+        }
+        int side = (int) Math.ceil(Math.sqrt(count));
+        List<Location> points = shuffledGridPoints(count, side, seed);
+
+        int[] targets = new int[(int) edges];
+        IntStream.range(0, (int) edges).parallel().forEach(edge -> {
+            long slot = 2L * edge + 1;
+            while ((slot & 1) == 1) {
+                long copied = slot >> 1;
+                slot = Long.remainderUnsigned(mix(seed, copied), 2 * copied + 1);
+            }
+            targets[edge] = (int) (slot / 2 / edgesPerVertex);
+        });
+
+        int[] degrees = new int[count];
+        for (int edge = 0; edge < edges; edge++) {
+            int source = edge / edgesPerVertex;
+            if (source == targets[edge]) continue;
+            degrees[source]++;
+            degrees[targets[edge]]++;
+        }
+        int[][] neighbors = new int[count][];
+        for (int i = 0; i < count; i++) {
+            neighbors[i] = new int[degrees[i]];
+            degrees[i] = 0;
+        }
+        for (int edge = 0; edge < edges; edge++) {
+            int source = edge / edgesPerVertex;
+            int target = targets[edge];
+            if (source == target) continue;
+            neighbors[source][degrees[source]++] = target;
+            neighbors[target][degrees[target]++] = source;
+        }
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int[] row = neighbors[i];
+            Arrays.sort(row);
+            int unique = 0;
+            for (int j = 0; j < row.length; j++) {
+                if (j == 0 || row[j] != row[j - 1]) row[unique++] = row[j];
+            }
+            neighbors[i] = Arrays.copyOf(row, unique);
+        });
+        return build(points, neighbors);
+    }
+
+    /*
+     * SplitMix64 finalizer of seed and index, a reproducible random long per index
+     */
+    private static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * count distinct uniform points in a side x side square, sorted row major
+     */
+    private static List<Location> randomPoints(int count, int side, long seed) {
+        long[] keys = new long[0];
+        SplittableRandom root = new SplittableRandom(seed);
+        while (keys.length < count) {
+            int missing = count - keys.length;
+            int chunks = (missing + CHUNK - 1) / CHUNK;
+            SplittableRandom[] randoms = new SplittableRandom[chunks];
+            for (int i = 0; i < chunks; i++) {
+                randoms[i] = root.split();
+            }
+            long[] drawn = Arrays.copyOf(keys, count);
+            int offset = keys.length;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                for (int i = chunk * CHUNK; i < Math.min(missing, (chunk + 1) * CHUNK); i++) {
+                    drawn[offset + i] = (long) randoms[chunk].nextInt(side) * side + randoms[chunk].nextInt(side);
+                }
+            });
+            Arrays.parallelSort(drawn);
+            int unique = 0;
+            for (int i = 0; i < drawn.length; i++) {
+                if (i == 0 || drawn[i] != drawn[i - 1]) drawn[unique++] = drawn[i];
+            }
+            keys = Arrays.copyOf(drawn, unique);
+        }
+
+        List<Location> points = new ArrayList<>(count);
+        for (long key : keys) {
+            points.add(new Location((int) (key % side), (int) (key / side)));
+        }
+        return points;
+    }
+
+    /*
+     * The first count cells of a random permutation of a side x side grid
+     */
+    private static List<Location> shuffledGridPoints(int count, int side, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] cells = new int[side * side];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+        }
+        List<Location> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(cells.length - i);
+            int cell = cells[j];
+            cells[j] = cells[i];
+            points.add(new Location(cell % side, cell / side));
+        }
+        return points;
+    }
+
+    /*
+     * CSR graph over points with the given adjacency rows, weighted by distance
+     */
+    private static CSRGraph<Location> build(List<Location> points, int[][] neighbors) {
+        int[] offsets = new int[points.size() + 1];
+        for (int i = 0; i < points.size(); i++) {
+            offsets[i + 1] = offsets[i] + neighbors[i].length;
+        }
+        int[] targets = new int[offsets[points.size()]];
+        double[] weights = new double[targets.length];
+        IntStream.range(0, points.size()).parallel().forEach(i -> {
+            Location point = points.get(i);
+            for (int j = 0; j < neighbors[i].length; j++) {
+                targets[offsets[i] + j] = neighbors[i][j];
+                weights[offsets[i] + j] = point.distance(points.get(neighbors[i][j]));
+            }
+        });
+        return new CSRGraph<>(points, offsets, targets, weights);
+    }
+}
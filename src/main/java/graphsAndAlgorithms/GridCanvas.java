@@ -0,0 +1,286 @@
+package graphsAndAlgorithms;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+/*
+ * Draws a rows x cols grid of colored cells on a single Canvas.
+ *
+ * The cell colors are kept in a WritableImage with one pixel per cell. set() can be called from
+ * any thread: it only records the color and adds the cell to a dirty buffer. Once per pulse an
+ * AnimationTimer writes the dirty cells into the image and, if anything changed, draws the part
+ * of the image inside the viewport scaled to the zoom, plus grid lines once cells are big
+ * enough to show them. A frame costs the cells changed since the last one and one image draw,
+ * however big the grid is.
+ *
+ * Cells are addressed like GridGraph locations, x the column and y the row. Scrolling zooms
+ * around the mouse, dragging with the right or middle button pans.
+ */
+public class GridCanvas extends Region {
+    private static final double MAX_CELL_SIZE = 64;
+    private static final double GRID_LINES_FROM = 5;
+    private static final Color BACKGROUND = Color.GREY;
+
+    private final int rows;
+    private final int cols;
+    private final Canvas canvas;
+    private final WritableImage image;
+    private final PixelWriter writer;
+    private final AnimationTimer timer;
+
+    /* Written under the lock by set() and clear(), read under it by the pulse */
+    private final int[] colors;
+    private final long[] dirtyBits;
+    private int[] dirty;
+    private int dirtyCount;
+    private boolean rewrite;
+
+    private boolean redraw;
+    private boolean fitPending;
+    private double cellSize;
+    private double offsetX;
+    private double offsetY;
+    private double dragX;
+    private double dragY;
+    private Consumer<Location> onCellClicked;
+
+    public GridCanvas(int rows, int cols, double cellSize) {
+        this.rows = rows;
+        this.cols = cols;
+        this.canvas = new Canvas();
+        this.image = new WritableImage(cols, rows);
+        this.writer = this.image.getPixelWriter();
+        this.colors = new int[rows * cols];
+        this.dirtyBits = new long[(rows * cols + 63) >>> 6];
+        this.dirty = new int[64];
+        this.cellSize = cellSize;
+        this.fitPending = true;
+        this.getChildren().add(this.canvas);
+
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                GridCanvas.this.pulse();
+            }
+        };
+        this.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (scene == null) {
+                this.timer.stop();
+            } else {
+                this.timer.start();
+            }
+        });
+
+        this.setOnScroll(eh -> {
+            double factor = Math.pow(1.1, eh.getDeltaY() / 40);
+            this.zoom(this.cellSize * factor, eh.getX(), eh.getY());
+        });
+        this.setOnMousePressed(eh -> {
+            this.dragX = eh.getX();
+            this.dragY = eh.getY();
+        });
+        this.setOnMouseDragged(eh -> {
+            if (eh.getButton() == MouseButton.PRIMARY) return;
+            this.offsetX += eh.getX() - this.dragX;
+            this.offsetY += eh.getY() - this.dragY;
+            this.dragX = eh.getX();
+            this.dragY = eh.getY();
+            this.redraw = true;
+        });
+        this.setOnMouseClicked(eh -> {
+            if (eh.getButton() != MouseButton.PRIMARY || !eh.isStillSincePress()) return;
+            Location cell = this.cellAt(eh.getX(), eh.getY());
+            if (cell != null && this.onCellClicked != null) this.onCellClicked.accept(cell);
+        });
+    }
+
+    public static int argb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24
+            | (int) Math.round(color.getRed() * 255) << 16
+            | (int) Math.round(color.getGreen() * 255) << 8
+            | (int) Math.round(color.getBlue() * 255);
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getCols() {
+        return this.cols;
+    }
+
+    public void setOnCellClicked(Consumer<Location> onCellClicked) {
+        this.onCellClicked = onCellClicked;
+    }
+
+    /*
+     * Color the cell at location, drawn on the next pulse
+     */
+    public void set(Location location, int argb) {
+        int id = location.getY() * this.cols + location.getX();
+        synchronized (this.colors) {
+            this.colors[id] = argb;
+            if ((this.dirtyBits[id >>> 6] & (1L << id)) != 0 || this.rewrite) return;
+            this.dirtyBits[id >>> 6] |= 1L << id;
+            if (this.dirtyCount == this.dirty.length) this.dirty = Arrays.copyOf(this.dirty, this.dirtyCount * 2);
+            this.dirty[this.dirtyCount++] = id;
+        }
+    }
+
+    /*
+     * Color every cell
+     */
+    public void clear(int argb) {
+        synchronized (this.colors) {
+            Arrays.fill(this.colors, argb);
+            this.rewrite = true;
+        }
+    }
+
+    /*
+     * Pixels per cell, set around the top left corner of the viewport
+     */
+    public void setCellSize(double cellSize) {
+        this.zoom(cellSize, 0, 0);
+    }
+
+    /*
+     * Zoom so the whole grid fits the viewport, centered, at the next layout
+     */
+    public void fit() {
+        this.fitPending = true;
+        this.requestLayout();
+    }
+
+    private void fitNow() {
+        double width = this.canvas.getWidth();
+        double height = this.canvas.getHeight();
+        if (width <= 0 || height <= 0) return;
+        this.cellSize = Math.min(MAX_CELL_SIZE, Math.min(width / this.cols, height / this.rows));
+        this.offsetX = (width - this.cols * this.cellSize) / 2;
+        this.offsetY = (height - this.rows * this.cellSize) / 2;
+        this.redraw = true;
+    }
+
+    /*
+     * Cell under the point x, y of the viewport, null if there is none
+     */
+    public Location cellAt(double x, double y) {
+        int col = (int) Math.floor((x - this.offsetX) / this.cellSize);
+        int row = (int) Math.floor((y - this.offsetY) / this.cellSize);
+        if (col < 0 || row < 0 || col >= this.cols || row >= this.rows) return null;
+        return new Location(col, row);
+    }
+
+    /*
+     * Change the cell size keeping the point x, y of the viewport over the same spot of the grid.
+     * Zooming out stops once the whole grid fits in the viewport.
+     */
+    private void zoom(double cellSize, double x, double y) {
+        double fitSize = Math.min(this.canvas.getWidth() / this.cols, this.canvas.getHeight() / this.rows);
+        double size = Math.max(Math.min(cellSize, MAX_CELL_SIZE), Math.min(fitSize, this.cellSize));
+        if (size <= 0) return;
+        this.offsetX = x - (x - this.offsetX) * size / this.cellSize;
+        this.offsetY = y - (y - this.offsetY) * size / this.cellSize;
+        this.cellSize = size;
+        this.redraw = true;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = this.getWidth();
+        double height = this.getHeight();
+        if (width != this.canvas.getWidth() || height != this.canvas.getHeight()) {
+            this.canvas.setWidth(width);
+            this.canvas.setHeight(height);
+            this.redraw = true;
+        }
+        if (this.fitPending && width > 0 && height > 0) {
+            this.fitPending = false;
+            this.fitNow();
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return this.cols * this.cellSize;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return this.rows * this.cellSize;
+    }
+
+    /*
+     * Write the cells changed since the last pulse into the image, then draw if anything changed
+     */
+    private void pulse() {
+        synchronized (this.colors) {
+            if (this.rewrite) {
+                this.writer.setPixels(0, 0, this.cols, this.rows, PixelFormat.getIntArgbInstance(), this.colors, 0, this.cols);
+                this.rewrite = false;
+                this.redraw = true;
+                Arrays.fill(this.dirtyBits, 0);
+            } else {
+                for (int i = 0; i < this.dirtyCount; i++) {
+                    int id = this.dirty[i];
+                    this.writer.setArgb(id % this.cols, id / this.cols, this.colors[id]);
+                    this.dirtyBits[id >>> 6] &= ~(1L << id);
+                }
+                this.redraw |= this.dirtyCount > 0;
+            }
+            this.dirtyCount = 0;
+        }
+        if (this.redraw) {
+            this.redraw = false;
+            this.draw();
+        }
+    }
+
+    /*
+     * Draw the cells inside the viewport, culling the rest of the grid
+     */
+    private void draw() {
+        GraphicsContext g = this.canvas.getGraphicsContext2D();
+        double width = this.canvas.getWidth();
+        double height = this.canvas.getHeight();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+
+        int firstCol = Math.max(0, (int) Math.floor(-this.offsetX / this.cellSize));
+        int firstRow = Math.max(0, (int) Math.floor(-this.offsetY / this.cellSize));
+        int lastCol = Math.min(this.cols, (int) Math.ceil((width - this.offsetX) / this.cellSize));
+        int lastRow = Math.min(this.rows, (int) Math.ceil((height - this.offsetY) / this.cellSize));
+        if (firstCol >= lastCol || firstRow >= lastRow) return;
+
+        double left = this.offsetX + firstCol * this.cellSize;
+        double top = this.offsetY + firstRow * this.cellSize;
+        double right = this.offsetX + lastCol * this.cellSize;
+        double bottom = this.offsetY + lastRow * this.cellSize;
+        g.setImageSmoothing(false);
+        g.drawImage(this.image, firstCol, firstRow, lastCol - firstCol, lastRow - firstRow, left, top, right - left, bottom - top);
+
+        if (this.cellSize >= GRID_LINES_FROM) {
+            g.setStroke(BACKGROUND);
+            g.setLineWidth(1);
+            for (int col = firstCol; col <= lastCol; col++) {
+                double x = Math.floor(this.offsetX + col * this.cellSize) + 0.5;
+                g.strokeLine(x, top, x, bottom);
+            }
+            for (int row = firstRow; row <= lastRow; row++) {
+                double y = Math.floor(this.offsetY + row * this.cellSize) + 0.5;
+                g.strokeLine(left, y, right, y);
+            }
+        }
+    }
+}
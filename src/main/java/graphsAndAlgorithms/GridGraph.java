@@ -1,9 +1,11 @@
 package graphsAndAlgorithms;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 public class GridGraph extends WAdjacencyGraph<Location>{
     private final int rows;
@@ -18,12 +20,16 @@ public class GridGraph extends WAdjacencyGraph<Location>{
     @Override
     public void add(Location value) {
         if (this.contains(value)) return;
-        this.vertices.put(value, new GridVertex(value));
+        this.register(new GridVertex(value));
     }
 
     public void add(GridVertex vertex) {
         if (this.contains(vertex.getValue())) return;
-        this.vertices.put(vertex.getValue(), vertex);
+        this.register(vertex);
+    }
+
+    public GridVertex getGridVertex(Location location) {
+        return (GridVertex) this.vertices.get(location);
     }
 
     public int getRows() {
@@ -34,6 +40,16 @@ public class GridGraph extends WAdjacencyGraph<Location>{
         return this.cols;
     }
 
+    /*
+     * Number the snapshot's vertices in row major order so neighboring cells stay close in memory
+     */
+    @Override
+    public CSRGraph<Location> freeze() {
+        List<Location> order = new ArrayList<>(this.vertices.keySet());
+        order.sort(Comparator.comparingInt(Location::getY).thenComparingInt(Location::getX));
+        return new CSRGraph<>(this.vertices, order);
+    }
+
     public static GridGraph makeFullGridGraph(int rows, int cols) {
         GridGraph graph = new GridGraph(rows, cols);
         for (int y = 0; y < rows; y++) {
@@ -52,31 +68,38 @@ public class GridGraph extends WAdjacencyGraph<Location>{
      * Connect each point to closest 3 neighbors with a weight that equals the distance between the points
      */
     public static GridGraph makeRandomGridGraph(int size) {
+        return makeRandomGridGraph(size, 3);
+    }
+
+    /*
+     * Create size random points within a size x size grid
+     * Connect each point to its closest k neighbors with a weight that equals the distance between the points
+     */
+    public static GridGraph makeRandomGridGraph(int size, int k) {
+        return makeRandomGridGraph(size, k, new SplittableRandom().nextLong());
+    }
+
+    /*
+     * Same as makeRandomGridGraph(size, k), reproducible from seed
+     */
+    public static GridGraph makeRandomGridGraph(int size, int k, long seed) {
         GridGraph graph = new GridGraph(size, size);
-        Set<Location> points = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Location> points = new LinkedHashSet<>();
         while (points.size() < size) {
-            int x = (int)(Math.random() * size);
-            int y = (int)(Math.random() * size);
-            Location point = new Location(x, y);
-            if (points.contains(point)) continue;
-            points.add(point);
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            points.add(new Location(x, y));
         }
 
         for (Location point : points) {
             graph.add(point);
         }
 
+        SpatialIndex index = new SpatialIndex(points);
         for (Location point : points) {
-            List<Path<Location>> distances = new ArrayList<>();
-            for (Location other : points) {
-                if (point.equals(other)) continue;
-                Path<Location> path = new Path<>();
-                path.addLast(other, point.distance(other));
-                distances.add(path);
-            }
-            distances.sort((a, b) -> Double.compare(a.distance, b.distance));
-            for (int i = 0; i < 3; i++) {
-                graph.connect_undirected(point, distances.get(i).path.get(0), distances.get(i).distance);
+            for (Location neighbor : index.nearest(point, k)) {
+                graph.connect_undirected(point, neighbor, point.distance(neighbor));
             }
         }
         return graph;
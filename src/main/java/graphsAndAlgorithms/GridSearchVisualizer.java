@@ -0,0 +1,64 @@
+package graphsAndAlgorithms;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * Opt-in visualization for searches on a GridGraph.
+ * Records each event in the GridVertex status, notifies the observers and paces the
+ * search with delay ms per visited vertex and 10 ms per path vertex. Both delays can be set
+ * to 0 when the caller paces the search itself, e.g. by stepping a SearchSession.
+ */
+public class GridSearchVisualizer implements SearchListener<Location> {
+    private static final long PATH_DELAY = 10; // ms
+
+    private final GridGraph graph;
+    private final Set<SearchAlgorithmObserver> observers;
+    private long delay;
+    private long pathDelay;
+
+    public GridSearchVisualizer(GridGraph graph) {
+        this.graph = graph;
+        this.observers = new HashSet<>();
+        this.delay = 0l;
+        this.pathDelay = PATH_DELAY;
+    }
+
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    public void setPathDelay(long pathDelay) {
+        this.pathDelay = pathDelay;
+    }
+
+    public void registerObserver(SearchAlgorithmObserver observer) {
+        this.observers.add(observer);
+    }
+
+    public void notifyObservers(Location location) {
+        for (SearchAlgorithmObserver observer : this.observers) {
+            observer.squareUpdated(location);
+        }
+    }
+
+    @Override
+    public void vertexQueued(Location value) {
+        this.graph.getGridVertex(value).setQueued();
+        this.notifyObservers(value);
+    }
+
+    @Override
+    public void vertexVisited(Location value) {
+        this.graph.getGridVertex(value).setVisited();
+        this.notifyObservers(value);
+        if (this.delay > 0) try { Thread.sleep(this.delay); } catch (InterruptedException e) {}
+    }
+
+    @Override
+    public void vertexOnPath(Location value) {
+        this.graph.getGridVertex(value).setPath();
+        this.notifyObservers(value);
+        if (this.pathDelay > 0) try { Thread.sleep(this.pathDelay); } catch (InterruptedException e) {}
+    }
+}
@@ -0,0 +1,17 @@
+package graphsAndAlgorithms;
+
+/*
+ * Lower bound on the distance between two vertex ids of an IndexedGraph, for A*.
+ * It should never overestimate, and never drop by more than an edge's weight along that edge
+ * (consistency), or searches that close vertices can return longer paths.
+ */
+public interface Heuristic {
+    double estimate(int from, int to);
+
+    /*
+     * Straight line distance between the two vertices' values, the estimate AStar uses
+     */
+    static <T extends Distancable<T>> Heuristic straightLine(IndexedGraph<T> graph) {
+        return (from, to) -> graph.valueOf(from).distance(graph.valueOf(to));
+    }
+}
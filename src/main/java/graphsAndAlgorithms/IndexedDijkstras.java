@@ -0,0 +1,165 @@
+package graphsAndAlgorithms;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/*
+ * Dijkstra's algorithm on the int ids of an IndexedGraph such as a CSRGraph snapshot, or A*
+ * when given a Heuristic such as Landmarks.
+ * Distances, predecessors and the heap live in a SearchWorkspace owned by the engine,
+ * so distance(source, target) allocates nothing and only touches the vertices it settles.
+ * An engine holds per query state and must not be shared between threads.
+ */
+public class IndexedDijkstras<T> {
+    private final IndexedGraph<T> graph;
+    private final SearchWorkspace workspace;
+    private final Heuristic heuristic;
+    private int expansions;
+
+    public IndexedDijkstras(IndexedGraph<T> graph) {
+        this(graph, null);
+    }
+
+    public IndexedDijkstras(IndexedGraph<T> graph, Heuristic heuristic) {
+        this.graph = graph;
+        this.workspace = new SearchWorkspace(graph.size());
+        this.heuristic = heuristic;
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    /*
+     * Returns the shortest distance from source to target, or infinity if target is unreachable.
+     * The path can then be read back through predecessor().
+     */
+    public double distance(int source, int target) {
+        this.expansions = search(this.graph, this.workspace, source, target, null, 0, this.heuristic, null);
+        return this.workspace.distance(target);
+    }
+
+    /*
+     * Predecessor of id on the last query's shortest path tree, -1 for the source
+     */
+    public int predecessor(int id) {
+        return this.workspace.predecessor(id);
+    }
+
+    /*
+     * Number of vertices the last query settled
+     */
+    public int getExpansions() {
+        return this.expansions;
+    }
+
+    public Path<T> findPath(T start, T end) {
+        int startId = this.graph.indexOf(start);
+        int endId = this.graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        double distance = this.distance(startId, endId);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        Path<T> path = new Path<>();
+        for (int current = endId; current != -1; current = this.workspace.predecessor(current)) {
+            path.path.add(this.graph.valueOf(current));
+        }
+        Collections.reverse(path.path);
+        path.distance = distance;
+        return path;
+    }
+
+    /*
+     * Shortest paths from source to every vertex it reaches, see ShortestPathTree
+     */
+    public ShortestPathTree<T> shortestPathTree(T source) {
+        return this.shortestPathTree(source, null);
+    }
+
+    /*
+     * Shortest paths from source, stopping once every target in the graph is settled. One
+     * traversal answers all the targets instead of one findPath() per target. The heuristic
+     * is not used, there being no single end to aim at. Returns null if source is not in graph.
+     */
+    public ShortestPathTree<T> shortestPathTree(T source, Collection<T> targets) {
+        int sourceId = this.graph.indexOf(source);
+        if (sourceId < 0) {
+            return null;
+        }
+        ShortestPathTree<T> tree = shortestPathTree(this.graph, this.workspace, sourceId, targets);
+        this.expansions = tree.getSettled();
+        return tree;
+    }
+
+    /*
+     * shortestPathTree() on a given workspace, for callers such as QueryEngine that search from
+     * several threads at once with one workspace each
+     */
+    static <T> ShortestPathTree<T> shortestPathTree(IndexedGraph<T> graph, SearchWorkspace workspace, int source, Collection<T> targets) {
+        long[] targetBits = null;
+        int remaining = 0;
+        if (targets != null) {
+            targetBits = new long[(graph.size() + 63) >>> 6];
+            remaining = ShortestPathTree.markTargets(graph, targets, targetBits);
+        }
+        workspace.begin(graph.size());
+        int[] order = workspace.queue();
+        int settled = search(graph, workspace, source, -1, targetBits, remaining, null, order);
+        return new ShortestPathTree<>(graph, source, workspace, order, settled, false);
+    }
+
+    /*
+     * The Dijkstra loop behind the searches on an IndexedGraph. Begins workspace and settles
+     * vertices from source in order of distance, plus heuristic's estimate to target when a
+     * heuristic is given, with ties going to the larger distance. Stops once target is settled
+     * (-1 for no single target), once the last remaining of the ids set in targets is, or when
+     * everything reachable is. Writes the settled ids into order if it is not null, and returns
+     * how many were settled.
+     */
+    static int search(IndexedGraph<?> graph, SearchWorkspace workspace, int source, int target, long[] targets, int remaining, Heuristic heuristic, int[] order) {
+        workspace.begin(graph.size());
+        IndexedMinHeap heap = workspace.heap();
+        workspace.reach(source, 0, -1);
+        heap.offer(source, heuristic == null ? 0 : heuristic.estimate(source, target), 0);
+
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            workspace.close(current);
+            if (order != null) {
+                order[settled] = current;
+            }
+            settled++;
+
+            if (current == target) {
+                break;
+            }
+            if (targets != null) {
+                if ((targets[current >>> 6] & (1L << current)) != 0) {
+                    remaining--;
+                }
+                if (remaining <= 0) {
+                    break;
+                }
+            }
+
+            double currentDistance = workspace.distance(current);
+            int end = graph.edgeEnd(current);
+            for (int edge = graph.edgeStart(current); edge < end; edge++) {
+                int neighbor = graph.edgeTarget(edge);
+                if (neighbor < 0 || workspace.isClosed(neighbor)) {
+                    continue;
+                }
+                double newDistance = currentDistance + graph.edgeWeight(edge);
+                if (newDistance < workspace.distance(neighbor)) {
+                    workspace.reach(neighbor, newDistance, current);
+                    heap.offer(neighbor, heuristic == null ? newDistance : newDistance + heuristic.estimate(neighbor, target), newDistance);
+                }
+            }
+        }
+        return settled;
+    }
+}
@@ -0,0 +1,26 @@
+package graphsAndAlgorithms;
+
+/*
+ * Read only graph over dense int ids 0 to size() - 1, the form the array based search
+ * engines run on.
+ * The outgoing edges of vertex v are the slots edgeStart(v) (inclusive) to edgeEnd(v)
+ * (exclusive). Implicit graphs may leave slots empty, in which case edgeTarget returns -1.
+ */
+public interface IndexedGraph<E> {
+    int size();
+
+    /*
+     * Returns the id of value, or -1 if it is not in the graph.
+     */
+    int indexOf(E value);
+    E valueOf(int id);
+    int edgeStart(int id);
+    int edgeEnd(int id);
+    int edgeTarget(int edge);
+    double edgeWeight(int edge);
+
+    /*
+     * Same vertices with every edge reversed
+     */
+    IndexedGraph<E> reverse();
+}
@@ -0,0 +1,186 @@
+package graphsAndAlgorithms;
+
+import java.util.Arrays;
+
+/*
+ * 4-ary min heap over the int ids 0 to capacity - 1 that supports decrease-key.
+ * Each id is in the heap at most once, so no stale entries pile up, and nothing is
+ * allocated after construction.
+ * Ids with equal keys come out larger tie first (A* passes g so deeper nodes win ties).
+ */
+public class IndexedMinHeap {
+    private static final int ARITY = 4;
+
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private final double[] ties;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        this.ties = new double[capacity];
+        this.size = 0;
+        Arrays.fill(this.positions, -1);
+    }
+
+    public int capacity() {
+        return this.heap.length;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int id) {
+        return this.positions[id] != -1;
+    }
+
+    public double key(int id) {
+        return this.keys[id];
+    }
+
+    public double tie(int id) {
+        return this.ties[id];
+    }
+
+    public boolean offer(int id, double key) {
+        return this.offer(id, key, 0);
+    }
+
+    /*
+     * Insert id with the given key and tie breaker, or move it up if it is already queued.
+     * Returns false if id is already queued with an entry that is not worse.
+     */
+    public boolean offer(int id, double key, double tie) {
+        int position = this.positions[id];
+        if (position == -1) {
+            position = this.size++;
+            this.heap[position] = id;
+            this.positions[id] = position;
+        } else if (key > this.keys[id] || (key == this.keys[id] && tie <= this.ties[id])) {
+            return false;
+        }
+        this.keys[id] = key;
+        this.ties[id] = tie;
+        this.siftUp(position);
+        return true;
+    }
+
+    /*
+     * Insert id or set its key and tie breaker, moving it up or down as needed
+     */
+    public void update(int id, double key, double tie) {
+        int position = this.positions[id];
+        if (position == -1) {
+            this.offer(id, key, tie);
+            return;
+        }
+        this.keys[id] = key;
+        this.ties[id] = tie;
+        this.siftUp(position);
+        this.siftDown(this.positions[id]);
+    }
+
+    /*
+     * Take id out of the heap if it is queued
+     */
+    public void remove(int id) {
+        int position = this.positions[id];
+        if (position == -1) {
+            return;
+        }
+        this.positions[id] = -1;
+        this.size--;
+        if (position < this.size) {
+            int last = this.heap[this.size];
+            this.heap[position] = last;
+            this.positions[last] = position;
+            this.siftUp(position);
+            this.siftDown(this.positions[last]);
+        }
+    }
+
+    public int peek() {
+        return this.heap[0];
+    }
+
+    public double peekKey() {
+        return this.keys[this.heap[0]];
+    }
+
+    public int poll() {
+        int top = this.heap[0];
+        this.positions[top] = -1;
+        this.size--;
+        if (this.size > 0) {
+            int last = this.heap[this.size];
+            this.heap[0] = last;
+            this.positions[last] = 0;
+            this.siftDown(0);
+        }
+        return top;
+    }
+
+    /*
+     * Empty the heap in time proportional to the number of ids still queued
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.positions[this.heap[i]] = -1;
+        }
+        this.size = 0;
+    }
+
+    private boolean before(int a, int b) {
+        return this.keys[a] < this.keys[b] || (this.keys[a] == this.keys[b] && this.ties[a] > this.ties[b]);
+    }
+
+    private void siftUp(int position) {
+        int id = this.heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) / ARITY;
+            int parent = this.heap[parentPosition];
+            if (!this.before(id, parent)) {
+                break;
+            }
+            this.heap[position] = parent;
+            this.positions[parent] = position;
+            position = parentPosition;
+        }
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = this.heap[position];
+        while (true) {
+            int firstChild = position * ARITY + 1;
+            if (firstChild >= this.size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + ARITY, this.size);
+            int bestPosition = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (this.before(this.heap[child], this.heap[bestPosition])) {
+                    bestPosition = child;
+                }
+            }
+            int best = this.heap[bestPosition];
+            if (!this.before(best, id)) {
+                break;
+            }
+            this.heap[position] = best;
+            this.positions[best] = position;
+            position = bestPosition;
+        }
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+}
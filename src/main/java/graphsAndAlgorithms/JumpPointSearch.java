@@ -0,0 +1,324 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Jump Point Search: A* over a uniform-cost GridGraph that only queues "jump points", the cells
+ * where a symmetric path has to turn, instead of every cell along straight runs.
+ *
+ * A cell is open if it is in the graph and still has edges (the GUI isolates wall cells), and
+ * every open cell is assumed to be connected to its open neighbors with cost 1.
+ * The 4-connected variant moves like the grid's own edges. The 8-connected variant also moves
+ * diagonally with cost sqrt(2), but never cuts a corner (both orthogonal cells must be open),
+ * so its paths can contain diagonal steps that are not edges of the GridGraph.
+ *
+ * precompute() builds a JPS+ table holding, for every cell and straight direction, the distance
+ * to the next jump point or wall. Straight scans then take O(1). The table is a snapshot of the
+ * walls, so call precompute() again (or clearPrecomputed()) after editing them.
+ */
+public class JumpPointSearch extends SearchAlgorithm<Location> {
+    private static final double SQRT2 = Math.sqrt(2);
+
+    /*
+     * Directions worth jumping in from a jump point, indexed by the direction it was entered
+     * in, (dx + 1) * 3 + (dy + 1). Index 4 (no parent) is the start, which tries every direction.
+     */
+    private static final int[][][] PRUNED_STRAIGHT = new int[9][][];
+    private static final int[][][] PRUNED_DIAGONAL = new int[9][][];
+
+    static {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                int index = (dx + 1) * 3 + (dy + 1);
+                if (dx == 0 && dy == 0) {
+                    PRUNED_STRAIGHT[index] = new int[][] { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+                    PRUNED_DIAGONAL[index] = new int[][] {
+                        { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 }, { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 }
+                    };
+                } else if (dx != 0 && dy != 0) {
+                    PRUNED_DIAGONAL[index] = new int[][] { { dx, 0 }, { 0, dy }, { dx, dy } };
+                } else if (dx != 0) {
+                    PRUNED_STRAIGHT[index] = new int[][] { { dx, 0 }, { 0, 1 }, { 0, -1 } };
+                    PRUNED_DIAGONAL[index] = new int[][] { { dx, 0 }, { 0, 1 }, { 0, -1 }, { dx, 1 }, { dx, -1 } };
+                } else {
+                    PRUNED_STRAIGHT[index] = new int[][] { { 0, dy }, { 1, 0 }, { -1, 0 } };
+                    PRUNED_DIAGONAL[index] = new int[][] { { 0, dy }, { 1, 0 }, { -1, 0 }, { 1, dy }, { -1, dy } };
+                }
+            }
+        }
+    }
+
+    private final boolean diagonal;
+    private final int width;
+    private final int height;
+    private final GridVertex[] cells;
+    private int[][] jumps;
+
+    private int goalX;
+    private int goalY;
+
+    public JumpPointSearch(GridGraph graph) {
+        this(graph, false);
+    }
+
+    public JumpPointSearch(GridGraph graph, boolean diagonal) {
+        super(graph);
+        this.diagonal = diagonal;
+
+        int maxX = -1;
+        int maxY = -1;
+        for (Location location : graph.vertices.keySet()) {
+            maxX = Math.max(maxX, location.getX());
+            maxY = Math.max(maxY, location.getY());
+        }
+        this.width = maxX + 1;
+        this.height = maxY + 1;
+        this.cells = new GridVertex[this.width * this.height];
+        for (Location location : graph.vertices.keySet()) {
+            if (location.getX() >= 0 && location.getY() >= 0) {
+                this.cells[location.getY() * this.width + location.getX()] = graph.getGridVertex(location);
+            }
+        }
+        this.jumps = null;
+    }
+
+    public boolean isDiagonal() {
+        return this.diagonal;
+    }
+
+    private boolean open(int x, int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) return false;
+        GridVertex cell = this.cells[y * this.width + x];
+        return cell != null && !cell.getNeighbors().isEmpty();
+    }
+
+    private boolean forced(int x, int y, int dx, int dy) {
+        if (dx != 0) {
+            return (this.open(x, y - 1) && !this.open(x - dx, y - 1)) || (this.open(x, y + 1) && !this.open(x - dx, y + 1));
+        }
+        return (this.open(x - 1, y) && !this.open(x - 1, y - dy)) || (this.open(x + 1, y) && !this.open(x + 1, y - dy));
+    }
+
+    private static int direction(int dx, int dy) {
+        if (dx == 1) return 0;
+        if (dx == -1) return 1;
+        if (dy == 1) return 2;
+        return 3;
+    }
+
+    private double heuristic(int x, int y) {
+        int dx = Math.abs(x - this.goalX);
+        int dy = Math.abs(y - this.goalY);
+        if (!this.diagonal) return dx + dy;
+        return Math.max(dx, dy) + (SQRT2 - 1) * Math.min(dx, dy);
+    }
+
+    /*
+     * Build the JPS+ straight jump table from the current walls.
+     * Entry n > 0: the next jump point is n steps away. Entry n <= 0: -n open steps, then a wall.
+     */
+    public void precompute() {
+        int[][] jumps = new int[4][this.width * this.height];
+        for (int y = 0; y < this.height; y++) {
+            for (int x = this.width - 1; x >= 0; x--) {
+                jumps[0][y * this.width + x] = this.scanStep(jumps[0], x + 1, y, 1, 0, null);
+            }
+            for (int x = 0; x < this.width; x++) {
+                jumps[1][y * this.width + x] = this.scanStep(jumps[1], x - 1, y, -1, 0, null);
+            }
+        }
+        for (int x = 0; x < this.width; x++) {
+            for (int y = this.height - 1; y >= 0; y--) {
+                jumps[2][y * this.width + x] = this.scanStep(jumps[2], x, y + 1, 0, 1, jumps);
+            }
+            for (int y = 0; y < this.height; y++) {
+                jumps[3][y * this.width + x] = this.scanStep(jumps[3], x, y - 1, 0, -1, jumps);
+            }
+        }
+        this.jumps = jumps;
+    }
+
+    public void clearPrecomputed() {
+        this.jumps = null;
+    }
+
+    private int scanStep(int[] table, int x, int y, int dx, int dy, int[][] horizontal) {
+        if (!this.open(x, y)) return 0;
+        int id = y * this.width + x;
+        boolean jumpPoint = this.forced(x, y, dx, dy);
+        if (!jumpPoint && !this.diagonal && dy != 0) {
+            jumpPoint = horizontal[0][id] > 0 || horizontal[1][id] > 0;
+        }
+        if (jumpPoint) return 1;
+        int next = table[id];
+        return next > 0 ? next + 1 : next - 1;
+    }
+
+    /*
+     * Jump from (x, y) in a straight direction, returning the id of the jump point or -1
+     */
+    private int jumpStraight(int x, int y, int dx, int dy) {
+        if (this.jumps != null) {
+            return this.jumpStraightPrecomputed(x, y, dx, dy);
+        }
+        while (true) {
+            x += dx;
+            y += dy;
+            if (!this.open(x, y)) return -1;
+            if (x == this.goalX && y == this.goalY) return y * this.width + x;
+            if (this.forced(x, y, dx, dy)) return y * this.width + x;
+            if (!this.diagonal && dy != 0) {
+                if (this.jumpStraight(x, y, 1, 0) != -1 || this.jumpStraight(x, y, -1, 0) != -1) {
+                    return y * this.width + x;
+                }
+            }
+        }
+    }
+
+    private int jumpStraightPrecomputed(int x, int y, int dx, int dy) {
+        int n = this.jumps[direction(dx, dy)][y * this.width + x];
+        int reach = n > 0 ? n : -n;
+        int goalSteps = dx != 0 ? (this.goalX - x) * dx : (this.goalY - y) * dy;
+        boolean onRay = dx != 0 ? this.goalY == y : this.goalX == x;
+        if (onRay && goalSteps >= 1 && goalSteps <= reach) {
+            return this.goalY * this.width + this.goalX;
+        }
+        if (!this.diagonal && dy != 0 && goalSteps >= 1 && goalSteps <= reach && (n <= 0 || goalSteps < n)) {
+            int turnId = this.goalY * this.width + x;
+            int turnDx = this.goalX > x ? 1 : -1;
+            int turnReach = this.jumps[direction(turnDx, 0)][turnId];
+            if (turnReach <= 0 && Math.abs(this.goalX - x) <= -turnReach) {
+                return turnId;
+            }
+        }
+        return n > 0 ? (y + n * dy) * this.width + x + n * dx : -1;
+    }
+
+    private int jumpDiagonal(int x, int y, int dx, int dy) {
+        while (true) {
+            if (!this.open(x + dx, y) || !this.open(x, y + dy)) return -1;
+            x += dx;
+            y += dy;
+            if (!this.open(x, y)) return -1;
+            if (x == this.goalX && y == this.goalY) return y * this.width + x;
+            if (this.jumpStraight(x, y, dx, 0) != -1 || this.jumpStraight(x, y, 0, dy) != -1) {
+                return y * this.width + x;
+            }
+        }
+    }
+
+    @Override
+    public Path<WVertex<Location>> findPath(Location start, Location end) {
+        return this.run(new Session(start, end, SearchWorkspace.forThread(this.cells.length)));
+    }
+
+    @Override
+    public SearchSession<Location> session(Location start, Location end) {
+        return new Session(start, end, new SearchWorkspace(this.cells.length));
+    }
+
+    /*
+     * One jump point expanded per step. The jumps read the goal from the algorithm, so each
+     * step sets it to this session's end before expanding.
+     */
+    private class Session extends SearchSession<Location> {
+        private final int endX;
+        private final int endY;
+        private final int endId;
+        private final SearchWorkspace workspace;
+        private final IndexedMinHeap heap;
+
+        Session(Location start, Location end, SearchWorkspace workspace) {
+            super(JumpPointSearch.this.listener);
+            JumpPointSearch search = JumpPointSearch.this;
+            this.endX = end.getX();
+            this.endY = end.getY();
+            this.endId = this.endY * search.width + this.endX;
+            this.workspace = workspace;
+            this.heap = workspace.heap();
+            if (!search.graph.contains(start) || !search.graph.contains(end)) {
+                this.finish(null);
+                return;
+            }
+            search.goalX = this.endX;
+            search.goalY = this.endY;
+            int startId = start.getY() * search.width + start.getX();
+            workspace.reach(startId, 0, -1);
+            this.heap.offer(startId, search.heuristic(start.getX(), start.getY()), 0);
+        }
+
+        @Override
+        protected void expand() {
+            JumpPointSearch search = JumpPointSearch.this;
+            search.goalX = this.endX;
+            search.goalY = this.endY;
+            SearchWorkspace workspace = this.workspace;
+            if (this.heap.isEmpty()) {
+                this.finish(null);
+                return;
+            }
+
+            int current = this.heap.poll();
+            workspace.close(current);
+            this.visited(search.cells[current].getValue());
+            if (current == this.endId) {
+                this.finish(this.tracePath());
+                return;
+            }
+
+            int x = current % search.width;
+            int y = current / search.width;
+            int parent = workspace.predecessor(current);
+            int entered = 4;
+            if (parent != -1) {
+                entered = (Integer.signum(x - parent % search.width) + 1) * 3 + Integer.signum(y - parent / search.width) + 1;
+            }
+            double currentDistance = workspace.distance(current);
+            for (int[] step : (search.diagonal ? PRUNED_DIAGONAL : PRUNED_STRAIGHT)[entered]) {
+                int dx = step[0];
+                int dy = step[1];
+                int jumpPoint = dx != 0 && dy != 0 ? search.jumpDiagonal(x, y, dx, dy) : search.jumpStraight(x, y, dx, dy);
+                if (jumpPoint == -1 || workspace.isClosed(jumpPoint)) {
+                    continue;
+                }
+                int jx = jumpPoint % search.width;
+                int jy = jumpPoint / search.width;
+                int steps = Math.max(Math.abs(jx - x), Math.abs(jy - y));
+                double newDistance = currentDistance + (dx != 0 && dy != 0 ? steps * SQRT2 : steps);
+                if (newDistance < workspace.distance(jumpPoint)) {
+                    workspace.reach(jumpPoint, newDistance, current);
+                    this.heap.offer(jumpPoint, newDistance + search.heuristic(jx, jy), newDistance);
+                    this.queued(search.cells[jumpPoint].getValue());
+                }
+            }
+        }
+
+        /*
+         * Jump points back to the start, filling in the straight or diagonal runs between them
+         */
+        private Path<WVertex<Location>> tracePath() {
+            JumpPointSearch search = JumpPointSearch.this;
+            List<WVertex<Location>> pathList = new ArrayList<>();
+            pathList.add(search.cells[this.endId]);
+            for (int current = this.endId; this.workspace.predecessor(current) != -1; current = this.workspace.predecessor(current)) {
+                int parent = this.workspace.predecessor(current);
+                int x = current % search.width;
+                int y = current / search.width;
+                int dx = Integer.signum(parent % search.width - x);
+                int dy = Integer.signum(parent / search.width - y);
+                while (y * search.width + x != parent) {
+                    x += dx;
+                    y += dy;
+                    pathList.add(search.cells[y * search.width + x]);
+                }
+            }
+            Collections.reverse(pathList);
+            for (WVertex<Location> vertex : pathList) {
+                this.onPath(vertex.getValue());
+            }
+            return new Path<>(pathList, this.workspace.distance(this.endId));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package graphsAndAlgorithms;
+
+/*
+ * A* guided by precomputed Landmarks instead of straight line distance, on the WAdjacencyGraph
+ * the landmarks' snapshot was frozen from. Estimates look the values up in the snapshot first;
+ * to search the snapshot itself, give the landmarks to IndexedDijkstras, which reads them by id.
+ */
+public class LandmarkAStar<T extends Distancable<T>> extends Dijkstras<T> {
+    private final Landmarks<T> landmarks;
+
+    public LandmarkAStar(WAdjacencyGraph<T> graph, Landmarks<T> landmarks) {
+        super(graph);
+        this.landmarks = landmarks;
+    }
+
+    public Landmarks<T> getLandmarks() {
+        return this.landmarks;
+    }
+
+    @Override
+    public double heuristic(T start, T end) {
+        return this.landmarks.estimate(start, end);
+    }
+}
@@ -0,0 +1,221 @@
+package graphsAndAlgorithms;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/*
+ * ALT heuristic (A*, landmarks, triangle inequality) for an IndexedGraph.
+ *
+ * For every landmark L the distances from L and to L are precomputed. The triangle inequality
+ * then gives d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L), and the estimate is
+ * the largest of these bounds. Unlike straight line distance this follows walls and works for
+ * graphs whose values have no geometry at all.
+ *
+ * Landmarks are picked one at a time, either FARTHEST (the vertex farthest from those already
+ * picked) or AVOID (the leaf of the shortest path subtree that the current landmarks cover
+ * worst, after Goldberg and Werneck). The tables to the landmarks are then filled in parallel.
+ * Tables are float[] arrays in vertex major order, so an estimate reads two short runs of
+ * memory. Estimates are lowered by a few float rounding steps to stay admissible.
+ */
+public class Landmarks<T> implements Heuristic {
+    public enum Selection { FARTHEST, AVOID }
+
+    private final IndexedGraph<T> graph;
+    private final int[] landmarks;
+    private final int count;
+    private final float[] from;
+    private final float[] to;
+    private double slack;
+
+    public Landmarks(IndexedGraph<T> graph, int count, Selection selection, long seed) {
+        this.graph = graph;
+        int size = graph.size();
+        this.count = Math.min(count, size);
+        this.landmarks = new int[this.count];
+        this.from = new float[size * this.count];
+        this.to = new float[size * this.count];
+        if (this.count == 0) return;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        SearchWorkspace workspace = new SearchWorkspace(size);
+        double[] closest = new double[size];
+        Arrays.fill(closest, Double.POSITIVE_INFINITY);
+        int[] order = new int[size];
+
+        /* The first landmark is the vertex farthest from the random start reaching the most */
+        int next = 0;
+        int reached = 0;
+        for (int tries = 0; tries < 8; tries++) {
+            int settled = this.dijkstra(graph, this.randomVertex(random, null), workspace, order);
+            if (settled > reached) {
+                reached = settled;
+                next = order[settled - 1];
+            }
+        }
+        for (int i = 0; i < this.count; i++) {
+            this.landmarks[i] = next;
+            this.dijkstra(graph, next, workspace, order);
+            this.store(this.from, i, workspace);
+            for (int v = 0; v < size; v++) {
+                closest[v] = Math.min(closest[v], workspace.distance(v));
+            }
+            if (i + 1 == this.count) break;
+            if (selection == Selection.AVOID) {
+                next = this.avoid(this.randomVertex(random, closest), i + 1, workspace, order, closest);
+            } else {
+                next = this.farthest(closest);
+            }
+        }
+
+        IndexedGraph<T> reverse = graph.reverse();
+        IntStream.range(0, this.count).parallel().forEach(i -> {
+            SearchWorkspace local = SearchWorkspace.forThread(size);
+            this.dijkstra(reverse, this.landmarks[i], local, new int[size]);
+            this.store(this.to, i, local);
+        });
+    }
+
+    public Landmarks(IndexedGraph<T> graph, int count) {
+        this(graph, count, Selection.AVOID, 0);
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public int[] getLandmarks() {
+        return this.landmarks.clone();
+    }
+
+    /*
+     * Full Dijkstra from source, writing the settle order into order and returning its length
+     */
+    private int dijkstra(IndexedGraph<T> graph, int source, SearchWorkspace workspace, int[] order) {
+        return IndexedDijkstras.search(graph, workspace, source, -1, null, 0, null, order);
+    }
+
+    /*
+     * Copy a finished search into column landmark of table, widening the rounding slack
+     */
+    private void store(float[] table, int landmark, SearchWorkspace workspace) {
+        float longest = 0;
+        for (int v = 0; v < this.graph.size(); v++) {
+            float distance = (float) workspace.distance(v);
+            table[v * this.count + landmark] = distance;
+            if (distance != Float.POSITIVE_INFINITY) longest = Math.max(longest, distance);
+        }
+        synchronized (this) {
+            this.slack = Math.max(this.slack, 4 * Math.ulp(longest));
+        }
+    }
+
+    /*
+     * Vertex farthest from every landmark so far among those the landmarks reach. Landmarks
+     * stay in the first landmark's component; chasing every small island of a grid with
+     * obstacles would waste them.
+     */
+    private int farthest(double[] closest) {
+        int best = this.landmarks[0];
+        for (int v = 0; v < closest.length; v++) {
+            if (closest[v] != Double.POSITIVE_INFINITY && closest[v] > closest[best]) best = v;
+        }
+        return best;
+    }
+
+    private boolean hasEdges(int v) {
+        for (int edge = this.graph.edgeStart(v); edge < this.graph.edgeEnd(v); edge++) {
+            if (this.graph.edgeTarget(edge) >= 0) return true;
+        }
+        return false;
+    }
+
+    /*
+     * Random vertex that has an edge and, given closest, is reached by the landmarks, if a
+     * few tries find one
+     */
+    private int randomVertex(SplittableRandom random, double[] closest) {
+        int v = random.nextInt(this.graph.size());
+        for (int tries = 0; tries < 256; tries++) {
+            if (this.hasEdges(v) && (closest == null || closest[v] != Double.POSITIVE_INFINITY)) break;
+            v = random.nextInt(this.graph.size());
+        }
+        return v;
+    }
+
+    /*
+     * Goldberg and Werneck's avoid: grow the shortest path tree of root, weigh each vertex by how
+     * much the current landmarks underestimate its distance from root, and walk from root into
+     * the heaviest subtree without a landmark down to a leaf.
+     */
+    private int avoid(int root, int chosen, SearchWorkspace workspace, int[] order, double[] closest) {
+        int size = this.graph.size();
+        int settled = this.dijkstra(this.graph, root, workspace, order);
+        double[] weight = new double[size];
+        boolean[] covered = new boolean[size];
+        for (int i = 0; i < chosen; i++) {
+            covered[this.landmarks[i]] = true;
+        }
+        for (int i = settled - 1; i >= 0; i--) {
+            int v = order[i];
+            double bound = 0;
+            for (int l = 0; l < chosen; l++) {
+                float a = this.from[v * this.count + l];
+                float b = this.from[root * this.count + l];
+                if (a != Float.POSITIVE_INFINITY && b != Float.POSITIVE_INFINITY) bound = Math.max(bound, a - b);
+            }
+            weight[v] += workspace.distance(v) - bound;
+            int parent = workspace.predecessor(v);
+            if (parent != -1) {
+                covered[parent] |= covered[v];
+                if (!covered[v]) weight[parent] += weight[v];
+            }
+        }
+
+        int[] heaviest = new int[size];
+        Arrays.fill(heaviest, -1);
+        for (int i = 1; i < settled; i++) {
+            int v = order[i];
+            int parent = workspace.predecessor(v);
+            if (covered[v]) continue;
+            if (heaviest[parent] == -1 || weight[v] > weight[heaviest[parent]]) heaviest[parent] = v;
+        }
+        int current = root;
+        while (heaviest[current] != -1) {
+            current = heaviest[current];
+        }
+        return covered[current] ? this.farthest(closest) : current;
+    }
+
+    /*
+     * Lower bound on the distance from id from to id to
+     */
+    @Override
+    public double estimate(int from, int to) {
+        double best = 0;
+        int v = from * this.count;
+        int t = to * this.count;
+        for (int i = 0; i < this.count; i++) {
+            float fromLandmarkToT = this.from[t + i];
+            float fromLandmarkToV = this.from[v + i];
+            if (fromLandmarkToT != Float.POSITIVE_INFINITY && fromLandmarkToV != Float.POSITIVE_INFINITY) {
+                best = Math.max(best, fromLandmarkToT - fromLandmarkToV);
+            }
+            float vToLandmark = this.to[v + i];
+            float tToLandmark = this.to[t + i];
+            if (vToLandmark != Float.POSITIVE_INFINITY && tToLandmark != Float.POSITIVE_INFINITY) {
+                best = Math.max(best, vToLandmark - tToLandmark);
+            }
+        }
+        return Math.max(0, best - this.slack);
+    }
+
+    /*
+     * estimate() by value, 0 if either value is not in the graph
+     */
+    public double estimate(T from, T to) {
+        int fromId = this.graph.indexOf(from);
+        int toId = this.graph.indexOf(to);
+        return fromId < 0 || toId < 0 ? 0 : this.estimate(fromId, toId);
+    }
+}
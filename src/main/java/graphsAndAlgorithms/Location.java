@@ -31,9 +31,14 @@ public class Location implements Distancable<Location> {
         return false;
     }
 
+    /*
+     * Both coordinates mixed through one multiply, as in MappedGraph's index, so neighboring
+     * cells of a large grid spread over the whole table instead of colliding along diagonals
+     */
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        long h = ((long) this.x << 32 | (this.y & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
     }
 
     @Override
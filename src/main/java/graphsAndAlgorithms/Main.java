@@ -2,7 +2,13 @@ package graphsAndAlgorithms;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
+/*
+ * Quick single shot timing of each search over one seeded random graph.
+ * For numbers worth comparing between versions use the JMH benchmarks in benchmarks/,
+ * which warm up, fork, report error bars and allocation per search.
+ */
 @SuppressWarnings("unused")
 public class Main {
     public static long timeSearchAlgorithm(SearchAlgorithm<Location> searchAlgorithm, Location start, Location end) {
@@ -25,27 +31,29 @@ public class Main {
     public static void main(String[] args) {
         int size = 10000;
         int runs = 1000;
+        long seed = 42;
+        SplittableRandom random = new SplittableRandom(seed);
 
         System.out.println("Creating Grid Graph with " + size + " vertices...");
         long t1 = System.nanoTime();
-        GridGraph graph = GridGraph.makeRandomGridGraph(size);
+        GridGraph graph = GridGraph.makeRandomGridGraph(size, 3, seed);
         long t2 = System.nanoTime();
         System.out.println("Created in " + round((t2 - t1) / 1000000000.0, 4) + "s\n");
 
         System.out.println("Finding " + runs + " random start and end pairs...");
-        List<Location> vertices = new ArrayList<>(graph.vertices.keySet());
-        Location[][] randomPoints = new Location[size][2];
+        List<Location> vertices = new ArrayList<>();
+        for (int i = 0; i < graph.size(); i++) {
+            vertices.add(graph.vertexAt(i).getValue());
+        }
+        Location[][] randomPoints = new Location[runs][2];
         for (int i = 0; i < runs; i++) {
-            for (int j = 0; j < size; j++) {
-                Location p1 = vertices.get((int)(Math.random() * size));
-                Location p2 = vertices.get((int)(Math.random() * size));
-                while (p1.equals(p2)) {
-                    p1 = vertices.get((int)(Math.random() * size));
-                    p2 = vertices.get((int)(Math.random() * size));
-                }
-                randomPoints[j][0] = p1;
-                randomPoints[j][1] = p2;
+            Location p1 = vertices.get(random.nextInt(size));
+            Location p2 = vertices.get(random.nextInt(size));
+            while (p1.equals(p2)) {
+                p2 = vertices.get(random.nextInt(size));
             }
+            randomPoints[i][0] = p1;
+            randomPoints[i][1] = p2;
         }
         System.out.println("Found in " + round((System.nanoTime() - t2) / 1000000000.0, 4) + "s\n");
 
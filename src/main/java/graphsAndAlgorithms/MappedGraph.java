@@ -0,0 +1,489 @@
+package graphsAndAlgorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/*
+ * Graph of Locations stored in a binary file and read through memory mappings, so opening it
+ * costs a few system calls whatever its size and pages are read in as searches touch them.
+ *
+ * File format, version 1, little endian, every section starting at a multiple of 8 bytes:
+ *     header    MAGIC, VERSION, vertex count (long), edge count (long), rows, cols (0 if the
+ *               graph is not a grid), index slot count (long) and the byte offset of each of
+ *               the sections below (longs), HEADER_BYTES in all
+ *     values    x and y (ints) of every vertex, by id
+ *     offsets   vertices + 1 ints, the edges of vertex v are the slots offsets[v] to offsets[v + 1]
+ *     targets   edges ints
+ *     weights   edges doubles
+ *     index     open addressing hash table from location to id (-1 for an empty slot), so
+ *               indexOf() needs nothing on the heap either
+ *
+ * save() streams a graph out in one pass over its vertices with a small buffer, writing the
+ * header last so an interrupted save never leaves a file that opens. Each section is mapped
+ * in chunks of at most 1 GB, so files can be bigger than one mapping allows.
+ */
+public class MappedGraph implements IndexedGraph<Location> {
+    private static final int MAGIC = 0x4A475246; // "JGRF"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 80;
+    private static final int CHUNK_SHIFT = 30;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final int size;
+    private final int edges;
+    private final int rows;
+    private final int cols;
+    private final Section values;
+    private final Section offsets;
+    private final Section targets;
+    private final Section weights;
+    private final Section index;
+    private final long indexMask;
+    private volatile MappedGraph reverse;
+
+    private MappedGraph(int size, int edges, int rows, int cols, Section values, Section offsets, Section targets, Section weights, Section index, long slots) {
+        this.size = size;
+        this.edges = edges;
+        this.rows = rows;
+        this.cols = cols;
+        this.values = values;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.index = index;
+        this.indexMask = slots - 1;
+    }
+
+    public static MappedGraph open(Path file) throws IOException {
+        return open(file, CHUNK_SHIFT);
+    }
+
+    /*
+     * open() with sections mapped in chunks of 2^chunkShift bytes, small ones for tests
+     */
+    static MappedGraph open(Path file, int chunkShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported graph file version " + version + ": " + file);
+            }
+            long size = header.getLong();
+            long edges = header.getLong();
+            int rows = header.getInt();
+            int cols = header.getInt();
+            long slots = header.getLong();
+            long valuesAt = header.getLong();
+            long offsetsAt = header.getLong();
+            long targetsAt = header.getLong();
+            long weightsAt = header.getLong();
+            long indexAt = header.getLong();
+            if (indexAt + 4 * slots > channel.size()) {
+                throw new IOException("Truncated graph file: " + file);
+            }
+            return new MappedGraph((int) size, (int) edges, rows, cols,
+                Section.map(channel, MapMode.READ_ONLY, valuesAt, 8 * size, chunkShift),
+                Section.map(channel, MapMode.READ_ONLY, offsetsAt, 4 * (size + 1), chunkShift),
+                Section.map(channel, MapMode.READ_ONLY, targetsAt, 4 * edges, chunkShift),
+                Section.map(channel, MapMode.READ_ONLY, weightsAt, 8 * edges, chunkShift),
+                Section.map(channel, MapMode.READ_ONLY, indexAt, 4 * slots, chunkShift),
+                slots);
+        }
+    }
+
+    /*
+     * Vertices and edges of graph, numbered as in the graph; a GridGraph keeps its rows and cols
+     */
+    public static void save(WAdjacencyGraph<Location> graph, Path file) throws IOException {
+        int rows = graph instanceof GridGraph ? ((GridGraph) graph).getRows() : 0;
+        int cols = graph instanceof GridGraph ? ((GridGraph) graph).getCols() : 0;
+        save(file, graph.size(), rows, cols, new Source() {
+            @Override
+            public Location value(int id) {
+                return graph.vertexAt(id).getValue();
+            }
+
+            @Override
+            public int degree(int id) {
+                return graph.vertexAt(id).getNeighbors().size();
+            }
+
+            @Override
+            public void edges(int id, Output targets, Output weights) throws IOException {
+                for (Map.Entry<WVertex<Location>, Double> edge : graph.vertexAt(id).getNeighbors().entrySet()) {
+                    targets.putInt(edge.getKey().getIndex());
+                    weights.putDouble(edge.getValue());
+                }
+            }
+        });
+    }
+
+    /*
+     * Vertices and edges of graph, leaving out empty edge slots
+     */
+    public static void save(IndexedGraph<Location> graph, Path file) throws IOException {
+        int rows = graph instanceof BitGridGraph ? ((BitGridGraph) graph).getRows() : 0;
+        int cols = graph instanceof BitGridGraph ? ((BitGridGraph) graph).getCols() : 0;
+        save(file, graph.size(), rows, cols, new Source() {
+            @Override
+            public Location value(int id) {
+                return graph.valueOf(id);
+            }
+
+            @Override
+            public int degree(int id) {
+                int degree = 0;
+                for (int edge = graph.edgeStart(id); edge < graph.edgeEnd(id); edge++) {
+                    if (graph.edgeTarget(edge) >= 0) degree++;
+                }
+                return degree;
+            }
+
+            @Override
+            public void edges(int id, Output targets, Output weights) throws IOException {
+                for (int edge = graph.edgeStart(id); edge < graph.edgeEnd(id); edge++) {
+                    if (graph.edgeTarget(edge) < 0) continue;
+                    targets.putInt(graph.edgeTarget(edge));
+                    weights.putDouble(graph.edgeWeight(edge));
+                }
+            }
+        });
+    }
+
+    /*
+     * The graph being saved, read one vertex at a time
+     */
+    private interface Source {
+        Location value(int id);
+        int degree(int id);
+        void edges(int id, Output targets, Output weights) throws IOException;
+    }
+
+    private static void save(Path file, int size, int rows, int cols, Source source) throws IOException {
+        long edges = 0;
+        for (int id = 0; id < size; id++) {
+            edges += source.degree(id);
+        }
+        if (edges > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many edges for int edge ids: " + edges);
+        }
+        long slots = Long.highestOneBit(Math.max(1, 2L * size - 1)) << 1;
+        long valuesAt = HEADER_BYTES;
+        long offsetsAt = align(valuesAt + 8L * size);
+        long targetsAt = align(offsetsAt + 4L * (size + 1));
+        long weightsAt = align(targetsAt + 4 * edges);
+        long indexAt = align(weightsAt + 8 * edges);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Output values = new Output(channel, valuesAt);
+            Output offsets = new Output(channel, offsetsAt);
+            Output targets = new Output(channel, targetsAt);
+            Output weights = new Output(channel, weightsAt);
+            int offset = 0;
+            offsets.putInt(0);
+            for (int id = 0; id < size; id++) {
+                Location value = source.value(id);
+                values.putInt(value.getX());
+                values.putInt(value.getY());
+                offset += source.degree(id);
+                offsets.putInt(offset);
+                source.edges(id, targets, weights);
+            }
+            values.flush();
+            offsets.flush();
+            targets.flush();
+            weights.flush();
+
+            /* The index is filled in place through a writable mapping rather than built on the heap */
+            Section index = Section.map(channel, MapMode.READ_WRITE, indexAt, 4 * slots, CHUNK_SHIFT);
+            for (long slot = 0; slot < slots; slot++) {
+                index.putInt(slot, -1);
+            }
+            for (int id = 0; id < size; id++) {
+                Location value = source.value(id);
+                long slot = hash(value.getX(), value.getY()) & (slots - 1);
+                while (index.getInt(slot) != -1) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                index.putInt(slot, id);
+            }
+            index.force();
+
+            Output header = new Output(channel, 0);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(size);
+            header.putLong(edges);
+            header.putInt(rows);
+            header.putInt(cols);
+            header.putLong(slots);
+            header.putLong(valuesAt);
+            header.putLong(offsetsAt);
+            header.putLong(targetsAt);
+            header.putLong(weightsAt);
+            header.putLong(indexAt);
+            header.flush();
+        }
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static long hash(int x, int y) {
+        long h = ((long) x << 32 | (y & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /*
+     * Rows and columns of the grid the graph was saved from, 0 if it was not a grid
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getCols() {
+        return this.cols;
+    }
+
+    public int edgeCount() {
+        return this.edges;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int indexOf(Location value) {
+        for (long slot = hash(value.getX(), value.getY()) & this.indexMask; ; slot = (slot + 1) & this.indexMask) {
+            int id = this.index.getInt(slot);
+            if (id == -1 || (this.values.getInt(2L * id) == value.getX() && this.values.getInt(2L * id + 1) == value.getY())) {
+                return id;
+            }
+        }
+    }
+
+    @Override
+    public Location valueOf(int id) {
+        return new Location(this.values.getInt(2L * id), this.values.getInt(2L * id + 1));
+    }
+
+    @Override
+    public int edgeStart(int id) {
+        return this.offsets.getInt(id);
+    }
+
+    @Override
+    public int edgeEnd(int id) {
+        return this.offsets.getInt(id + 1L);
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return this.targets.getInt(edge);
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return this.weights.getDouble(edge);
+    }
+
+    /*
+     * Transpose built on the heap on first use, sharing the mapped values and index
+     */
+    @Override
+    public MappedGraph reverse() {
+        MappedGraph reverse = this.reverse;
+        if (reverse == null) {
+            Section offsets = Section.allocate(4L * (this.size + 1), CHUNK_SHIFT);
+            Section targets = Section.allocate(4L * this.edges, CHUNK_SHIFT);
+            Section weights = Section.allocate(8L * this.edges, CHUNK_SHIFT);
+            for (int edge = 0; edge < this.edges; edge++) {
+                long slot = this.edgeTarget(edge) + 1L;
+                offsets.putInt(slot, offsets.getInt(slot) + 1);
+            }
+            for (long id = 0; id < this.size; id++) {
+                offsets.putInt(id + 1, offsets.getInt(id + 1) + offsets.getInt(id));
+            }
+            /* offsets[v] is used as v's next free slot and ends up as v's end, one place up */
+            for (int source = 0; source < this.size; source++) {
+                for (int edge = this.edgeStart(source); edge < this.edgeEnd(source); edge++) {
+                    int target = this.edgeTarget(edge);
+                    int slot = offsets.getInt(target);
+                    offsets.putInt(target, slot + 1);
+                    targets.putInt(slot, source);
+                    weights.putDouble(slot, this.edgeWeight(edge));
+                }
+            }
+            for (long id = this.size; id > 0; id--) {
+                offsets.putInt(id, offsets.getInt(id - 1));
+            }
+            offsets.putInt(0, 0);
+            reverse = new MappedGraph(this.size, this.edges, this.rows, this.cols, this.values, offsets, targets, weights, this.index, this.indexMask + 1);
+            reverse.reverse = this;
+            this.reverse = reverse;
+        }
+        return reverse;
+    }
+
+    /*
+     * Copy into a GridGraph (with rows and cols 0 if the file was not a grid) for the
+     * algorithms that run on the adjacency graph
+     */
+    public GridGraph toGridGraph() {
+        GridGraph graph = new GridGraph(this.rows, this.cols);
+        for (int id = 0; id < this.size; id++) {
+            graph.add(this.valueOf(id));
+        }
+        for (int id = 0; id < this.size; id++) {
+            for (int edge = this.edgeStart(id); edge < this.edgeEnd(id); edge++) {
+                graph.connect_directed(graph.vertexAt(id).getValue(), graph.vertexAt(this.edgeTarget(edge)).getValue(), this.edgeWeight(edge));
+            }
+        }
+        return graph;
+    }
+
+    /*
+     * Little endian array of ints, floats or doubles split into power of two sized chunks, mapped from
+     * a file or on the heap. Every chunk is a multiple of 8 bytes, so no element straddles two.
+     */
+    static class Section {
+        private final ByteBuffer[] chunks;
+        private final int shift;
+        private final long mask;
+
+        private Section(ByteBuffer[] chunks, int shift) {
+            this.chunks = chunks;
+            this.shift = shift;
+            this.mask = (1L << shift) - 1;
+        }
+
+        static Section map(FileChannel channel, MapMode mode, long position, long bytes, int shift) throws IOException {
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((bytes + (1L << shift) - 1) >>> shift)];
+            for (int i = 0; i < chunks.length; i++) {
+                long from = (long) i << shift;
+                chunks[i] = channel.map(mode, position + from, Math.min(1L << shift, bytes - from)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Section(chunks, shift);
+        }
+
+        static Section allocate(long bytes, int shift) {
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((bytes + (1L << shift) - 1) >>> shift)];
+            for (int i = 0; i < chunks.length; i++) {
+                long from = (long) i << shift;
+                chunks[i] = ByteBuffer.allocate((int) Math.min(1L << shift, bytes - from)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Section(chunks, shift);
+        }
+
+        int getInt(long index) {
+            long at = index << 2;
+            return this.chunks[(int) (at >>> this.shift)].getInt((int) (at & this.mask));
+        }
+
+        void putInt(long index, int value) {
+            long at = index << 2;
+            this.chunks[(int) (at >>> this.shift)].putInt((int) (at & this.mask), value);
+        }
+
+        double getDouble(long index) {
+            long at = index << 3;
+            return this.chunks[(int) (at >>> this.shift)].getDouble((int) (at & this.mask));
+        }
+
+        void putDouble(long index, double value) {
+            long at = index << 3;
+            this.chunks[(int) (at >>> this.shift)].putDouble((int) (at & this.mask), value);
+        }
+
+        float getFloat(long index) {
+            long at = index << 2;
+            return this.chunks[(int) (at >>> this.shift)].getFloat((int) (at & this.mask));
+        }
+
+        /*
+         * Bulk copies of whole arrays starting at index, which must not cross a chunk boundary
+         */
+        void getFloats(long index, float[] into) {
+            this.view(index << 2).asFloatBuffer().get(into);
+        }
+
+        void putFloats(long index, float[] from) {
+            this.view(index << 2).asFloatBuffer().put(from);
+        }
+
+        void getInts(long index, int[] into) {
+            this.view(index << 2).asIntBuffer().get(into);
+        }
+
+        void putInts(long index, int[] from) {
+            this.view(index << 2).asIntBuffer().put(from);
+        }
+
+        private ByteBuffer view(long at) {
+            ByteBuffer view = this.chunks[(int) (at >>> this.shift)].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            view.position((int) (at & this.mask));
+            return view;
+        }
+
+        void force() {
+            for (ByteBuffer chunk : this.chunks) {
+                if (chunk instanceof MappedByteBuffer) ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    /*
+     * Buffered sequential writer for one section, writing at its own position in the file
+     */
+    static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        Output(FileChannel channel, long position) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.position = position;
+        }
+
+        void putInt(int value) throws IOException {
+            if (this.buffer.remaining() < 4) this.flush();
+            this.buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            if (this.buffer.remaining() < 8) this.flush();
+            this.buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            if (this.buffer.remaining() < 8) this.flush();
+            this.buffer.putDouble(value);
+        }
+
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.position += this.channel.write(this.buffer, this.position);
+            }
+            this.buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package graphsAndAlgorithms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Reader for the grid benchmarks of the Moving AI Lab (Sturtevant).
+ *     .map   "type octile", "height h", "width w", "map", then h rows of w cells where '.', 'G'
+ *            and 'S' are passable and anything else ('@', 'O', 'T', 'W') is a wall
+ *     .scen  "version 1", then one query per line: bucket, map, map width, map height, start x,
+ *            start y, goal x, goal y and the optimal path length
+ * x is the column and y the row, as in BitGridGraph and GridGraph. Octile maps allow
+ * diagonal moves of cost sqrt(2) that never cut a corner, which is how BitGridGraph moves,
+ * so the optimal lengths of a scenario file can be checked against searches on readMap().
+ */
+public class MovingAI {
+    private MovingAI() {
+    }
+
+    /*
+     * One benchmark query
+     */
+    public static class Scenario {
+        public final int bucket;
+        public final String map;
+        public final int width;
+        public final int height;
+        public final Location start;
+        public final Location goal;
+        public final double optimal;
+
+        Scenario(int bucket, String map, int width, int height, Location start, Location goal, double optimal) {
+            this.bucket = bucket;
+            this.map = map;
+            this.width = width;
+            this.height = height;
+            this.start = start;
+            this.goal = goal;
+            this.optimal = optimal;
+        }
+    }
+
+    public static boolean isPassable(int cell) {
+        return cell == '.' || cell == 'G' || cell == 'S';
+    }
+
+    public static BitGridGraph readMap(java.nio.file.Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return readMap(input);
+        }
+    }
+
+    /*
+     * Walls of the map on an implicit grid, with diagonal moves if the map is octile
+     */
+    public static BitGridGraph readMap(InputStream input) throws IOException {
+        ByteScanner scanner = new ByteScanner(input);
+        String type = null;
+        int height = -1;
+        int width = -1;
+        for (String key = scanner.next(); !"map".equals(key); key = scanner.next()) {
+            if (key == null) {
+                throw scanner.error("Missing map section");
+            } else if (key.equals("type")) {
+                type = scanner.next();
+            } else if (key.equals("height")) {
+                height = scanner.nextInt();
+            } else if (key.equals("width")) {
+                width = scanner.nextInt();
+            } else {
+                throw scanner.error("Unknown map header " + key);
+            }
+        }
+        if (height < 0 || width < 0) {
+            throw scanner.error("Missing map height or width");
+        }
+
+        BitGridGraph grid = new BitGridGraph(height, width, "octile".equals(type));
+        for (int y = 0; y < height; y++) {
+            scanner.skipWhitespace();
+            for (int x = 0; x < width; x++) {
+                int cell = scanner.read();
+                if (cell == -1 || cell == '\n' || cell == '\r') {
+                    throw scanner.error("Map row " + y + " is shorter than " + width);
+                }
+                if (!isPassable(cell)) grid.setWall(x, y, true);
+            }
+            int end = scanner.peek();
+            if (end != -1 && end != '\n' && end != '\r') {
+                throw scanner.error("Map row " + y + " is longer than " + width);
+            }
+        }
+        return grid;
+    }
+
+    /*
+     * The map as a 4-connected GridGraph of unit weights, for the algorithms that run on an
+     * adjacency graph. Every cell is a vertex and walls are left without edges.
+     */
+    public static GridGraph readGridGraph(java.nio.file.Path file) throws IOException {
+        BitGridGraph grid = readMap(file);
+        GridGraph graph = new GridGraph(grid.getRows(), grid.getCols());
+        for (int y = 0; y < grid.getRows(); y++) {
+            for (int x = 0; x < grid.getCols(); x++) {
+                Location location = new Location(x, y);
+                graph.add(location);
+                if (grid.isWall(x, y)) continue;
+                if (x > 0 && !grid.isWall(x - 1, y)) graph.connect_undirected(location, new Location(x - 1, y), 1);
+                if (y > 0 && !grid.isWall(x, y - 1)) graph.connect_undirected(location, new Location(x, y - 1), 1);
+            }
+        }
+        return graph;
+    }
+
+    public static List<Scenario> readScenarios(java.nio.file.Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return readScenarios(input);
+        }
+    }
+
+    public static List<Scenario> readScenarios(InputStream input) throws IOException {
+        ByteScanner scanner = new ByteScanner(input);
+        List<Scenario> scenarios = new ArrayList<>();
+        if (scanner.skipWhitespace() == 'v') {
+            scanner.skipLine();
+        }
+        while (scanner.skipWhitespace() != -1) {
+            int bucket = scanner.nextInt();
+            String map = scanner.next();
+            int width = scanner.nextInt();
+            int height = scanner.nextInt();
+            Location start = new Location(scanner.nextInt(), scanner.nextInt());
+            Location goal = new Location(scanner.nextInt(), scanner.nextInt());
+            scenarios.add(new Scenario(bucket, map, width, height, start, goal, scanner.nextDouble()));
+        }
+        return scenarios;
+    }
+}
@@ -1,31 +1,30 @@
 package graphsAndAlgorithms;
 
-import java.util.HashSet;
-import java.util.Set;
-
 public class NearestNeighbor<T extends Distancable<T>> extends SearchAlgorithm<T>  {
     public NearestNeighbor(WAdjacencyGraph<T> graph) { super(graph); }
 
     @Override
-    Path<WVertex<T>> findPath(T start, T end) {
+    public Path<WVertex<T>> findPath(T start, T end) {
         if (!this.graph.contains(start) || !this.graph.contains(end)) {
             return null;
         }
         this.running = true;
+        this.expansions = 0;
 
         WVertex<T> startVertex = this.graph.vertices.get(start);
         WVertex<T> endVertex = this.graph.vertices.get(end);
 
         Path<WVertex<T>> path = new Path<>();
-        Set<WVertex<T>> visited = new HashSet<>();
-        visited.add(startVertex);
+        SearchWorkspace visited = SearchWorkspace.forThread(this.graph.size());
+        visited.close(startVertex.getIndex());
 
         WVertex<T> currentVertex = startVertex;
         while (!currentVertex.equals(endVertex)) {
+            this.visited(currentVertex.getValue());
             WVertex<T> nextVertex = null;
             double minDistance = Double.POSITIVE_INFINITY;
             for (WVertex<T> neighbor : currentVertex.getNeighbors().keySet()) {
-                if (!visited.contains(neighbor)) {
+                if (!visited.isClosed(neighbor.getIndex())) {
                     double distance = currentVertex.getNeighbors().get(neighbor);
                     if (distance < minDistance) {
                         minDistance = distance;
@@ -36,7 +35,7 @@ public class NearestNeighbor<T extends Distancable<T>> extends SearchAlgorithm<T
             if (nextVertex == null) {
                 break;
             }
-            visited.add(nextVertex);
+            visited.close(nextVertex.getIndex());
             path.addLast(nextVertex, minDistance);
             currentVertex = nextVertex;
         }
@@ -0,0 +1,323 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/*
+ * Level synchronous parallel breadth first search that switches direction per level (Beamer,
+ * Asanovic and Patterson).
+ *
+ * Top-down levels scan the frontier and claim unvisited neighbors with compare-and-set on the
+ * visited bitset. Once the frontier's edges outnumber the unvisited vertices' edges by ALPHA,
+ * levels go bottom-up instead, as long as the frontier is still growing: every unvisited
+ * vertex scans its in-edges (on reverse()) for a parent in the frontier and stops at the first
+ * one, which skips most edges of the big middle levels of low diameter graphs. When the
+ * frontier shrinks below 1 / BETA of the graph it goes back to top-down.
+ *
+ * The visited set is a bitset of one bit per vertex. Bottom-up levels keep the frontier as a
+ * bitset too and split the work in chunks of whole words, so they need no atomics at all.
+ * Top-down levels keep it as a list of ids, so the many small levels of a high diameter graph
+ * such as a grid cost their size rather than a scan of the whole bitset.
+ * Results are an int[] parent array and an int[] level (hop count) array.
+ */
+public class ParallelBreadthFirstSearch<T> {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int CHUNK_WORDS = 64;
+    private static final int GRAIN = 256;
+
+    private final IndexedGraph<T> graph;
+    private final ForkJoinPool pool;
+    private volatile IndexedGraph<T> reverse;
+    private volatile long edgeSlots;
+
+    /*
+     * Breadth first tree of one search. parents[source] is source and parents[v] is -1 where v
+     * was not reached; levels[v] is the hop count from source, -1 where not reached.
+     */
+    public static class Tree {
+        public final int source;
+        public final int[] parents;
+        public final int[] levels;
+        public final int depth;
+        public final int bottomUpLevels;
+
+        Tree(int source, int[] parents, int[] levels, int depth, int bottomUpLevels) {
+            this.source = source;
+            this.parents = parents;
+            this.levels = levels;
+            this.depth = depth;
+            this.bottomUpLevels = bottomUpLevels;
+        }
+
+        public boolean isReached(int id) {
+            return this.parents[id] != -1;
+        }
+    }
+
+    public ParallelBreadthFirstSearch(IndexedGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBreadthFirstSearch(IndexedGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.edgeSlots = -1;
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    /*
+     * Full traversal from source, null if source is not in the graph
+     */
+    public Tree traverse(T source) {
+        int id = this.graph.indexOf(source);
+        return id < 0 ? null : this.traverse(id, -1);
+    }
+
+    /*
+     * Fewest hops path from start to end, null if there is none. As with BreadthFirstSearch,
+     * the distance is the number of vertices on the path.
+     */
+    public Path<T> findPath(T start, T end) {
+        int startId = this.graph.indexOf(start);
+        int endId = this.graph.indexOf(end);
+        if (startId < 0 || endId < 0) {
+            return null;
+        }
+        Tree tree = this.traverse(startId, endId);
+        if (!tree.isReached(endId)) {
+            return null;
+        }
+        List<T> path = new ArrayList<>();
+        for (int current = endId; current != startId; current = tree.parents[current]) {
+            path.add(this.graph.valueOf(current));
+        }
+        path.add(this.graph.valueOf(startId));
+        Collections.reverse(path);
+        return new Path<>(path, path.size());
+    }
+
+    /*
+     * Search from source level by level, stopping after the level that reaches target if it
+     * is not -1
+     */
+    public Tree traverse(int source, int target) {
+        int size = this.graph.size();
+        int words = (size + 63) >>> 6;
+        int[] parents = new int[size];
+        int[] levels = new int[size];
+        AtomicLongArray visited = new AtomicLongArray(words);
+        this.parallel(size, CHUNK_WORDS << 6, (from, to) -> {
+            Arrays.fill(parents, from, to, -1);
+            Arrays.fill(levels, from, to, -1);
+        });
+        parents[source] = source;
+        levels[source] = 0;
+        visited.set(source >>> 6, 1L << source);
+
+        /* Top-down levels keep the frontier as a list of ids, bottom-up levels as a bitset */
+        int[] queue = { source };
+        long[] frontier = null;
+        long[] next = null;
+        long frontierSize = 1;
+        long previousSize = 0;
+        long frontierEdges = this.degree(source);
+        long unexploredEdges = this.edgeSlots() - frontierEdges;
+        boolean bottomUp = false;
+        int bottomUpLevels = 0;
+        int level = 0;
+
+        while (frontierSize > 0 && (target == -1 || parents[target] == -1)) {
+            if (!bottomUp && frontierSize > previousSize
+                    && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+                if (frontier == null) {
+                    frontier = new long[words];
+                    next = new long[words];
+                } else {
+                    Arrays.fill(frontier, 0);
+                }
+                for (int vertex : queue) {
+                    frontier[vertex >>> 6] |= 1L << vertex;
+                }
+            } else if (bottomUp && frontierSize < size / BETA) {
+                bottomUp = false;
+                queue = toQueue(frontier, (int) frontierSize);
+            }
+
+            long[] counts = new long[2];
+            if (bottomUp) {
+                this.bottomUp(frontier, next, visited, parents, levels, level + 1, counts);
+                long[] swap = frontier;
+                frontier = next;
+                next = swap;
+                bottomUpLevels++;
+            } else {
+                queue = this.topDown(queue, visited, parents, levels, level + 1, counts);
+            }
+            previousSize = frontierSize;
+            frontierSize = counts[0];
+            frontierEdges = counts[1];
+            unexploredEdges -= frontierEdges;
+            if (frontierSize > 0) level++;
+        }
+        return new Tree(source, parents, levels, level, bottomUpLevels);
+    }
+
+    /*
+     * Edge slots of the whole graph, counted once; implicit graphs have a fixed number of slots
+     * per vertex whatever their walls
+     */
+    private long edgeSlots() {
+        if (this.edgeSlots < 0) {
+            this.edgeSlots = IntStream.range(0, this.graph.size()).parallel()
+                    .mapToLong(this::degree).sum();
+        }
+        return this.edgeSlots;
+    }
+
+    private int degree(int vertex) {
+        return this.graph.edgeEnd(vertex) - this.graph.edgeStart(vertex);
+    }
+
+    private static int[] toQueue(long[] bits, int count) {
+        int[] queue = new int[count];
+        int size = 0;
+        for (int word = 0; word < bits.length; word++) {
+            for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                queue[size++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+            }
+        }
+        return queue;
+    }
+
+    /*
+     * Expand every frontier vertex, returning the vertices claimed for the next level. Counts
+     * gets the next level's size and edge count added.
+     */
+    private int[] topDown(int[] frontier, AtomicLongArray visited, int[] parents, int[] levels,
+            int level, long[] counts) {
+        int[][] claimed = new int[(frontier.length + GRAIN - 1) / GRAIN][];
+        this.parallel(frontier.length, GRAIN, (from, to) -> {
+            int[] found = new int[16];
+            int count = 0;
+            long edges = 0;
+            for (int i = from; i < to; i++) {
+                int current = frontier[i];
+                int end = this.graph.edgeEnd(current);
+                for (int edge = this.graph.edgeStart(current); edge < end; edge++) {
+                    int neighbor = this.graph.edgeTarget(edge);
+                    if (neighbor >= 0 && claim(visited, neighbor)) {
+                        parents[neighbor] = current;
+                        levels[neighbor] = level;
+                        if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                        found[count++] = neighbor;
+                        edges += this.degree(neighbor);
+                    }
+                }
+            }
+            claimed[from / GRAIN] = Arrays.copyOf(found, count);
+            synchronized (counts) {
+                counts[0] += count;
+                counts[1] += edges;
+            }
+        });
+        int[] queue = new int[(int) counts[0]];
+        int size = 0;
+        for (int[] part : claimed) {
+            System.arraycopy(part, 0, queue, size, part.length);
+            size += part.length;
+        }
+        return queue;
+    }
+
+    /*
+     * Set neighbor's visited bit, true if this call was the one that set it
+     */
+    private static boolean claim(AtomicLongArray visited, int vertex) {
+        int word = vertex >>> 6;
+        long bit = 1L << vertex;
+        long old = visited.get(word);
+        while ((old & bit) == 0) {
+            if (visited.compareAndSet(word, old, old | bit)) {
+                return true;
+            }
+            old = visited.get(word);
+        }
+        return false;
+    }
+
+    /*
+     * Find a frontier parent for every unvisited vertex, writing the ones found into next
+     */
+    private void bottomUp(long[] frontier, long[] next, AtomicLongArray visited, int[] parents,
+            int[] levels, int level, long[] counts) {
+        IndexedGraph<T> reverse = this.reverse;
+        if (reverse == null) {
+            reverse = this.graph.reverse();
+            this.reverse = reverse;
+        }
+        IndexedGraph<T> incoming = reverse;
+        int size = this.graph.size();
+        this.parallel(frontier.length, CHUNK_WORDS, (from, to) -> {
+            long count = 0;
+            long edges = 0;
+            for (int word = from; word < to; word++) {
+                long old = visited.get(word);
+                long unvisited = ~old;
+                if (word == frontier.length - 1 && (size & 63) != 0) {
+                    unvisited &= (1L << size) - 1;
+                }
+                long added = 0;
+                for (; unvisited != 0; unvisited &= unvisited - 1) {
+                    int current = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                    int end = incoming.edgeEnd(current);
+                    for (int edge = incoming.edgeStart(current); edge < end; edge++) {
+                        int parent = incoming.edgeTarget(edge);
+                        if (parent >= 0 && (frontier[parent >>> 6] & (1L << parent)) != 0) {
+                            parents[current] = parent;
+                            levels[current] = level;
+                            added |= 1L << current;
+                            count++;
+                            edges += this.degree(current);
+                            break;
+                        }
+                    }
+                }
+                /* Each word belongs to one chunk, so plain writes cannot lose bits */
+                visited.set(word, old | added);
+                next[word] = added;
+            }
+            synchronized (counts) {
+                counts[0] += count;
+                counts[1] += edges;
+            }
+        });
+    }
+
+    private interface RangeConsumer {
+        void accept(int from, int to);
+    }
+
+    /*
+     * Split 0 to count into chunks of at least chunk and run them on the pool
+     */
+    private void parallel(int count, int chunk, RangeConsumer task) {
+        int chunks = (count + chunk - 1) / chunk;
+        if (chunks <= 1) {
+            task.accept(0, count);
+            return;
+        }
+        IntConsumer run = i -> task.accept(i * chunk, Math.min(count, (i + 1) * chunk));
+        this.pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(run)).join();
+    }
+}
@@ -0,0 +1,194 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Bounded LRU cache of findPath results, keyed by (algorithm, start, end).
+ *
+ * Every entry remembers the version of the algorithm's graph it was computed at. A lookup
+ * after the graph changed (a connect, an isolate, a wall click in the GUI) drops the entry
+ * and searches again, so answers are never stale. The cache is bounded both by entry count
+ * and by the total number of vertices held in cached paths; the least recently used entries
+ * are evicted first. "No path" results are cached too.
+ *
+ * A hit returns a fresh copy of the cached path in O(path length) and fires no listener
+ * events. Lookups are thread safe, but each SearchAlgorithm still runs one search at a time.
+ */
+public class PathCache<T extends Distancable<T>> {
+    private final int maxEntries;
+    private final long maxVertices;
+    private final LinkedHashMap<Key<T>, Entry<T>> entries;
+    private long vertices;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private static class Key<T> {
+        private final SearchAlgorithm<?> algorithm;
+        private final T start;
+        private final T end;
+
+        Key(SearchAlgorithm<?> algorithm, T start, T end) {
+            this.algorithm = algorithm;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) return false;
+            Key<?> key = (Key<?>) other;
+            return this.algorithm == key.algorithm && this.start.equals(key.start) && this.end.equals(key.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.algorithm), this.start, this.end);
+        }
+    }
+
+    private static class Entry<T> {
+        private final Path<WVertex<T>> path;
+        private final long version;
+
+        Entry(Path<WVertex<T>> path, long version) {
+            this.path = path;
+            this.version = version;
+        }
+
+        int weight() {
+            return this.path == null ? 1 : Math.max(1, this.path.path.size());
+        }
+    }
+
+    public PathCache(int maxEntries) {
+        this(maxEntries, Long.MAX_VALUE);
+    }
+
+    /*
+     * Holds at most maxEntries results and at most maxVertices vertices across all cached paths
+     */
+    public PathCache(int maxEntries, long maxVertices) {
+        if (maxEntries < 1 || maxVertices < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxVertices = maxVertices;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /*
+     * algorithm.findPath(start, end), answered from the cache while the graph is unchanged
+     */
+    public Path<WVertex<T>> findPath(SearchAlgorithm<T> algorithm, T start, T end) {
+        Key<T> key = new Key<>(algorithm, start, end);
+        long version = algorithm.graph.getVersion();
+        synchronized (this) {
+            Entry<T> entry = this.entries.get(key);
+            if (entry != null && entry.version == version) {
+                this.hits++;
+                return copy(entry.path);
+            }
+            if (entry != null) {
+                this.remove(key, entry);
+                this.invalidations++;
+            }
+            this.misses++;
+        }
+
+        Path<WVertex<T>> path = algorithm.findPath(start, end);
+        /* A search the graph changed under, or that was stopped, is not worth keeping */
+        if (algorithm.graph.getVersion() != version || algorithm.wasStopped()) {
+            return path;
+        }
+        Entry<T> entry = new Entry<>(copy(path), version);
+        if (entry.weight() > this.maxVertices) {
+            return path;
+        }
+        synchronized (this) {
+            Entry<T> previous = this.entries.put(key, entry);
+            if (previous != null) {
+                this.vertices -= previous.weight();
+            }
+            this.vertices += entry.weight();
+            this.evict();
+        }
+        return path;
+    }
+
+    private static <T> Path<WVertex<T>> copy(Path<WVertex<T>> path) {
+        return path == null ? null : new Path<>(new ArrayList<>(path.path), path.distance);
+    }
+
+    private void remove(Key<T> key, Entry<T> entry) {
+        this.entries.remove(key);
+        this.vertices -= entry.weight();
+    }
+
+    /*
+     * Drop least recently used entries until both bounds hold
+     */
+    private void evict() {
+        Iterator<Map.Entry<Key<T>, Entry<T>>> eldest = this.entries.entrySet().iterator();
+        while ((this.entries.size() > this.maxEntries || this.vertices > this.maxVertices) && eldest.hasNext()) {
+            this.vertices -= eldest.next().getValue().weight();
+            eldest.remove();
+            this.evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.vertices = 0;
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /*
+     * Total vertices held in cached paths
+     */
+    public synchronized long getVertexCount() {
+        return this.vertices;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /*
+     * Entries dropped to stay within the bounds
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /*
+     * Entries dropped because their graph changed since they were computed
+     */
+    public synchronized long getInvalidations() {
+        return this.invalidations;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = this.hits + this.misses;
+        return lookups == 0 ? 0 : (double) this.hits / lookups;
+    }
+
+    public synchronized void resetStatistics() {
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+        this.invalidations = 0;
+    }
+}
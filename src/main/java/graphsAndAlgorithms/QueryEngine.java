@@ -0,0 +1,95 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Answers batches of shortest path queries in parallel over one shared IndexedGraph.
+ *
+ * Queries with the same start are grouped into a single Dijkstra run that stops once all of
+ * their ends are settled, a ShortestPathTree with the ends as its targets. Each group runs as its own task on a ForkJoinPool and keeps its
+ * search state in the worker thread's SearchWorkspace, so queries never share mutable state
+ * and the engine itself can be used from any number of threads.
+ * The graph must not change while a batch is running; a CSRGraph snapshot never does.
+ */
+public class QueryEngine<T> {
+    private final IndexedGraph<T> graph;
+    private final ForkJoinPool pool;
+
+    public static class Query<T> {
+        public final T start;
+        public final T end;
+
+        public Query(T start, T end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    public QueryEngine(IndexedGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public QueryEngine(IndexedGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public CompletableFuture<Path<T>> submit(T start, T end) {
+        return this.submit(List.of(new Query<>(start, end))).thenApply(paths -> paths.get(0));
+    }
+
+    /*
+     * Completes with one path per query, in batch order, null where the end is unreachable
+     * or either vertex is not in the graph
+     */
+    public CompletableFuture<List<Path<T>>> submit(List<Query<T>> batch) {
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            int start = this.graph.indexOf(batch.get(i).start);
+            int end = this.graph.indexOf(batch.get(i).end);
+            if (start < 0 || end < 0) continue;
+            groups.computeIfAbsent(start, key -> new ArrayList<>()).add(i);
+        }
+
+        List<Path<T>> results = new ArrayList<>(Collections.nCopies(batch.size(), (Path<T>) null));
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[groups.size()];
+        int task = 0;
+        for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+            tasks[task++] = CompletableFuture.runAsync(() -> this.runGroup(group.getKey(), group.getValue(), batch, results), this.pool);
+        }
+        return CompletableFuture.allOf(tasks).thenApply(done -> results);
+    }
+
+    /*
+     * Blocking form of submit
+     */
+    public List<Path<T>> run(List<Query<T>> batch) {
+        return this.submit(batch).join();
+    }
+
+    /*
+     * One Dijkstra run from source, stopped once every end of the group is settled.
+     * Each task writes only its own slots of results.
+     */
+    private void runGroup(int source, List<Integer> queries, List<Query<T>> batch, List<Path<T>> results) {
+        List<T> ends = new ArrayList<>(queries.size());
+        for (int query : queries) {
+            ends.add(batch.get(query).end);
+        }
+        SearchWorkspace workspace = SearchWorkspace.forThread(this.graph.size());
+        ShortestPathTree<T> tree = IndexedDijkstras.shortestPathTree(this.graph, workspace, source, ends);
+        for (int query : queries) {
+            results.set(query, tree.pathTo(batch.get(query).end));
+        }
+    }
+}
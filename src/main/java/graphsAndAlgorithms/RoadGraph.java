@@ -0,0 +1,96 @@
+package graphsAndAlgorithms;
+
+import java.util.Arrays;
+
+/*
+ * Road network in CSR form with integer weights, as read by Dimacs. Vertices are stored as
+ * two coordinate arrays and a RoadVertex is only made when valueOf() asks for one, so a
+ * graph costs 8 bytes per vertex and 8 per edge plus the offsets.
+ */
+public class RoadGraph implements IndexedGraph<RoadVertex> {
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private volatile RoadGraph reverse;
+
+    RoadGraph(int[] xs, int[] ys, int[] offsets, int[] targets, int[] weights) {
+        this.xs = xs;
+        this.ys = ys;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /*
+     * Transpose built on first use, sharing the coordinates
+     */
+    @Override
+    public RoadGraph reverse() {
+        RoadGraph reverse = this.reverse;
+        if (reverse == null) {
+            int size = this.size();
+            int[] offsets = new int[size + 1];
+            for (int target : this.targets) {
+                offsets[target + 1]++;
+            }
+            for (int i = 0; i < size; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] next = Arrays.copyOf(offsets, size);
+            int[] targets = new int[this.targets.length];
+            int[] weights = new int[this.weights.length];
+            for (int source = 0; source < size; source++) {
+                for (int edge = this.offsets[source]; edge < this.offsets[source + 1]; edge++) {
+                    int slot = next[this.targets[edge]]++;
+                    targets[slot] = source;
+                    weights[slot] = this.weights[edge];
+                }
+            }
+            reverse = new RoadGraph(this.xs, this.ys, offsets, targets, weights);
+            reverse.reverse = this;
+            this.reverse = reverse;
+        }
+        return reverse;
+    }
+
+    @Override
+    public int size() {
+        return this.xs.length;
+    }
+
+    public int edgeCount() {
+        return this.targets.length;
+    }
+
+    @Override
+    public int indexOf(RoadVertex value) {
+        return value.getId() >= 0 && value.getId() < this.size() ? value.getId() : -1;
+    }
+
+    @Override
+    public RoadVertex valueOf(int id) {
+        return new RoadVertex(id, this.xs[id], this.ys[id]);
+    }
+
+    @Override
+    public int edgeStart(int id) {
+        return this.offsets[id];
+    }
+
+    @Override
+    public int edgeEnd(int id) {
+        return this.offsets[id + 1];
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return this.targets[edge];
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return this.weights[edge];
+    }
+}
@@ -0,0 +1,57 @@
+package graphsAndAlgorithms;
+
+/*
+ * Vertex of a road network: its id in the RoadGraph and its integer coordinates (DIMACS
+ * gives longitude and latitude in millionths of a degree). Two vertices are equal when their
+ * ids are, since distinct junctions can share coordinates.
+ * distance() is the straight line distance in coordinate units; scale it to the edge weights
+ * before using it as an A* heuristic.
+ */
+public class RoadVertex implements Distancable<RoadVertex> {
+    private final int id;
+    private final int x;
+    private final int y;
+
+    public RoadVertex(int id, int x, int y) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public int getX() {
+        return this.x;
+    }
+
+    public int getY() {
+        return this.y;
+    }
+
+    @Override
+    public double distance(RoadVertex other) {
+        double dx = this.x - other.x;
+        double dy = this.y - other.y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    @Override
+    public String toString() {
+        return this.id + " (" + this.x + ", " + this.y + ")";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof RoadVertex) {
+            return this.id == ((RoadVertex) obj).id;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id;
+    }
+}
@@ -1,38 +1,112 @@
 package graphsAndAlgorithms;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class SearchAlgorithm<T extends Distancable<T>> {
     protected WAdjacencyGraph<T> graph;
-    protected Set<SearchAlgorithmObserver> observers;
-    protected long delay;
+    protected SearchListener<T> listener;
     protected boolean running;
+    protected int expansions;
+    private boolean stopped;
 
+    /*
+     * Searches run headless (no events, no pacing) until a listener is set
+     */
     public SearchAlgorithm(WAdjacencyGraph<T> graph) {
         this.graph = graph;
-        this.observers = new HashSet<>();
-        this.delay = 0l;
+        this.listener = null;
         this.running = false;
+        this.expansions = 0;
     }
 
-    @SuppressWarnings("unused")
-    abstract Path<WVertex<T>> findPath(T start, T end);
-    public void notifyObservers(Location location) {
-        for (SearchAlgorithmObserver observer : this.observers) {
-            observer.squareUpdated(location);
+    public abstract Path<WVertex<T>> findPath(T start, T end);
+
+    /*
+     * Resumable search from start to end, see SearchSession. Algorithms that cannot stop part
+     * way run the whole search in the session's first step.
+     */
+    public SearchSession<T> session(T start, T end) {
+        SearchAlgorithm<T> algorithm = this;
+        return new SearchSession<T>(null) {
+            @Override
+            protected void expand() {
+                Path<WVertex<T>> path = algorithm.findPath(start, end);
+                this.expansions = algorithm.getExpansions();
+                this.finish(path);
+            }
+        };
+    }
+
+    /*
+     * Step session to the end on this thread for findPath(), giving up with null if stop()
+     * is called part way
+     */
+    protected Path<WVertex<T>> run(SearchSession<T> session) {
+        this.running = true;
+        this.stopped = false;
+        this.expansions = 0;
+        while (!session.isFinished()) {
+            if (!this.running) {
+                this.expansions = session.getExpansions();
+                this.stopped = true;
+                return null;
+            }
+            session.step();
         }
+        this.expansions = session.getExpansions();
+        this.running = false;
+        return session.getPath();
     }
 
-    public void setDelay(long delay) {
-        this.delay = delay;
+    protected void queued(T value) {
+        if (this.listener != null) this.listener.vertexQueued(value);
     }
 
-    public void registerObserver(SearchAlgorithmObserver observer) {
-        this.observers.add(observer);
+    protected void visited(T value) {
+        this.expansions++;
+        if (this.listener != null) this.listener.vertexVisited(value);
+    }
+
+    protected void onPath(T value) {
+        if (this.listener != null) this.listener.vertexOnPath(value);
+    }
+
+    /*
+     * Walk the workspace's predecessors back from end into a path of values
+     */
+    protected static <T> Path<T> tracePath(IndexedGraph<T> graph, SearchWorkspace workspace, int end, double distance) {
+        List<T> path = new ArrayList<>();
+        for (int current = end; current != -1; current = workspace.predecessor(current)) {
+            path.add(graph.valueOf(current));
+        }
+        Collections.reverse(path);
+        return new Path<>(path, distance);
+    }
+
+    /*
+     * Attach a listener such as GridSearchVisualizer, or null to run headless
+     */
+    public void setListener(SearchListener<T> listener) {
+        this.listener = listener;
+    }
+
+    /*
+     * Number of vertices the last search expanded (took off its queue or stack)
+     */
+    public int getExpansions() {
+        return this.expansions;
     }
 
     public void stop() {
         this.running = false;
     }
+
+    /*
+     * Whether the last search gave up because stop() was called, rather than finding no path
+     */
+    public boolean wasStopped() {
+        return this.stopped;
+    }
 }
@@ -3,6 +3,7 @@
  * 
  * The GUI will display a grid of cells, each cell representing a vertex in the graph.
  *     The user can input rows and columns for the grid.
+ *     The grid is drawn on a single GridCanvas; scroll to zoom and drag with the right mouse button to pan.
  *     Square Colors:
  *         The start square is Green
  *         The end square is Red
@@ -18,7 +19,10 @@
  *     Clicking on the start or end and then clicking on the start or end will swap the start and end.
  * 
  * The GUI will also allow the user to select the search algorithm to use via a drop down.
- *     The options are Depth First Search, Breadth First Search, Dijkstra's, and A*.
+ *     The options are Depth First Search, Breadth First Search, Dijkstra's, A*, Jump Point Search, and D* Lite.
+ *     D* Lite keeps its search between runs, so after moving walls or the start it only repairs the changed part.
+ * Searches run as a SearchSession stepped by an AnimationTimer on the JavaFX thread, one expansion per
+ *     iteration delay, or as many as fit in a frame with no delay. Stop pauses the search and Start resumes it.
  * The GUI will allow users to select cells to be walls, disconnecting their neighbors in the graph.
  *     Clicking on a wall square will remove the wall, reconnecting the neighbors.
  */
@@ -27,124 +31,45 @@ package graphsAndAlgorithms;
 import java.util.HashSet;
 import java.util.Set;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
 public class SearchAlgorithmGUI extends Application {
-    private static final StackPane GREEN;
-    private static final StackPane RED;
-    private static final StackPane BLUE;
-    private static final StackPane CORNFLOWERBLUE;
-    private static final StackPane YELLOW;
-    private static final StackPane PURPLE;
-    private static final StackPane BLACK;
-    private static final StackPane WHITE;
+    private static final int GREEN = GridCanvas.argb(Color.LIGHTGREEN);
+    private static final int RED = GridCanvas.argb(Color.RED);
+    private static final int BLUE = GridCanvas.argb(Color.BLUE);
+    private static final int CORNFLOWERBLUE = GridCanvas.argb(Color.CORNFLOWERBLUE);
+    private static final int YELLOW = GridCanvas.argb(Color.YELLOW);
+    private static final int BLACK = GridCanvas.argb(Color.BLACK);
+    private static final int WHITE = GridCanvas.argb(Color.WHITE);
 
     private static final int DEFAULT_SQUARE_SIZE = 15;
-    private static final double BORDER_SIZE = 0.1;
     private static final int SQAURE_GAP = 5;
 
     private static final int DEFAULT_ROWS = 25;
     private static final int DEFAULT_COLS = 25;
+    private static final double MAX_VIEW_WIDTH = 1200;
+    private static final double MAX_VIEW_HEIGHT = 900;
 
     private static final long DEFAULT_DELAY = 5; // ms
-
-    static {
-        GREEN = new StackPane();
-        GREEN.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.LIGHTGREEN, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-        
-        RED = new StackPane();
-        RED.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.RED, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-
-
-        BLUE = new StackPane();
-        BLUE.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.BLUE, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-
-
-        CORNFLOWERBLUE = new StackPane();
-        CORNFLOWERBLUE.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.CORNFLOWERBLUE, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-
-        YELLOW = new StackPane();
-        YELLOW.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.YELLOW, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-        
-        PURPLE = new StackPane();
-        PURPLE.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.PURPLE, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-        
-        WHITE = new StackPane();
-        WHITE.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.WHITE, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-
-        BLACK = new StackPane();
-        BLACK.setBackground(new Background(
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-            new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, Insets.EMPTY)
-        ));
-    }
-
-    private class StackPaneGrid {
-        private StackPane[][] grid;
-
-        public StackPaneGrid(int rows, int cols) {
-            this.grid = new StackPane[rows][cols];
-        }
-
-        public StackPane get(int row, int col) {
-            return this.grid[row][col];
-        }
-
-        public StackPane get(Location location) {
-            return this.grid[location.getX()][location.getY()];
-        }
-
-        public void set(int row, int col, StackPane stackPane) {
-            this.grid[row][col] = stackPane;
-        }
-
-        public void set(Location location, StackPane stackPane) {
-            this.grid[location.getX()][location.getY()] = stackPane;
-        }
-    }
+    private static final long FRAME_BUDGET = 8000000; // ns
 
     private enum GUIStatus {
-        NONE, SEARCHING, FINISHED,
+        NONE, SEARCHING, PAUSED, FINISHED,
     }
 
-    private StackPaneGrid squares;
+    private GridCanvas squares;
     private Set<Location> walls;
 
     private GridGraph graph;
@@ -154,6 +79,7 @@ public class SearchAlgorithmGUI extends Application {
 
     private String selectedAlgorithmString;
     private SearchAlgorithm<Location> searchAlgorithm;
+    private GridSearchVisualizer visualizer;
 
     private Location start;
     private Location end;
@@ -161,7 +87,10 @@ public class SearchAlgorithmGUI extends Application {
     private GUIStatus status;
     private boolean movingStart;
     private boolean movingEnd;
-    private Thread searchingThread;
+    private SearchSession<Location> session;
+    private AnimationTimer timer;
+    private long lastFrame;
+    private double owedSteps;
 
     @Override
     public void start(Stage stage) {
@@ -172,13 +101,19 @@ public class SearchAlgorithmGUI extends Application {
 
         this.squareSize = DEFAULT_SQUARE_SIZE;
         this.delay = DEFAULT_DELAY;
-        this.searchAlgorithm.setDelay(this.delay);
         this.start = new Location(this.graph.getRows() / 2, 1);
         this.end = new Location(this.graph.getRows() / 2, this.graph.getCols() - 2);
         this.walls = new HashSet<>();
 
         stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
 
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                SearchAlgorithmGUI.this.advanceSearch(now, stage);
+            }
+        };
+
         BorderPane borderPane = new BorderPane();
 
         VBox optionsAndControls = new VBox();
@@ -199,11 +134,11 @@ public class SearchAlgorithmGUI extends Application {
         gridOptions.add(rowsInput, 1, 0);
 
         rowsInput.setOnAction(eh -> {
-            if (this.status == GUIStatus.SEARCHING) return;
+            if (this.searchInProgress()) return;
             Integer rows = tryParseInt(rowsInput.getText());
             if (rows == null || rows < 3) return;
             this.graph = GridGraph.makeFullGridGraph(rows, this.graph.getCols());
-            GridPane newGridMaze = this.createMazeGridPane(stage);
+            GridCanvas newGridMaze = this.createMaze(stage);
             this.updateSearchAlgorithm(stage);
             this.resetStartAndEndLocations();
 
@@ -219,11 +154,11 @@ public class SearchAlgorithmGUI extends Application {
         gridOptions.add(colsInput, 1, 1);
 
         colsInput.setOnAction(eh -> {
-            if (this.status == GUIStatus.SEARCHING) return;
+            if (this.searchInProgress()) return;
             Integer cols = tryParseInt(colsInput.getText());
             if (cols == null || cols < 3) return;
             this.graph = GridGraph.makeFullGridGraph(this.graph.getRows(), cols);
-            GridPane newGridMaze = this.createMazeGridPane(stage);
+            GridCanvas newGridMaze = this.createMaze(stage);
             this.updateSearchAlgorithm(stage);
             this.resetStartAndEndLocations();
 
@@ -239,14 +174,10 @@ public class SearchAlgorithmGUI extends Application {
         gridOptions.add(squareSizeInput, 1, 2);
 
         squareSizeInput.setOnAction(eh -> {
-            if (this.status == GUIStatus.SEARCHING) return;
+            if (this.searchInProgress()) return;
             Integer newSquareSize = tryParseInt(squareSizeInput.getText());
             if (newSquareSize == null || newSquareSize < 1) return;
             this.squareSize = newSquareSize;
-            GridPane newGridMaze = this.createMazeGridPane(stage);
-            this.resetStartAndEndLocations();
-
-            borderPane.setCenter(newGridMaze);
             this.updateWindowDimensions(stage);
         });
 
@@ -254,7 +185,7 @@ public class SearchAlgorithmGUI extends Application {
         gridOptions.add(searchAlgorithmLabel, 0, 3);
 
         ComboBox<String> searchAlgorithmSelection = new ComboBox<>();
-        searchAlgorithmSelection.getItems().addAll("Breadth First Search", "Depth First Search", "Dijkstra's", "A*");
+        searchAlgorithmSelection.getItems().addAll("Breadth First Search", "Depth First Search", "Dijkstra's", "A*", "Jump Point Search", "D* Lite");
         searchAlgorithmSelection.setValue("Breadth First Search");
         gridOptions.add(searchAlgorithmSelection, 1, 3);
 
@@ -274,7 +205,6 @@ public class SearchAlgorithmGUI extends Application {
             Long newDelay = tryParseLong(delayBox.getText());
             if (newDelay == null || newDelay < 0) return;
             this.delay = newDelay;
-            this.searchAlgorithm.setDelay(this.delay);
         });
 
         GridPane gridControls = new GridPane();
@@ -288,18 +218,15 @@ public class SearchAlgorithmGUI extends Application {
 
         startButton.setOnAction(eh -> {
             if (this.status == GUIStatus.SEARCHING) return;
-            if (this.status == GUIStatus.FINISHED) this.setVerticesToDefault();
+            if (this.status != GUIStatus.PAUSED) {
+                if (this.status == GUIStatus.FINISHED) this.setVerticesToDefault();
+                this.session = this.searchAlgorithm.session(this.start, this.end);
+            }
             this.status = GUIStatus.SEARCHING;
             stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-            this.searchingThread = new Thread(() -> {
-                this.searchAlgorithm.findPath(this.start, this.end);
-                this.status = GUIStatus.FINISHED;
-                Platform.runLater(() -> {
-                    stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-                });
-            });
-            this.searchingThread.setDaemon(true);
-            this.searchingThread.start();
+            this.lastFrame = -1;
+            this.owedSteps = 0;
+            this.timer.start();
         });
 
         Button stopButton = new Button("Stop");
@@ -307,9 +234,9 @@ public class SearchAlgorithmGUI extends Application {
 
         stopButton.setOnAction(eh -> {
             if (this.status == GUIStatus.SEARCHING) {
-                this.searchAlgorithm.stop();
+                this.timer.stop();
+                this.status = GUIStatus.PAUSED;
                 stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-                this.searchingThread = null;
             }
         });
 
@@ -317,7 +244,7 @@ public class SearchAlgorithmGUI extends Application {
         gridControls.add(clearButton, 2, 0);
 
         clearButton.setOnAction(eh -> {
-            if (this.status == GUIStatus.SEARCHING) this.searchAlgorithm.stop();
+            this.endSearch();
             this.status = GUIStatus.NONE;
             stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
             this.setVerticesToDefault();
@@ -327,22 +254,20 @@ public class SearchAlgorithmGUI extends Application {
         gridControls.add(resetButton, 3, 0);
 
         resetButton.setOnAction(eh -> {
-            if (this.status == GUIStatus.SEARCHING) this.searchAlgorithm.stop();
+            this.endSearch();
             this.graph = GridGraph.makeFullGridGraph(this.graph.getRows(), this.graph.getCols());
-            GridPane newGridMaze = this.createMazeGridPane(stage);
+            GridCanvas newGridMaze = this.createMaze(stage);
             this.updateSearchAlgorithm(stage);
             this.resetStartAndEndLocations();
             borderPane.setCenter(newGridMaze);
             this.updateWindowDimensions(stage);
-            this.searchAlgorithm.stop();
-            this.searchingThread = null;
             this.status = GUIStatus.NONE;
             stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
         });
 
         borderPane.setLeft(optionsAndControls);
 
-        GridPane gridMaze = createMazeGridPane(stage);
+        GridCanvas gridMaze = this.createMaze(stage);
         borderPane.setCenter(gridMaze);
         this.resetStartAndEndLocations();
         this.updateSearchAlgorithm(stage);
@@ -353,128 +278,120 @@ public class SearchAlgorithmGUI extends Application {
         stage.show();
     }
 
-    private GridPane createMazeGridPane(Stage stage) {
-        GridPane newGridMaze = new GridPane();
-        newGridMaze.setBackground(new Background(new BackgroundFill(Color.GREY, CornerRadii.EMPTY, Insets.EMPTY)));
-        newGridMaze.setPadding(new Insets(1));
-        newGridMaze.setHgap(1);
-        newGridMaze.setVgap(1);
-
-        this.squares = new StackPaneGrid(this.graph.getRows(), this.graph.getCols());
+    private GridCanvas createMaze(Stage stage) {
+        this.squares = new GridCanvas(this.graph.getRows(), this.graph.getCols(), this.squareSize);
+        this.squares.clear(WHITE);
+        this.squares.setOnCellClicked(location -> this.cellClicked(location, stage));
         this.walls.clear();
-        for (int row = 0; row < this.graph.getRows(); row++) {
-            for (int col = 0; col < this.graph.getCols(); col++) {
-                final int rowFinal = row;
-                final int colFinal = col;
-                StackPane cell = new StackPane();
-                cell.setBackground(new Background(
-                    new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, new Insets(BORDER_SIZE)),
-                    new BackgroundFill(Color.WHITE, CornerRadii.EMPTY, Insets.EMPTY)
-                ));
-                cell.setPrefSize(this.squareSize, this.squareSize);
-                cell.setOnMouseClicked(eh -> {
-                    if (this.status == GUIStatus.SEARCHING) return;
-                    final Location location = new Location(rowFinal, colFinal);
-                    if (this.movingStart) {
-                        if (location.equals(this.start)) {
-                            this.movingStart = false;
-                            this.movingEnd = false;
-                            stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-                            return;
-                        } else if (location.equals(this.end)) {
-                            Location tmp = this.start;
-                            this.start = this.end;
-                            this.end = tmp;
-                            this.squares.get(this.start).setBackground(GREEN.getBackground());
-                            this.squares.get(this.end).setBackground(RED.getBackground());
-                        } else {
-                            this.squares.get(this.start).setBackground(WHITE.getBackground());
-                            this.start = location;
-                            this.squares.get(this.start).setBackground(GREEN.getBackground());
-                        }
-                        this.movingStart = false;
-                        this.movingEnd = false;
-                        stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-                    } else if (this.movingEnd) {
-                        if (location.equals(this.end)) {
-                            this.movingStart = false;
-                            this.movingEnd = false;
-                            stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-                            return;
-                        } else if (location.equals(this.start)) {
-                            Location tmp = this.end;
-                            this.end = this.start;
-                            this.start = tmp;
-                            this.squares.get(this.start).setBackground(GREEN.getBackground());
-                            this.squares.get(this.end).setBackground(RED.getBackground());
-                        } else {
-                            this.squares.get(this.end).setBackground(WHITE.getBackground());
-                            this.end = location;
-                            this.squares.get(this.end).setBackground(RED.getBackground());
-                        }
-                        this.movingEnd = false;
-                        this.movingStart = false;
-                        stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-                    } else if (location.equals(this.start) && !this.movingStart) {
-                        stage.setTitle("[" + this.status.name() + "] Search Algorithms: Moving Start");
-                        this.movingStart = true;
-                        this.movingEnd = false;
-                    } else if (location.equals(this.end) && !this.movingEnd) {
-                        stage.setTitle("[" + this.status.name() + "] Search Algorithms: Moving End");
-                        this.movingEnd = true;
-                        this.movingStart = false;
-                    } else {
-                        if (this.walls.contains(location)) {
-                            cell.setBackground(WHITE.getBackground());
-                            this.walls.remove(location);
-                            int[] rowOffsets = {0, 0, 1, -1};
-                            int[] colOffsets = {1, -1, 0, 0};
-                            for (int i = 0; i < 4; i++) {
-                                Location neighborLocation = new Location(location.getX() + colOffsets[i], location.getY() + rowOffsets[i]);
-                                if (this.graph.contains(neighborLocation) && !this.walls.contains(neighborLocation)) {
-                                    this.graph.connect_undirected(location, neighborLocation, 1);
-                                }
-                            }
-                        } else if (!(location.equals(this.start) || location.equals(this.end))) {
-                            cell.setBackground(BLACK.getBackground());
-                            this.walls.add(location);
-                            WVertex<Location> vertex = this.graph.vertices.get(location);
-                            vertex.getNeighbors().clear();
-                        }
+        return this.squares;
+    }
+
+    private void cellClicked(Location location, Stage stage) {
+        if (this.searchInProgress()) return;
+        if (this.movingStart) {
+            if (location.equals(this.start)) {
+                this.movingStart = false;
+                this.movingEnd = false;
+                stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
+                return;
+            } else if (location.equals(this.end)) {
+                Location tmp = this.start;
+                this.start = this.end;
+                this.end = tmp;
+                this.squares.set(this.start, GREEN);
+                this.squares.set(this.end, RED);
+            } else {
+                this.squares.set(this.start, WHITE);
+                this.start = location;
+                this.squares.set(this.start, GREEN);
+            }
+            this.movingStart = false;
+            this.movingEnd = false;
+            stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
+        } else if (this.movingEnd) {
+            if (location.equals(this.end)) {
+                this.movingStart = false;
+                this.movingEnd = false;
+                stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
+                return;
+            } else if (location.equals(this.start)) {
+                Location tmp = this.end;
+                this.end = this.start;
+                this.start = tmp;
+                this.squares.set(this.start, GREEN);
+                this.squares.set(this.end, RED);
+            } else {
+                this.squares.set(this.end, WHITE);
+                this.end = location;
+                this.squares.set(this.end, RED);
+            }
+            this.movingEnd = false;
+            this.movingStart = false;
+            stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
+        } else if (location.equals(this.start) && !this.movingStart) {
+            stage.setTitle("[" + this.status.name() + "] Search Algorithms: Moving Start");
+            this.movingStart = true;
+            this.movingEnd = false;
+        } else if (location.equals(this.end) && !this.movingEnd) {
+            stage.setTitle("[" + this.status.name() + "] Search Algorithms: Moving End");
+            this.movingEnd = true;
+            this.movingStart = false;
+        } else {
+            if (this.walls.contains(location)) {
+                this.squares.set(location, WHITE);
+                this.walls.remove(location);
+                int[] rowOffsets = {0, 0, 1, -1};
+                int[] colOffsets = {1, -1, 0, 0};
+                for (int i = 0; i < 4; i++) {
+                    Location neighborLocation = new Location(location.getX() + colOffsets[i], location.getY() + rowOffsets[i]);
+                    if (this.graph.contains(neighborLocation) && !this.walls.contains(neighborLocation)) {
+                        this.graph.connect_undirected(location, neighborLocation, 1);
                     }
-                });
-                newGridMaze.add(cell, colFinal, rowFinal);
-                this.squares.set(rowFinal, colFinal, cell);
+                }
+            } else if (!(location.equals(this.start) || location.equals(this.end))) {
+                this.squares.set(location, BLACK);
+                this.walls.add(location);
+                this.graph.isolate(location);
             }
         }
-        return newGridMaze;
     }
 
+    /*
+     * Start in the middle of the left edge and end in the middle of the right edge
+     */
     private void resetStartAndEndLocations() {
-        this.start = new Location(this.graph.getRows() / 2, 1);
-        this.end = new Location(this.graph.getRows() / 2, this.graph.getCols() - 2);
+        this.start = new Location(1, this.graph.getRows() / 2);
+        this.end = new Location(this.graph.getCols() - 2, this.graph.getRows() / 2);
 
         if (this.start.equals(this.end)) {
             this.start = new Location(0, 0);
-            this.end = new Location(this.graph.getRows() - 1, this.graph.getCols() - 1);
+            this.end = new Location(this.graph.getCols() - 1, this.graph.getRows() - 1);
         }
 
-        this.squares.get(this.start).setBackground(GREEN.getBackground());
-        this.squares.get(this.end).setBackground(RED.getBackground());
+        this.squares.set(this.start, GREEN);
+        this.squares.set(this.end, RED);
     }
 
+    /*
+     * Size the window to show the whole grid at the square size, up to MAX_VIEW_WIDTH x MAX_VIEW_HEIGHT;
+     * bigger grids are zoomed and panned inside the window
+     */
     private void updateWindowDimensions(Stage stage) {
         int rows = this.graph.getRows();
         int cols = this.graph.getCols();
-        double newHeight = 5 + (rows - 1) + ((rows + 2) * this.squareSize);
+        double newHeight = 40 + Math.min(MAX_VIEW_HEIGHT, rows * this.squareSize);
         if (newHeight < 238.5) newHeight = 238.5;
         stage.setHeight(newHeight);
 
-        double newWidth = 272 + (cols - 1) + ((cols + 2) * this.squareSize);
+        double newWidth = 272 + Math.min(MAX_VIEW_WIDTH, cols * this.squareSize);
         stage.setWidth(newWidth);
+        this.squares.fit();
     }
 
     private void updateSearchAlgorithm(Stage stage) {
+        if (this.searchAlgorithm instanceof DStarLite) {
+            ((DStarLite<Location>) this.searchAlgorithm).detach();
+        }
         switch (this.selectedAlgorithmString) {
             case "Breadth First Search":
                 this.searchAlgorithm = new BreadthFirstSearch<>(this.graph);
@@ -488,25 +405,35 @@ public class SearchAlgorithmGUI extends Application {
             case "A*":
                 this.searchAlgorithm = new AStar<>(this.graph);
                 break;
+            case "Jump Point Search":
+                this.searchAlgorithm = new JumpPointSearch(this.graph);
+                break;
+            case "D* Lite":
+                /* Keeps its search between runs and repairs it after wall edits */
+                this.searchAlgorithm = new DStarLite<>(this.graph);
+                break;
             default:
                 break;
         }
-        this.searchAlgorithm.setDelay(this.delay);
+        this.visualizer = new GridSearchVisualizer(this.graph);
+        /* Sessions are paced by the timer, so the visualizer must not sleep on the JavaFX thread */
+        this.visualizer.setDelay(0);
+        this.visualizer.setPathDelay(0);
+        this.searchAlgorithm.setListener(this.visualizer);
         stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
-        this.searchAlgorithm.registerObserver(location -> {
+        this.visualizer.registerObserver(location -> {
             if (location.equals(this.start) || location.equals(this.end)) return;
             if (this.walls.contains(location)) return;
-            StackPane square = this.squares.get(location);
-            GridVertex gv = (GridVertex) this.graph.vertices.get(location);
+            GridVertex gv = this.graph.getGridVertex(location);
             if (gv.getStatus() != null) switch (gv.getStatus()) {
                 case QUEUED:
-                    square.setBackground(CORNFLOWERBLUE.getBackground());
+                    this.squares.set(location, CORNFLOWERBLUE);
                     break;
                 case VISITED:
-                    square.setBackground(BLUE.getBackground());
+                    this.squares.set(location, BLUE);
                     break;
                 case PATH:
-                    square.setBackground(YELLOW.getBackground());
+                    this.squares.set(location, YELLOW);
                     break;
                 default:
                     break;
@@ -514,6 +441,38 @@ public class SearchAlgorithmGUI extends Application {
         });
     }
 
+    private boolean searchInProgress() {
+        return this.status == GUIStatus.SEARCHING || this.status == GUIStatus.PAUSED;
+    }
+
+    /*
+     * Step the session for one frame: one expansion per delay ms since the last frame, or as
+     * many as fit in FRAME_BUDGET with no delay
+     */
+    private void advanceSearch(long now, Stage stage) {
+        if (this.lastFrame < 0) this.lastFrame = now;
+        if (this.delay == 0) {
+            this.session.advanceUntil(System.nanoTime() + FRAME_BUDGET);
+        } else {
+            this.owedSteps += (now - this.lastFrame) / 1e6 / this.delay;
+            int steps = (int) this.owedSteps;
+            this.owedSteps -= steps;
+            this.session.step(steps);
+        }
+        this.lastFrame = now;
+        if (this.session.isFinished()) {
+            this.endSearch();
+            this.status = GUIStatus.FINISHED;
+            stage.setTitle("[" + this.status.name() + "] Search Algorithms: " + this.selectedAlgorithmString);
+        }
+    }
+
+    private void endSearch() {
+        this.timer.stop();
+        if (this.session != null) this.session.cancel();
+        this.session = null;
+    }
+
     private Integer tryParseInt(String text) {
         try {
             return Integer.valueOf(text);
@@ -531,15 +490,15 @@ public class SearchAlgorithmGUI extends Application {
     }
     
     private void setVerticesToDefault() {
-        for (Location location : this.graph.vertices.keySet()) {
-            GridVertex gv = (GridVertex) this.graph.vertices.get(location);
-            gv.setDefault();
-            if (this.walls.contains(location)) {
-                this.squares.get(location).setBackground(BLACK.getBackground());
-            } else if (!location.equals(this.start) && !location.equals(this.end)) {
-                this.squares.get(location).setBackground(WHITE.getBackground());
-            }
+        for (WVertex<Location> vertex : this.graph.vertices.values()) {
+            ((GridVertex) vertex).setDefault();
+        }
+        this.squares.clear(WHITE);
+        for (Location wall : this.walls) {
+            this.squares.set(wall, BLACK);
         }
+        this.squares.set(this.start, GREEN);
+        this.squares.set(this.end, RED);
     }
 
     public static void main(String[] args) {
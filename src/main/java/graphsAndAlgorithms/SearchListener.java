@@ -0,0 +1,11 @@
+package graphsAndAlgorithms;
+
+/*
+ * Receives the progress of a search as it runs.
+ * Searches without a listener skip these calls entirely.
+ */
+public interface SearchListener<T> {
+    void vertexQueued(T value);
+    void vertexVisited(T value);
+    void vertexOnPath(T value);
+}
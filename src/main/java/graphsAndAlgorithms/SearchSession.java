@@ -0,0 +1,117 @@
+package graphsAndAlgorithms;
+
+/*
+ * A search that runs a few expansions at a time. step() and advanceUntil() expand vertices
+ * until their budget is used up and return, keeping the frontier for the next call, so one
+ * thread (or an AnimationTimer) can interleave many searches, give each a slice of a frame
+ * and pause one by simply not stepping it.
+ *
+ * Events go to the listener the algorithm had when the session was made, on the thread that
+ * steps the session. A session owns its search state, so sessions of one algorithm do not
+ * disturb each other, but they read the graph as they go and should not outlive edits to it.
+ */
+public abstract class SearchSession<T extends Distancable<T>> {
+    private static final int CLOCK_INTERVAL = 16;
+
+    protected final SearchListener<T> listener;
+    protected int expansions;
+    private boolean finished;
+    private Path<WVertex<T>> path;
+
+    protected SearchSession(SearchListener<T> listener) {
+        this.listener = listener;
+        this.expansions = 0;
+        this.finished = false;
+        this.path = null;
+    }
+
+    /*
+     * Expand the next vertex, or call finish() if the search is over
+     */
+    protected abstract void expand();
+
+    /*
+     * End the search with path, null if there is none
+     */
+    protected void finish(Path<WVertex<T>> path) {
+        this.finished = true;
+        this.path = path;
+    }
+
+    /*
+     * Expand one vertex, true while the search has more to do
+     */
+    public boolean step() {
+        if (!this.finished) this.expand();
+        return !this.finished;
+    }
+
+    /*
+     * Expand up to count vertices, returning how many were expanded
+     */
+    public int step(int count) {
+        int before = this.expansions;
+        for (int i = 0; i < count && !this.finished; i++) {
+            this.expand();
+        }
+        return this.expansions - before;
+    }
+
+    /*
+     * Expand vertices until System.nanoTime() passes deadline, true while the search has more
+     * to do. The clock is read every few expansions, so the deadline can be overrun by a few.
+     */
+    public boolean advanceUntil(long deadline) {
+        while (!this.finished && System.nanoTime() < deadline) {
+            for (int i = 0; i < CLOCK_INTERVAL && !this.finished; i++) {
+                this.expand();
+            }
+        }
+        return !this.finished;
+    }
+
+    /*
+     * Run the search to the end and return its path
+     */
+    public Path<WVertex<T>> run() {
+        while (!this.finished) {
+            this.expand();
+        }
+        return this.path;
+    }
+
+    /*
+     * Give up on the search; it finishes with no path
+     */
+    public void cancel() {
+        this.finish(null);
+    }
+
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    /*
+     * Path found, null until the search finishes or if there is none
+     */
+    public Path<WVertex<T>> getPath() {
+        return this.path;
+    }
+
+    public int getExpansions() {
+        return this.expansions;
+    }
+
+    protected void queued(T value) {
+        if (this.listener != null) this.listener.vertexQueued(value);
+    }
+
+    protected void visited(T value) {
+        this.expansions++;
+        if (this.listener != null) this.listener.vertexVisited(value);
+    }
+
+    protected void onPath(T value) {
+        if (this.listener != null) this.listener.vertexOnPath(value);
+    }
+}
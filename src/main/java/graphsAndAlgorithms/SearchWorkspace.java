@@ -0,0 +1,126 @@
+package graphsAndAlgorithms;
+
+import java.util.Arrays;
+
+/*
+ * Reusable per search state indexed by vertex id: distances, predecessors, a closed
+ * (visited/settled) flag, an indexed heap and two int scratch arrays for queues and stacks.
+ *
+ * Entries are stamped with the generation of the search that wrote them, so begin()
+ * invalidates everything in O(1) and a short search only touches the vertices it explores.
+ * A workspace is used by one search at a time; forThread() hands out one per thread.
+ */
+public class SearchWorkspace {
+    private static final ThreadLocal<SearchWorkspace> POOL = ThreadLocal.withInitial(() -> new SearchWorkspace(0));
+    private static final ThreadLocal<SearchWorkspace> REVERSE_POOL = ThreadLocal.withInitial(() -> new SearchWorkspace(0));
+
+    private double[] distances;
+    private int[] predecessors;
+    private int[] reached;
+    private int[] closed;
+    private int[] queue;
+    private int[] cursors;
+    private IndexedMinHeap heap;
+    private int generation;
+
+    public SearchWorkspace(int capacity) {
+        this.allocate(capacity);
+    }
+
+    /*
+     * Returns this thread's workspace, already begun for a graph with capacity vertices
+     */
+    public static SearchWorkspace forThread(int capacity) {
+        SearchWorkspace workspace = POOL.get();
+        workspace.begin(capacity);
+        return workspace;
+    }
+
+    /*
+     * A second per thread workspace for the backward half of a bidirectional search
+     */
+    public static SearchWorkspace reverseForThread(int capacity) {
+        SearchWorkspace workspace = REVERSE_POOL.get();
+        workspace.begin(capacity);
+        return workspace;
+    }
+
+    /*
+     * Start a new search over vertex ids 0 to capacity - 1, forgetting the previous one
+     */
+    public void begin(int capacity) {
+        if (capacity > this.reached.length) {
+            this.allocate(Math.max(capacity, this.reached.length + (this.reached.length >> 1)));
+            return;
+        }
+        this.heap.clear();
+        this.generation++;
+        if (this.generation == Integer.MAX_VALUE) {
+            Arrays.fill(this.reached, 0);
+            Arrays.fill(this.closed, 0);
+            this.generation = 1;
+        }
+    }
+
+    public int capacity() {
+        return this.reached.length;
+    }
+
+    public boolean isReached(int id) {
+        return this.reached[id] == this.generation;
+    }
+
+    /*
+     * Record a tentative distance and predecessor (-1 for a start vertex) for id
+     */
+    public void reach(int id, double distance, int predecessor) {
+        this.reached[id] = this.generation;
+        this.distances[id] = distance;
+        this.predecessors[id] = predecessor;
+    }
+
+    public double distance(int id) {
+        return this.reached[id] == this.generation ? this.distances[id] : Double.POSITIVE_INFINITY;
+    }
+
+    public int predecessor(int id) {
+        return this.reached[id] == this.generation ? this.predecessors[id] : -1;
+    }
+
+    public boolean isClosed(int id) {
+        return this.closed[id] == this.generation;
+    }
+
+    public void close(int id) {
+        this.closed[id] = this.generation;
+    }
+
+    public IndexedMinHeap heap() {
+        return this.heap;
+    }
+
+    /*
+     * Scratch array of capacity() ints for a FIFO queue or a stack of vertex ids
+     */
+    public int[] queue() {
+        return this.queue;
+    }
+
+    /*
+     * Second scratch array of capacity() ints, e.g. edge cursors of an explicit DFS stack
+     */
+    public int[] cursors() {
+        return this.cursors;
+    }
+
+    private void allocate(int capacity) {
+        this.distances = new double[capacity];
+        this.predecessors = new int[capacity];
+        this.reached = new int[capacity];
+        this.closed = new int[capacity];
+        this.queue = new int[capacity];
+        this.cursors = new int[capacity];
+        this.heap = new IndexedMinHeap(capacity);
+        this.generation = 1;
+    }
+}
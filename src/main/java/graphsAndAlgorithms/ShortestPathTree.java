@@ -0,0 +1,159 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Shortest paths from one source over an IndexedGraph. Built by
+ * IndexedDijkstras.shortestPathTree() and BreadthFirstSearch.shortestPathTree() in one
+ * traversal, after which the distance and path to any vertex in the tree is a lookup and a walk
+ * up the predecessors.
+ *
+ * A tree built for a target set holds every vertex settled before the last target was, so
+ * vertices outside it are unreached here even if the graph connects them.
+ * Only the vertices in the tree are stored, with an open addressing index from vertex id, so a
+ * tree that stopped early costs memory for what it settled and not for the whole graph.
+ * The arrays belong to the tree, so it stays valid while other searches run.
+ */
+public class ShortestPathTree<T> {
+    private final IndexedGraph<T> graph;
+    private final int source;
+    private final int[] ids;
+    private final double[] distances;
+    private final int[] predecessors;
+    private final int[] slots;
+    private final int shift;
+    private final boolean countsVertices;
+
+    /*
+     * Copy the first count ids of order, with their distances and predecessors, out of workspace.
+     * countsVertices gives pathTo() the distance convention of BreadthFirstSearch.findPath().
+     */
+    ShortestPathTree(IndexedGraph<T> graph, int source, SearchWorkspace workspace, int[] order, int count, boolean countsVertices) {
+        this.graph = graph;
+        this.source = source;
+        this.ids = Arrays.copyOf(order, count);
+        this.distances = new double[count];
+        this.predecessors = new int[count];
+        this.countsVertices = countsVertices;
+
+        /* At most half full, so probes stay short */
+        int capacity = Integer.highestOneBit(Math.max(1, count)) << 2;
+        this.slots = new int[capacity];
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        for (int i = 0; i < count; i++) {
+            int id = this.ids[i];
+            this.distances[i] = workspace.distance(id);
+            this.predecessors[i] = workspace.predecessor(id);
+            int slot = this.slot(id);
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            this.slots[slot] = i + 1;
+        }
+    }
+
+    /*
+     * Set the bit of each target's id in bits, returning how many distinct targets the graph has
+     */
+    static <T> int markTargets(IndexedGraph<T> graph, Collection<T> targets, long[] bits) {
+        int count = 0;
+        for (T target : targets) {
+            int id = graph.indexOf(target);
+            if (id >= 0 && (bits[id >>> 6] & (1L << id)) == 0) {
+                bits[id >>> 6] |= 1L << id;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int slot(int id) {
+        return (id * 0x9E3779B9) >>> this.shift;
+    }
+
+    /*
+     * Position of id in the tree's arrays, -1 if it is not in the tree
+     */
+    private int positionOf(int id) {
+        int mask = this.slots.length - 1;
+        for (int slot = this.slot(id); this.slots[slot] != 0; slot = (slot + 1) & mask) {
+            int position = this.slots[slot] - 1;
+            if (this.ids[position] == id) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return this.graph;
+    }
+
+    public T getSource() {
+        return this.graph.valueOf(this.source);
+    }
+
+    /*
+     * Number of vertices in the tree, the source included
+     */
+    public int getSettled() {
+        return this.ids.length;
+    }
+
+    public boolean isReached(T vertex) {
+        int id = this.graph.indexOf(vertex);
+        return id >= 0 && this.isReached(id);
+    }
+
+    public boolean isReached(int id) {
+        return this.positionOf(id) >= 0;
+    }
+
+    /*
+     * Shortest distance from the source, infinity if vertex is not in the tree.
+     * Trees from BreadthFirstSearch count edges.
+     */
+    public double distance(T vertex) {
+        int id = this.graph.indexOf(vertex);
+        return id < 0 ? Double.POSITIVE_INFINITY : this.distance(id);
+    }
+
+    public double distance(int id) {
+        int position = this.positionOf(id);
+        return position < 0 ? Double.POSITIVE_INFINITY : this.distances[position];
+    }
+
+    /*
+     * Id before id on its shortest path, -1 for the source and for vertices not in the tree
+     */
+    public int predecessor(int id) {
+        int position = this.positionOf(id);
+        return position < 0 ? -1 : this.predecessors[position];
+    }
+
+    /*
+     * Shortest path from the source to vertex, or null if vertex is not in the tree
+     */
+    public Path<T> pathTo(T vertex) {
+        int id = this.graph.indexOf(vertex);
+        return id < 0 ? null : this.pathTo(id);
+    }
+
+    public Path<T> pathTo(int id) {
+        int position = this.positionOf(id);
+        if (position < 0) {
+            return null;
+        }
+        double distance = this.distances[position];
+        List<T> path = new ArrayList<>();
+        for (int current = id; current != -1; current = this.predecessor(current)) {
+            path.add(this.graph.valueOf(current));
+        }
+        Collections.reverse(path);
+        return new Path<>(path, this.countsVertices ? path.size() : distance);
+    }
+}
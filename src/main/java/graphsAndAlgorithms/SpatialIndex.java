@@ -0,0 +1,156 @@
+package graphsAndAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Uniform bucket grid over a fixed set of Locations for k nearest neighbor queries.
+ * The bounding box is cut into square buckets holding about two points each, stored bucket
+ * by bucket in one array. A query scans rings of buckets outward from the query's bucket and
+ * stops once no unscanned bucket can hold a point closer than the k-th best found, so for
+ * evenly spread points a query touches O(k) buckets.
+ * Points are identified by their position in the iteration order of the indexed collection.
+ */
+public class SpatialIndex {
+    private final Location[] points;
+    private final int[] ids;
+    private final int[] bucketStart;
+    private final int minX;
+    private final int minY;
+    private final int bucketSize;
+    private final int bucketsX;
+    private final int bucketsY;
+
+    public SpatialIndex(Collection<Location> locations) {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (Location location : locations) {
+            minX = Math.min(minX, location.getX());
+            minY = Math.min(minY, location.getY());
+            maxX = Math.max(maxX, location.getX());
+            maxY = Math.max(maxY, location.getY());
+        }
+        int count = locations.size();
+        if (count == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        double area = ((double) maxX - minX + 1) * ((double) maxY - minY + 1);
+        this.minX = minX;
+        this.minY = minY;
+        this.bucketSize = (int) Math.max(1, Math.ceil(Math.sqrt(2 * area / Math.max(1, count))));
+        this.bucketsX = (maxX - minX) / this.bucketSize + 1;
+        this.bucketsY = (maxY - minY) / this.bucketSize + 1;
+
+        /* Counting sort of the points by bucket */
+        this.bucketStart = new int[this.bucketsX * this.bucketsY + 1];
+        for (Location location : locations) {
+            this.bucketStart[this.bucketOf(location.getX(), location.getY()) + 1]++;
+        }
+        for (int i = 0; i < this.bucketsX * this.bucketsY; i++) {
+            this.bucketStart[i + 1] += this.bucketStart[i];
+        }
+        int[] next = new int[this.bucketsX * this.bucketsY];
+        System.arraycopy(this.bucketStart, 0, next, 0, next.length);
+        this.points = new Location[count];
+        this.ids = new int[count];
+        int id = 0;
+        for (Location location : locations) {
+            int slot = next[this.bucketOf(location.getX(), location.getY())]++;
+            this.points[slot] = location;
+            this.ids[slot] = id++;
+        }
+    }
+
+    public int size() {
+        return this.points.length;
+    }
+
+    private int bucketOf(int x, int y) {
+        return this.column(x) + this.row(y) * this.bucketsX;
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(this.bucketsX - 1, Math.floorDiv(x - this.minX, this.bucketSize)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(this.bucketsY - 1, Math.floorDiv(y - this.minY, this.bucketSize)));
+    }
+
+    /*
+     * Returns up to k indexed points closest to point, nearest first, not counting point itself
+     */
+    public List<Location> nearest(Location point, int k) {
+        if (k <= 0) return new ArrayList<>();
+        Location[] best = new Location[k];
+        double[] bestDistances = new double[k];
+        int found = 0;
+
+        int column = this.column(point.getX());
+        int row = this.row(point.getY());
+        int maxRing = Math.max(this.bucketsX, this.bucketsY);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int y = row - ring; y <= row + ring; y++) {
+                if (y < 0 || y >= this.bucketsY) continue;
+                boolean edgeRow = y == row - ring || y == row + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int x = column - ring; x <= column + ring; x += Math.max(1, step)) {
+                    if (x < 0 || x >= this.bucketsX) continue;
+                    int bucket = y * this.bucketsX + x;
+                    for (int i = this.bucketStart[bucket]; i < this.bucketStart[bucket + 1]; i++) {
+                        Location candidate = this.points[i];
+                        if (candidate.equals(point)) continue;
+                        double distance = point.distance(candidate);
+                        if (found == k && distance >= bestDistances[k - 1]) continue;
+
+                        /* Insertion into the sorted k best */
+                        int slot = found < k ? found++ : k - 1;
+                        while (slot > 0 && bestDistances[slot - 1] > distance) {
+                            best[slot] = best[slot - 1];
+                            bestDistances[slot] = bestDistances[slot - 1];
+                            slot--;
+                        }
+                        best[slot] = candidate;
+                        bestDistances[slot] = distance;
+                    }
+                }
+            }
+            /* Every unscanned bucket is at least ring buckets away */
+            if (found == k && bestDistances[k - 1] <= (double) ring * this.bucketSize) {
+                break;
+            }
+        }
+
+        List<Location> nearest = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            nearest.add(best[i]);
+        }
+        return nearest;
+    }
+
+    /*
+     * Returns the ids of the indexed points within radius of point, not counting point itself
+     */
+    public int[] within(Location point, double radius) {
+        int[] found = new int[8];
+        int count = 0;
+        int reach = (int) Math.ceil(radius / this.bucketSize);
+        int column = this.column(point.getX());
+        int row = this.row(point.getY());
+        for (int y = Math.max(0, row - reach); y <= Math.min(this.bucketsY - 1, row + reach); y++) {
+            for (int x = Math.max(0, column - reach); x <= Math.min(this.bucketsX - 1, column + reach); x++) {
+                int bucket = y * this.bucketsX + x;
+                for (int i = this.bucketStart[bucket]; i < this.bucketStart[bucket + 1]; i++) {
+                    if (this.points[i].equals(point) || point.distance(this.points[i]) > radius) continue;
+                    if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                    found[count++] = this.ids[i];
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+}
@@ -1,18 +1,70 @@
 package graphsAndAlgorithms;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class WAdjacencyGraph<E> implements WGraph<E> {
     protected final Map<E, WVertex<E>> vertices;
+    protected final List<WVertex<E>> indexed;
+    private final List<GraphChangeListener<E>> changeListeners;
+    private long version;
 
     public WAdjacencyGraph() {
         this.vertices = new HashMap<>();
+        this.indexed = new ArrayList<>();
+        this.changeListeners = new ArrayList<>();
+        this.version = 0;
+    }
+
+    /*
+     * Counter bumped by every change made through the graph (adding vertices, connecting,
+     * isolating), so results computed at one version can tell when they went stale.
+     * Edits made directly on a WVertex bypass it; call modified() after those.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    public void modified() {
+        this.version++;
+    }
+
+    /*
+     * Subscribe to edge changes, for searches that repair their results instead of starting over
+     */
+    public void addChangeListener(GraphChangeListener<E> listener) {
+        this.changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(GraphChangeListener<E> listener) {
+        this.changeListeners.remove(listener);
+    }
+
+    private void edgeChanged(WVertex<E> from, WVertex<E> to, double weight) {
+        for (GraphChangeListener<E> listener : this.changeListeners) {
+            listener.edgeChanged(from.getValue(), to.getValue(), weight);
+        }
     }
 
     @Override
     public void add(E value) {
-        WVertex<E> vertex = new WVertex<>(value);
-        vertices.put(value, vertex);
+        if (this.contains(value)) return;
+        this.register(new WVertex<>(value));
+    }
+
+    /*
+     * Add vertex to the graph and give it the next dense id
+     */
+    protected void register(WVertex<E> vertex) {
+        vertex.setIndex(this.indexed.size());
+        this.indexed.add(vertex);
+        this.vertices.put(vertex.getValue(), vertex);
+        this.modified();
+    }
+
+    public WVertex<E> vertexAt(int index) {
+        return this.indexed.get(index);
     }
 
     @Override
@@ -32,6 +84,9 @@ public class WAdjacencyGraph<E> implements WGraph<E> {
 
         vertexA.connect(vertexB, weight);
         vertexB.connect(vertexA, weight);
+        this.modified();
+        this.edgeChanged(vertexA, vertexB, weight);
+        this.edgeChanged(vertexB, vertexA, weight);
     }
 
     @Override
@@ -40,6 +95,28 @@ public class WAdjacencyGraph<E> implements WGraph<E> {
         WVertex<E> vertexB = vertices.get(b);
 
         vertexA.connect(vertexB, weight);
+        this.modified();
+        this.edgeChanged(vertexA, vertexB, weight);
+    }
+
+    @Override
+    public void isolate(E value) {
+        WVertex<E> vertex = vertices.get(value);
+        if (this.changeListeners.isEmpty()) {
+            vertex.isolate();
+            this.modified();
+            return;
+        }
+        List<WVertex<E>> neighbors = new ArrayList<>(vertex.getNeighbors().keySet());
+        List<WVertex<E>> predecessors = new ArrayList<>(vertex.getIncoming().keySet());
+        vertex.isolate();
+        this.modified();
+        for (WVertex<E> neighbor : neighbors) {
+            this.edgeChanged(vertex, neighbor, Double.POSITIVE_INFINITY);
+        }
+        for (WVertex<E> predecessor : predecessors) {
+            this.edgeChanged(predecessor, vertex, Double.POSITIVE_INFINITY);
+        }
     }
 
     @Override
@@ -57,4 +134,12 @@ public class WAdjacencyGraph<E> implements WGraph<E> {
 
         return vertexA.weight(vertexB);
     }
+
+    /*
+     * Take an immutable, int indexed snapshot of the graph for read only queries.
+     * Later changes to this graph are not reflected in the snapshot.
+     */
+    public CSRGraph<E> freeze() {
+        return new CSRGraph<>(this.vertices, new ArrayList<>(this.vertices.keySet()));
+    }
 }
@@ -6,6 +6,7 @@ public interface WGraph<E> {
     int size();
     void connect_undirected(E a, E b, double weight);
     void connect_directed(E a, E b, double weight);
+    void isolate(E value);
     boolean connected(E a, E b);
     double weight(E a, E b);
 }
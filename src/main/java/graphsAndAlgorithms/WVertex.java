@@ -1,5 +1,6 @@
 package graphsAndAlgorithms;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
@@ -7,18 +8,57 @@ import java.util.Map;
 public class WVertex<E> implements Comparator<WVertex<E>>{
     private final E value;
     private final Map<WVertex<E>, Double> neighbors;
+    private final Map<WVertex<E>, Double> incoming;
+    private final Map<WVertex<E>, Double> neighborsView;
+    private final Map<WVertex<E>, Double> incomingView;
+    private int index;
 
     public WVertex(E value) {
         this.value = value;
         this.neighbors = new HashMap<>();
+        this.incoming = new HashMap<>();
+        this.neighborsView = Collections.unmodifiableMap(this.neighbors);
+        this.incomingView = Collections.unmodifiableMap(this.incoming);
+        this.index = -1;
     }
 
     public E getValue() {
         return this.value;
     }
 
+    /*
+     * Dense id assigned by the graph this vertex was added to, -1 if it was never added
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     public void connect(WVertex<E> neighbor, double weight) {
         this.neighbors.put(neighbor, weight);
+        neighbor.incoming.put(this, weight);
+    }
+
+    public void disconnect(WVertex<E> neighbor) {
+        this.neighbors.remove(neighbor);
+        neighbor.incoming.remove(this);
+    }
+
+    /*
+     * Remove every edge into and out of this vertex
+     */
+    public void isolate() {
+        for (WVertex<E> neighbor : this.neighbors.keySet()) {
+            neighbor.incoming.remove(this);
+        }
+        for (WVertex<E> predecessor : this.incoming.keySet()) {
+            predecessor.neighbors.remove(this);
+        }
+        this.neighbors.clear();
+        this.incoming.clear();
     }
 
     public boolean connected(WVertex<E> vertex) {
@@ -29,8 +69,19 @@ public class WVertex<E> implements Comparator<WVertex<E>>{
         return this.neighbors.get(neighbor);
     }
 
+    /*
+     * Outgoing edges and their weights. Edit them through connect/disconnect so the
+     * reverse index stays in sync.
+     */
     public Map<WVertex<E>, Double> getNeighbors() {
-        return this.neighbors;
+        return this.neighborsView;
+    }
+
+    /*
+     * Reverse adjacency index: the vertices with an edge to this one and their weights
+     */
+    public Map<WVertex<E>, Double> getIncoming() {
+        return this.incomingView;
     }
 
     @Override
@@ -0,0 +1,79 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AllPairsShortestPathsTest {
+    @TempDir
+    java.nio.file.Path directory;
+
+    /*
+     * Every pair against Dijkstras, within float precision, and every path ending where it
+     * should with edges that add up to its distance
+     */
+    private static void assertMatchesDijkstras(IndexedGraph<Location> graph, DistanceMatrix<Location> matrix) {
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(graph);
+        for (int from = 0; from < graph.size(); from++) {
+            ShortestPathTree<Location> tree = dijkstras.shortestPathTree(graph.valueOf(from));
+            for (int to = 0; to < graph.size(); to++) {
+                Location end = graph.valueOf(to);
+                Path<Location> path = matrix.path(graph.valueOf(from), end);
+                if (!tree.isReached(to)) {
+                    assertEquals(Double.POSITIVE_INFINITY, matrix.distance(from, to));
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(tree.distance(to), matrix.distance(from, to), 1e-5 * (1 + tree.distance(to)));
+                assertEquals(end, path.path.get(path.path.size() - 1));
+                double length = 0;
+                for (int i = 1; i < path.path.size(); i++) {
+                    int u = graph.indexOf(path.path.get(i - 1));
+                    int v = graph.indexOf(path.path.get(i));
+                    double weight = Double.POSITIVE_INFINITY;
+                    for (int edge = graph.edgeStart(u); edge < graph.edgeEnd(u); edge++) {
+                        if (graph.edgeTarget(edge) == v) weight = Math.min(weight, graph.edgeWeight(edge));
+                    }
+                    length += weight;
+                }
+                assertEquals(tree.distance(to), length, 1e-5 * (1 + length));
+            }
+        }
+    }
+
+    @Test
+    public void bothMethodsMatchDijkstras() throws IOException {
+        /* A size that leaves the last row and column of tiles part empty */
+        CSRGraph<Location> graph = GraphGenerators.randomGeometric(300, 4, 21);
+        AllPairsShortestPaths<Location> allPairs = new AllPairsShortestPaths<>(graph, new ForkJoinPool(3));
+        assertEquals(AllPairsShortestPaths.Method.DIJKSTRA, allPairs.choose());
+
+        assertMatchesDijkstras(graph, allPairs.compute(AllPairsShortestPaths.Method.FLOYD_WARSHALL));
+        assertMatchesDijkstras(graph, allPairs.compute(AllPairsShortestPaths.Method.DIJKSTRA));
+        assertMatchesDijkstras(graph, allPairs.compute(AllPairsShortestPaths.Method.FLOYD_WARSHALL, this.directory.resolve("fw.matrix")));
+        assertMatchesDijkstras(graph, allPairs.compute(AllPairsShortestPaths.Method.DIJKSTRA, this.directory.resolve("dijkstra.matrix")));
+    }
+
+    @Test
+    public void negativeWeightsNeedFloydWarshall() {
+        GridGraph grid = GridGraph.makeFullGridGraph(10, 10);
+        grid.connect_directed(new Location(0, 0), new Location(9, 9), -3);
+        grid.connect_directed(new Location(5, 5), new Location(2, 7), -0.5);
+        CSRGraph<Location> graph = grid.freeze();
+        AllPairsShortestPaths<Location> allPairs = new AllPairsShortestPaths<>(graph);
+        assertEquals(AllPairsShortestPaths.Method.FLOYD_WARSHALL, allPairs.choose());
+        assertThrows(IllegalArgumentException.class, () -> allPairs.compute(AllPairsShortestPaths.Method.DIJKSTRA));
+
+        DistanceMatrix<Location> matrix = allPairs.compute();
+        assertEquals(-3, matrix.distance(new Location(0, 0), new Location(9, 9)));
+        assertEquals(-2, matrix.distance(new Location(0, 0), new Location(8, 9)));
+        assertEquals(1.5, matrix.distance(new Location(5, 4), new Location(2, 8)));
+        assertEquals(4, matrix.path(new Location(5, 4), new Location(2, 8)).path.size());
+    }
+}
@@ -0,0 +1,64 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BidirectionalDijkstrasTest {
+    private static double length(WAdjacencyGraph<Location> graph, Path<WVertex<Location>> path) {
+        double length = 0;
+        for (int i = 1; i < path.path.size(); i++) {
+            length += graph.weight(path.path.get(i - 1).getValue(), path.path.get(i).getValue());
+        }
+        return length;
+    }
+
+    @Test
+    public void matchesDijkstrasOnDirectedGraphs() {
+        Random random = new Random(7);
+        WAdjacencyGraph<Location> graph = new WAdjacencyGraph<>();
+        Location[] points = new Location[400];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Location(random.nextInt(1000), random.nextInt(1000) * 1000 + i);
+            graph.add(points[i]);
+        }
+        for (int i = 0; i < points.length * 3; i++) {
+            Location a = points[random.nextInt(points.length)];
+            Location b = points[random.nextInt(points.length)];
+            if (!a.equals(b)) graph.connect_directed(a, b, a.distance(b) * (1 + random.nextDouble()));
+        }
+        CSRGraph<Location> csr = graph.freeze();
+
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        BidirectionalDijkstras<Location> bidirectional = new BidirectionalDijkstras<>(graph);
+        BidirectionalAStar<Location> bidirectionalAStar = new BidirectionalAStar<>(graph);
+        for (int i = 0; i < 200; i++) {
+            Location start = points[random.nextInt(points.length)];
+            Location end = points[random.nextInt(points.length)];
+            Path<WVertex<Location>> expected = dijkstras.findPath(start, end);
+            if (expected == null) {
+                assertNull(bidirectional.findPath(start, end));
+                assertNull(BidirectionalDijkstras.findPath(csr, start, end, Heuristic.straightLine(csr)));
+                continue;
+            }
+            Path<WVertex<Location>> path = bidirectional.findPath(start, end);
+            assertEquals(expected.distance, path.distance, 1e-6);
+            assertEquals(expected.distance, length(graph, path), 1e-6);
+            path = bidirectionalAStar.findPath(start, end);
+            assertEquals(expected.distance, length(graph, path), 1e-6);
+            assertEquals(expected.distance, BidirectionalDijkstras.findPath(csr, start, end, null).distance, 1e-6);
+            assertEquals(expected.distance, BidirectionalDijkstras.findPath(csr, start, end, Heuristic.straightLine(csr)).distance, 1e-6);
+        }
+    }
+
+    @Test
+    public void isolatedVerticesLeaveBothIndexes() {
+        GridGraph graph = GridGraph.makeFullGridGraph(3, 3);
+        graph.isolate(new Location(1, 1));
+        assertEquals(2, graph.vertices.get(new Location(0, 1)).getIncoming().size());
+        assertEquals(4, new BidirectionalDijkstras<>(graph).findPath(new Location(1, 0), new Location(1, 2)).distance);
+    }
+}
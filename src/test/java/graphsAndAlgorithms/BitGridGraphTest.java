@@ -0,0 +1,73 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class BitGridGraphTest {
+    @Test
+    public void matchesGridGraphWithWalls() {
+        GridGraph graph = GridGraph.makeFullGridGraph(12, 12);
+        BitGridGraph grid = new BitGridGraph(12, 12);
+        for (int y = 0; y < 10; y++) {
+            graph.isolate(new Location(5, y));
+            grid.setWall(5, y, true);
+        }
+        Location start = new Location(0, 0);
+        Location end = new Location(9, 2);
+
+        Path<Location> expected = new IndexedDijkstras<>(graph.freeze()).findPath(start, end);
+        assertEquals(expected.distance, new IndexedDijkstras<>(grid).findPath(start, end).distance);
+        assertEquals(expected.distance, new IndexedDijkstras<>(grid, Heuristic.straightLine(grid)).findPath(start, end).distance);
+        assertEquals(expected.distance, BidirectionalDijkstras.findPath(grid, start, end, null).distance);
+        assertEquals(expected.path.size(), BreadthFirstSearch.findPath(grid, start, end).path.size());
+
+        grid.toggleWall(5, 11);
+        grid.toggleWall(5, 10);
+        assertTrue(grid.isWall(5, 11));
+        assertNull(new IndexedDijkstras<>(grid).findPath(start, end));
+        grid.toggleWall(5, 11);
+        assertFalse(grid.isWall(5, 11));
+        assertEquals(expected.distance + 2, new IndexedDijkstras<>(grid).findPath(start, end).distance);
+    }
+
+    @Test
+    public void costMapChargesEnteredCell() {
+        BitGridGraph grid = new BitGridGraph(3, 3);
+        byte[] costs = new byte[9];
+        Arrays.fill(costs, (byte) 1);
+        costs[grid.id(1, 0)] = (byte) 200;
+        costs[grid.id(1, 1)] = 5;
+        grid.setCostMap(costs);
+        Location start = new Location(0, 0);
+        Location end = new Location(2, 0);
+
+        assertEquals(6, new IndexedDijkstras<>(grid).findPath(start, end).distance);
+        assertEquals(6, BidirectionalDijkstras.findPath(grid, start, end, null).distance);
+        grid.setCostMap((byte[]) null);
+        assertEquals(2, new IndexedDijkstras<>(grid).findPath(start, end).distance);
+    }
+
+    @Test
+    public void diagonalMovesDoNotCutCorners() {
+        BitGridGraph grid = new BitGridGraph(3, 3, true);
+        Location start = new Location(0, 0);
+        Location end = new Location(2, 2);
+
+        assertEquals(2 * Math.sqrt(2), new IndexedDijkstras<>(grid).findPath(start, end).distance, 1e-9);
+        grid.setWall(1, 0, true);
+        assertEquals(2 + Math.sqrt(2), new IndexedDijkstras<>(grid).findPath(start, end).distance, 1e-9);
+        grid.setWall(1, 1, true);
+        assertEquals(4, new IndexedDijkstras<>(grid).findPath(start, end).distance, 1e-9);
+        assertEquals(-1, grid.indexOf(new Location(3, 0)));
+
+        /* 400 million cells would overflow the int edge ids of 8 slots per cell */
+        assertThrows(IllegalArgumentException.class, () -> new BitGridGraph(20000, 20000, true));
+    }
+}
@@ -0,0 +1,46 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class CSRGraphTest {
+    @Test
+    public void freezeKeepsEveryEdge() {
+        GridGraph graph = GridGraph.makeFullGridGraph(4, 5);
+        CSRGraph<Location> csr = graph.freeze();
+
+        assertEquals(20, csr.size());
+        assertEquals(2 * (4 * 4 + 3 * 5), csr.edgeCount());
+        for (int id = 0; id < csr.size(); id++) {
+            Location value = csr.valueOf(id);
+            assertEquals(id, csr.indexOf(value));
+            for (int edge = csr.edgeStart(id); edge < csr.edgeEnd(id); edge++) {
+                Location neighbor = csr.valueOf(csr.edgeTarget(edge));
+                assertEquals(graph.weight(value, neighbor), csr.edgeWeight(edge));
+            }
+        }
+        assertEquals(-1, csr.indexOf(new Location(10, 10)));
+    }
+
+    @Test
+    public void searchesRunOnSnapshot() {
+        GridGraph graph = GridGraph.makeFullGridGraph(10, 10);
+        CSRGraph<Location> csr = graph.freeze();
+        Location start = new Location(0, 0);
+        Location end = new Location(7, 4);
+
+        assertEquals(11, new IndexedDijkstras<>(csr).findPath(start, end).distance);
+        assertEquals(11, new IndexedDijkstras<>(csr, Heuristic.straightLine(csr)).findPath(start, end).distance);
+        assertEquals(12, BreadthFirstSearch.findPath(csr, start, end).path.size());
+
+        Path<Location> dfs = DepthFirstSearch.findPath(csr, start, end);
+        assertNotNull(dfs);
+        assertEquals(start, dfs.path.get(0));
+        assertEquals(end, dfs.path.get(dfs.path.size() - 1));
+
+        assertNull(new IndexedDijkstras<>(csr).findPath(start, new Location(20, 20)));
+    }
+}
@@ -0,0 +1,69 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractionHierarchyTest {
+    @Test
+    public void distancesMatchDijkstras() {
+        GridGraph graph = GridGraph.makeRandomGridGraph(5000, 3, 13);
+        CSRGraph<Location> csr = graph.freeze();
+        ContractionHierarchy<Location> hierarchy = new ContractionHierarchy<>(csr);
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(csr);
+
+        SplittableRandom random = new SplittableRandom(13);
+        for (int i = 0; i < 300; i++) {
+            int source = random.nextInt(csr.size());
+            int target = random.nextInt(csr.size());
+            double expected = dijkstras.distance(source, target);
+            assertEquals(expected, hierarchy.distance(source, target), 1e-9);
+
+            Path<Location> path = hierarchy.findPath(csr.valueOf(source), csr.valueOf(target));
+            if (expected == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+                continue;
+            }
+            /* The unpacked path is made of original edges adding up to the distance */
+            double length = 0;
+            for (int j = 1; j < path.path.size(); j++) {
+                length += graph.weight(path.path.get(j - 1), path.path.get(j));
+            }
+            assertEquals(expected, length, 1e-9);
+            assertEquals(csr.valueOf(target), path.path.get(path.path.size() - 1));
+        }
+    }
+
+    @Test
+    public void directedGraphAndSmallSearchSpace() {
+        GridGraph grid = GridGraph.makeFullGridGraph(60, 60);
+        /* One way shortcut lane along the top row */
+        for (int x = 1; x < 60; x++) {
+            grid.connect_directed(new Location(x - 1, 0), new Location(x, 0), 0.5);
+        }
+        CSRGraph<Location> csr = grid.freeze();
+        ContractionHierarchy<Location> hierarchy = new ContractionHierarchy<>(csr);
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(csr);
+
+        SplittableRandom random = new SplittableRandom(5);
+        int expansions = 0;
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(csr.size());
+            int target = random.nextInt(csr.size());
+            assertEquals(dijkstras.distance(source, target), hierarchy.distance(source, target), 1e-9);
+            expansions += hierarchy.getExpansions();
+        }
+        assertTrue(expansions / 200 < csr.size() / 4);
+
+        /* Counts are kept per thread, so a query elsewhere leaves this thread's alone */
+        hierarchy.distance(0, csr.size() - 1);
+        int own = hierarchy.getExpansions();
+        CompletableFuture.runAsync(() -> hierarchy.distance(0, 1)).join();
+        assertEquals(own, hierarchy.getExpansions());
+    }
+}
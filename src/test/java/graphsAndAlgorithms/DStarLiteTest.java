@@ -0,0 +1,98 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class DStarLiteTest {
+    private static final int SIZE = 80;
+
+    /* The GUI's wall toggle: isolate to place a wall, reconnect open neighbors to clear it */
+    private static void toggle(GridGraph graph, Set<Location> walls, Location location) {
+        if (walls.remove(location)) {
+            int[] dx = {1, -1, 0, 0};
+            int[] dy = {0, 0, 1, -1};
+            for (int i = 0; i < 4; i++) {
+                Location neighbor = new Location(location.getX() + dx[i], location.getY() + dy[i]);
+                if (graph.contains(neighbor) && !walls.contains(neighbor)) {
+                    graph.connect_undirected(location, neighbor, 1);
+                }
+            }
+        } else {
+            walls.add(location);
+            graph.isolate(location);
+        }
+    }
+
+    private static void assertSameDistance(Path<WVertex<Location>> expected, Path<WVertex<Location>> actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.distance, actual.distance, 1e-9);
+        double length = 0;
+        List<WVertex<Location>> path = actual.path;
+        for (int i = 1; i < path.size(); i++) {
+            length += path.get(i - 1).weight(path.get(i));
+        }
+        assertEquals(actual.distance, length, 1e-9);
+    }
+
+    @Test
+    public void repairsMatchFullSearchesAfterWallEdits() {
+        GridGraph graph = GridGraph.makeFullGridGraph(SIZE, SIZE);
+        SplittableRandom random = new SplittableRandom(5);
+        Set<Location> walls = new HashSet<>();
+        Location start = new Location(2, 2);
+        Location end = new Location(SIZE - 3, SIZE - 3);
+        for (int i = 0; i < SIZE * SIZE / 4; i++) {
+            Location wall = new Location(random.nextInt(SIZE), random.nextInt(SIZE));
+            if (!wall.equals(start) && !wall.equals(end) && !walls.contains(wall)) toggle(graph, walls, wall);
+        }
+
+        DStarLite<Location> dStarLite = new DStarLite<>(graph);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        assertSameDistance(dijkstras.findPath(start, end), dStarLite.findPath(start, end));
+        int fullExpansions = dStarLite.getExpansions();
+
+        long repairExpansions = 0;
+        for (int i = 0; i < 200; i++) {
+            Location cell = new Location(random.nextInt(SIZE), random.nextInt(SIZE));
+            if (cell.equals(start) || cell.equals(end)) continue;
+            toggle(graph, walls, cell);
+            if (i % 10 == 0) {
+                /* Move the start one step, as a robot following the path would */
+                Path<WVertex<Location>> path = dStarLite.findPath(start, end);
+                if (path != null && path.path.size() > 1) start = path.path.get(1).getValue();
+            }
+            assertSameDistance(dijkstras.findPath(start, end), dStarLite.findPath(start, end));
+            repairExpansions += dStarLite.getExpansions();
+        }
+        assertTrue(repairExpansions / 200 < fullExpansions / 20, repairExpansions / 200 + " vs " + fullExpansions);
+    }
+
+    @Test
+    public void newEndStartsOverAndUnreachableIsNull() {
+        GridGraph graph = GridGraph.makeFullGridGraph(10, 10);
+        DStarLite<Location> dStarLite = new DStarLite<>(graph);
+        assertEquals(18, dStarLite.findPath(new Location(0, 0), new Location(9, 9)).distance, 1e-9);
+        assertEquals(9, dStarLite.findPath(new Location(0, 0), new Location(0, 9)).distance, 1e-9);
+
+        graph.isolate(new Location(0, 9));
+        assertNull(dStarLite.findPath(new Location(0, 0), new Location(0, 9)));
+        graph.connect_undirected(new Location(0, 9), new Location(1, 9), 1);
+        assertEquals(11, dStarLite.findPath(new Location(0, 0), new Location(0, 9)).distance, 1e-9);
+
+        dStarLite.detach();
+        graph.isolate(new Location(1, 9));
+        dStarLite.reset();
+        assertNull(dStarLite.findPath(new Location(0, 0), new Location(0, 9)));
+    }
+}
@@ -0,0 +1,94 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class DeltaSteppingTest {
+    /*
+     * Exact agreement with Dijkstras on sampled ends, and no edge left that could still
+     * shorten any distance
+     */
+    private static void assertMatchesDijkstras(IndexedGraph<Location> graph, DeltaStepping<Location> deltaStepping, long seed) {
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(graph);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int query = 0; query < 3; query++) {
+            int source = random.nextInt(graph.size());
+            double[] distances = deltaStepping.distances(source);
+            assertEquals(0, distances[source]);
+            for (int v = 0; v < graph.size(); v++) {
+                for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                    int target = graph.edgeTarget(edge);
+                    if (target >= 0) assertTrue(distances[target] <= distances[v] + graph.edgeWeight(edge));
+                }
+            }
+            for (int i = 0; i < 100; i++) {
+                int end = random.nextInt(graph.size());
+                Path<Location> expected = dijkstras.findPath(graph.valueOf(source), graph.valueOf(end));
+                Path<Location> path = deltaStepping.tracePath(distances, source, end);
+                if (expected == null) {
+                    assertEquals(Double.POSITIVE_INFINITY, distances[end]);
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(expected.distance, distances[end], 0);
+                assertEquals(graph.valueOf(source), path.path.get(0));
+                assertEquals(graph.valueOf(end), path.path.get(path.path.size() - 1));
+            }
+        }
+    }
+
+    @Test
+    public void matchesDijkstrasAcrossGraphFamilies() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        IndexedGraph<Location> geometric = GraphGenerators.randomGeometric(20000, 6, 17);
+        IndexedGraph<Location> grid = GraphGenerators.obstacleGrid(150, 150, 0.3, true, 17);
+        IndexedGraph<Location> scaleFree = GraphGenerators.scaleFree(20000, 3, 17);
+        for (IndexedGraph<Location> graph : List.of(geometric, grid, scaleFree)) {
+            assertMatchesDijkstras(graph, new DeltaStepping<>(graph, Double.NaN, pool), 17);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void anyDeltaGivesTheSameDistances() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        IndexedGraph<Location> graph = GraphGenerators.randomGeometric(5000, 5, 23);
+        double[] expected = new DeltaStepping<>(graph).distances(0);
+        for (double delta : new double[] {1e-3, 0.5, 3, 1e6}) {
+            DeltaStepping<Location> deltaStepping = new DeltaStepping<>(graph, delta, pool);
+            assertEquals(delta, deltaStepping.getDelta());
+            double[] distances = deltaStepping.distances(0);
+            for (int v = 0; v < graph.size(); v++) {
+                assertEquals(expected[v], distances[v], 0);
+            }
+        }
+        assertNull(new DeltaStepping<>(graph).distances(new Location(-1, -1)));
+        pool.shutdown();
+    }
+
+    @Test
+    public void farDistancesKeepFewBuckets() {
+        WAdjacencyGraph<Location> line = new WAdjacencyGraph<>();
+        for (int i = 0; i <= 1000; i++) {
+            line.add(new Location(i, 0));
+        }
+        for (int i = 0; i < 1000; i++) {
+            line.connect_directed(new Location(i, 0), new Location(i + 1, 0), 1e7);
+        }
+        IndexedGraph<Location> graph = line.freeze();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        double[] distances = new DeltaStepping<>(graph, 1e4, pool).distances(new Location(0, 0));
+        assertEquals(1e10, distances[graph.indexOf(new Location(1000, 0))], 0);
+        assertThrows(IllegalArgumentException.class, () -> new DeltaStepping<>(graph, 1e-3));
+        assertThrows(IllegalArgumentException.class, () -> new DeltaStepping<>(graph, 0));
+        pool.shutdown();
+    }
+}
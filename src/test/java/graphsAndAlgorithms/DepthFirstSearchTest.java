@@ -0,0 +1,55 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class DepthFirstSearchTest {
+    @Test
+    public void deepSearchesDoNotOverflowTheStack() {
+        WAdjacencyGraph<Location> graph = new WAdjacencyGraph<>();
+        for (int x = 0; x < 100000; x++) {
+            graph.add(new Location(x, 0));
+            if (x > 0) graph.connect_undirected(new Location(x - 1, 0), new Location(x, 0), 1);
+        }
+        Path<WVertex<Location>> path = new DepthFirstSearch<>(graph).findPath(new Location(0, 0), new Location(99999, 0));
+        assertEquals(100000, path.path.size());
+        assertEquals(path.path.size(), path.distance);
+        for (int i = 1; i < path.path.size(); i++) {
+            assertTrue(path.path.get(i - 1).connected(path.path.get(i)));
+        }
+
+        /* The snake through every row of an open grid is a million vertices deep */
+        BitGridGraph grid = new BitGridGraph(1000, 1000);
+        Path<Location> snake = DepthFirstSearch.findPath(grid, new Location(0, 0), new Location(0, 999));
+        assertEquals(1000 * 1000, snake.path.size());
+    }
+
+    @Test
+    public void iterativeDeepeningFindsFewestHops() {
+        BitGridGraph grid = GraphGenerators.obstacleGrid(20, 20, 0.3, false, 6);
+        SplittableRandom random = new SplittableRandom(6);
+        for (int i = 0; i < 30; i++) {
+            Location start = grid.valueOf(random.nextInt(grid.size()));
+            Location end = grid.valueOf(random.nextInt(grid.size()));
+            Path<Location> expected = BreadthFirstSearch.findPath(grid, start, end);
+            Path<Location> path = DepthFirstSearch.iterativeDeepening(grid, start, end);
+            if (expected == null) {
+                assertNull(path);
+                assertNull(DepthFirstSearch.findPath(grid, start, end));
+                continue;
+            }
+            assertEquals(expected.path.size(), path.path.size());
+            assertEquals(end, path.path.get(path.path.size() - 1));
+
+            int hops = expected.path.size() - 1;
+            assertNotNull(DepthFirstSearch.findPath(grid, start, end, hops));
+            if (hops > 0) assertNull(DepthFirstSearch.findPath(grid, start, end, hops - 1));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class DimacsTest {
+    private static InputStream text(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void arcsAndCoordinatesAreRead() throws IOException {
+        String arcs = "c 9th DIMACS Implementation Challenge: Shortest Paths\n"
+            + "c tiny test graph\n"
+            + "p sp 5 7\n"
+            + "c arcs not grouped by source\n"
+            + "a 1 2 4\n"
+            + "a 3 4 2\n"
+            + "a 1 3 1\r\n"
+            + "a 3 2 2\n"
+            + "a 2 4 5\n"
+            + "a 4 1 7\n"
+            + "a 5 1 1\n";
+        String coordinates = "p aux sp co 5\n"
+            + "v 1 -73530767 41085396\n"
+            + "v 2 -73530538 41086098\n"
+            + "v 3 -73519366 41048796\n"
+            + "v 4 -73519366 41048796\n"
+            + "v 5 -73524567 41093673\n";
+        RoadGraph graph = Dimacs.read(text(arcs), text(coordinates));
+        assertEquals(5, graph.size());
+        assertEquals(7, graph.edgeCount());
+        assertEquals(2, graph.edgeEnd(0) - graph.edgeStart(0));
+        assertEquals(2, graph.edgeEnd(2) - graph.edgeStart(2));
+        assertEquals(1, graph.edgeEnd(4) - graph.edgeStart(4));
+
+        /* Vertices 3 and 4 share coordinates but stay distinct */
+        RoadVertex third = graph.valueOf(2);
+        assertEquals(-73519366, third.getX());
+        assertEquals(41048796, third.getY());
+        assertEquals(2, graph.indexOf(third));
+        assertEquals(3, graph.indexOf(graph.valueOf(3)));
+
+        IndexedDijkstras<RoadVertex> dijkstras = new IndexedDijkstras<>(graph);
+        assertEquals(3, dijkstras.findPath(graph.valueOf(0), graph.valueOf(3)).distance);
+        assertEquals(3, dijkstras.findPath(graph.valueOf(0), graph.valueOf(1)).distance);
+        assertEquals(7, new IndexedDijkstras<>(graph.reverse()).findPath(graph.valueOf(0), graph.valueOf(3)).distance);
+        assertNull(dijkstras.findPath(graph.valueOf(0), graph.valueOf(4)));
+
+        /* Grouped arcs are used as they are and give the same graph */
+        RoadGraph grouped = Dimacs.read(text("p sp 5 7\na 1 2 4\na 1 3 1\na 2 4 5\na 3 4 2\na 3 2 2\na 4 1 7\na 5 1 1\n"), null);
+        IndexedDijkstras<RoadVertex> groupedDijkstras = new IndexedDijkstras<>(grouped);
+        for (int v = 0; v < 5; v++) {
+            for (int u = 0; u < 5; u++) {
+                Path<RoadVertex> expected = dijkstras.findPath(graph.valueOf(v), graph.valueOf(u));
+                Path<RoadVertex> path = groupedDijkstras.findPath(grouped.valueOf(v), grouped.valueOf(u));
+                assertEquals(expected == null, path == null);
+                if (expected != null) assertEquals(expected.distance, path.distance);
+            }
+        }
+    }
+
+    @Test
+    public void malformedFilesAreRejected() {
+        assertThrows(IOException.class, () -> Dimacs.read(text("a 1 2 3\n"), null));
+        assertThrows(IOException.class, () -> Dimacs.read(text("p sp 2 2\na 1 2 3\n"), null));
+        assertThrows(IOException.class, () -> Dimacs.read(text("p sp 2 1\na 1 3 3\n"), null));
+        assertThrows(IOException.class, () -> Dimacs.read(text("p sp 2 1\na 1 x 3\n"), null));
+        assertThrows(IOException.class, () -> Dimacs.read(text("p sp 2 1\na 1 2 3\n"), text("v 3 0 0\n")));
+    }
+}
@@ -0,0 +1,86 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class GraphGeneratorsTest {
+    private static int[] targets(IndexedGraph<?> graph) {
+        int[] targets = new int[graph.edgeEnd(graph.size() - 1)];
+        for (int edge = 0; edge < targets.length; edge++) {
+            targets[edge] = graph.edgeTarget(edge);
+        }
+        return targets;
+    }
+
+    @Test
+    public void mazesArePerfect() {
+        for (GraphGenerators.MazeAlgorithm algorithm : GraphGenerators.MazeAlgorithm.values()) {
+            BitGridGraph maze = GraphGenerators.maze(70, 45, algorithm, 42);
+            assertEquals(141, maze.getRows());
+            assertEquals(91, maze.getCols());
+
+            int open = 0;
+            int edges = 0;
+            for (int id = 0; id < maze.size(); id++) {
+                if (maze.isWall(id)) continue;
+                open++;
+                for (int edge = maze.edgeStart(id); edge < maze.edgeEnd(id); edge++) {
+                    if (maze.edgeTarget(edge) >= 0) edges++;
+                }
+            }
+            /* A tree: connected with one edge fewer than vertices */
+            assertEquals(open - 1, edges / 2);
+            Path<Location> path = BreadthFirstSearch.findPath(maze, new Location(1, 1), new Location(89, 139));
+            assertNotNull(path);
+            assertArrayEquals(targets(maze), targets(GraphGenerators.maze(70, 45, algorithm, 42)));
+        }
+    }
+
+    @Test
+    public void obstacleDensityAndSeeds() {
+        BitGridGraph grid = GraphGenerators.obstacleGrid(300, 301, 0.3, false, 7);
+        int walls = 0;
+        for (int id = 0; id < grid.size(); id++) {
+            if (grid.isWall(id)) walls++;
+        }
+        assertEquals(0.3, walls / (double) grid.size(), 0.01);
+        assertArrayEquals(targets(grid), targets(GraphGenerators.obstacleGrid(300, 301, 0.3, false, 7)));
+    }
+
+    @Test
+    public void randomGeometricIsSymmetric() {
+        CSRGraph<Location> graph = GraphGenerators.randomGeometric(20000, 6, 3);
+        assertEquals(20000, graph.size());
+        assertEquals(6, graph.edgeCount() / (double) graph.size(), 0.5);
+        for (int id = 0; id < graph.size(); id += 97) {
+            for (int edge = graph.edgeStart(id); edge < graph.edgeEnd(id); edge++) {
+                int neighbor = graph.edgeTarget(edge);
+                boolean back = false;
+                for (int other = graph.edgeStart(neighbor); other < graph.edgeEnd(neighbor); other++) {
+                    back |= graph.edgeTarget(other) == id;
+                }
+                assertTrue(back);
+                assertEquals(graph.valueOf(id).distance(graph.valueOf(neighbor)), graph.edgeWeight(edge));
+            }
+        }
+        assertArrayEquals(targets(graph), targets(GraphGenerators.randomGeometric(20000, 6, 3)));
+    }
+
+    @Test
+    public void scaleFreeHasHubs() {
+        CSRGraph<Location> graph = GraphGenerators.scaleFree(20000, 3, 5);
+        int maxDegree = 0;
+        for (int id = 0; id < graph.size(); id++) {
+            maxDegree = Math.max(maxDegree, graph.degree(id));
+        }
+        assertTrue(maxDegree > 100);
+        assertTrue(graph.edgeCount() > 2 * 2.5 * 20000);
+        assertArrayEquals(targets(graph), targets(GraphGenerators.scaleFree(20000, 3, 5)));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerators.scaleFree(1 << 20, 1 << 10, 5));
+    }
+}
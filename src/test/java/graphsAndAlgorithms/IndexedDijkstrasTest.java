@@ -0,0 +1,44 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexedDijkstrasTest {
+    @Test
+    public void matchesDijkstras() {
+        GridGraph graph = GridGraph.makeRandomGridGraph(300);
+        CSRGraph<Location> csr = graph.freeze();
+        IndexedDijkstras<Location> engine = new IndexedDijkstras<>(csr);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+
+        for (int source = 0; source < csr.size(); source += 37) {
+            for (int target = 0; target < csr.size(); target += 29) {
+                Path<WVertex<Location>> expected = dijkstras.findPath(csr.valueOf(source), csr.valueOf(target));
+                double distance = engine.distance(source, target);
+                assertEquals(expected == null ? Double.POSITIVE_INFINITY : expected.distance, distance, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void heapPollsInKeyOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(10);
+        double[] keys = { 5, 3, 8, 1, 9, 2, 7, 4, 6, 0 };
+        for (int id = 0; id < keys.length; id++) {
+            heap.offer(id, keys[id] + 10);
+        }
+        for (int id = 0; id < keys.length; id++) {
+            heap.offer(id, keys[id]);
+        }
+        assertEquals(false, heap.offer(3, 5));
+
+        List<Integer> expected = List.of(9, 3, 5, 1, 7, 0, 8, 6, 2, 4);
+        for (int id : expected) {
+            assertEquals(id, heap.poll());
+        }
+        assertEquals(true, heap.isEmpty());
+    }
+}
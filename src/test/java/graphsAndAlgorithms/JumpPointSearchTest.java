@@ -0,0 +1,109 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class JumpPointSearchTest {
+    private static final int SIZE = 30;
+
+    private static boolean[][] randomWalls(Random random) {
+        boolean[][] walls = new boolean[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                walls[x][y] = random.nextDouble() < 0.25;
+            }
+        }
+        return walls;
+    }
+
+    private static WAdjacencyGraph<Location> makeDiagonalGraph(boolean[][] walls) {
+        WAdjacencyGraph<Location> graph = new WAdjacencyGraph<>();
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                graph.add(new Location(x, y));
+            }
+        }
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if (walls[x][y]) continue;
+                if (x + 1 < SIZE && !walls[x + 1][y]) graph.connect_undirected(new Location(x, y), new Location(x + 1, y), 1);
+                if (y + 1 < SIZE && !walls[x][y + 1]) graph.connect_undirected(new Location(x, y), new Location(x, y + 1), 1);
+                for (int dy = -1; dy <= 1; dy += 2) {
+                    int ny = y + dy;
+                    if (x + 1 < SIZE && ny >= 0 && ny < SIZE && !walls[x + 1][ny] && !walls[x + 1][y] && !walls[x][ny]) {
+                        graph.connect_undirected(new Location(x, y), new Location(x + 1, ny), Math.sqrt(2));
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    public void matchesDijkstrasOnWalledGrids() {
+        Random random = new Random(3);
+        for (int round = 0; round < 10; round++) {
+            boolean[][] walls = randomWalls(random);
+            GridGraph grid = GridGraph.makeFullGridGraph(SIZE, SIZE);
+            for (int x = 0; x < SIZE; x++) {
+                for (int y = 0; y < SIZE; y++) {
+                    if (walls[x][y]) grid.isolate(new Location(x, y));
+                }
+            }
+            WAdjacencyGraph<Location> diagonalGraph = makeDiagonalGraph(walls);
+
+            Dijkstras<Location> dijkstras = new Dijkstras<>(grid);
+            Dijkstras<Location> diagonalDijkstras = new Dijkstras<>(diagonalGraph);
+            JumpPointSearch jps = new JumpPointSearch(grid);
+            JumpPointSearch jpsPlus = new JumpPointSearch(grid);
+            jpsPlus.precompute();
+            JumpPointSearch diagonalJps = new JumpPointSearch(grid, true);
+            JumpPointSearch diagonalJpsPlus = new JumpPointSearch(grid, true);
+            diagonalJpsPlus.precompute();
+
+            for (int query = 0; query < 40; query++) {
+                Location start = new Location(random.nextInt(SIZE), random.nextInt(SIZE));
+                Location end = new Location(random.nextInt(SIZE), random.nextInt(SIZE));
+                if (walls[start.getX()][start.getY()] || walls[end.getX()][end.getY()] || start.equals(end)) continue;
+
+                Path<WVertex<Location>> expected = dijkstras.findPath(start, end);
+                Path<WVertex<Location>> expectedDiagonal = diagonalDijkstras.findPath(start, end);
+                for (JumpPointSearch search : new JumpPointSearch[] { jps, jpsPlus }) {
+                    Path<WVertex<Location>> path = search.findPath(start, end);
+                    if (expected == null) {
+                        assertNull(path);
+                    } else {
+                        assertEquals(expected.distance, path.distance, 1e-9);
+                        assertEquals(expected.path.size(), path.path.size());
+                        for (int i = 1; i < path.path.size(); i++) {
+                            assertTrue(grid.connected(path.path.get(i - 1).getValue(), path.path.get(i).getValue()));
+                        }
+                    }
+                }
+                for (JumpPointSearch search : new JumpPointSearch[] { diagonalJps, diagonalJpsPlus }) {
+                    Path<WVertex<Location>> path = search.findPath(start, end);
+                    if (expectedDiagonal == null) {
+                        assertNull(path);
+                    } else {
+                        assertEquals(expectedDiagonal.distance, path.distance, 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void expandsFewerVerticesThanAStarOnOpenGrids() {
+        GridGraph grid = GridGraph.makeFullGridGraph(100, 100);
+        AStar<Location> aStar = new AStar<>(grid);
+        JumpPointSearch jps = new JumpPointSearch(grid, true);
+        aStar.findPath(new Location(3, 10), new Location(95, 80));
+        assertEquals(Math.sqrt(2) * 70 + 22, jps.findPath(new Location(3, 10), new Location(95, 80)).distance, 1e-9);
+        assertTrue(jps.getExpansions() * 10 < aStar.getExpansions());
+    }
+}
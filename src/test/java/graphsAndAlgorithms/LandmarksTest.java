@@ -0,0 +1,70 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class LandmarksTest {
+    @Test
+    public void fewerExpansionsThanEuclideanOnObstacleGrid() {
+        BitGridGraph grid = GraphGenerators.obstacleGrid(120, 120, 0.3, false, 3);
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(grid);
+        IndexedDijkstras<Location> aStar = new IndexedDijkstras<>(grid, Heuristic.straightLine(grid));
+
+        for (Landmarks.Selection selection : Landmarks.Selection.values()) {
+            IndexedDijkstras<Location> alt = new IndexedDijkstras<>(grid, new Landmarks<>(grid, 8, selection, 3));
+            SplittableRandom random = new SplittableRandom(3);
+            long euclideanExpansions = 0;
+            long landmarkExpansions = 0;
+            for (int i = 0; i < 100; i++) {
+                Location start = grid.valueOf(random.nextInt(grid.size()));
+                Location end = grid.valueOf(random.nextInt(grid.size()));
+                Path<Location> expected = dijkstras.findPath(start, end);
+                Path<Location> path = alt.findPath(start, end);
+                if (expected == null) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(expected.distance, path.distance, 1e-6);
+                landmarkExpansions += alt.getExpansions();
+                aStar.findPath(start, end);
+                euclideanExpansions += aStar.getExpansions();
+            }
+            assertTrue(landmarkExpansions * 2 < euclideanExpansions);
+        }
+    }
+
+    @Test
+    public void directedNonSpatialGraph() {
+        CSRGraph<Location> graph = GraphGenerators.scaleFree(3000, 2, 9);
+        GridGraph directed = new GridGraph(0, 0);
+        for (int v = 0; v < graph.size(); v++) {
+            directed.add(graph.valueOf(v));
+        }
+        /* Keep only edges towards larger ids, with unit weights */
+        for (int v = 0; v < graph.size(); v++) {
+            for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                if (graph.edgeTarget(edge) > v) directed.connect_directed(graph.valueOf(v), graph.valueOf(graph.edgeTarget(edge)), 1);
+            }
+        }
+        CSRGraph<Location> csr = directed.freeze();
+        Landmarks<Location> landmarks = new Landmarks<>(csr, 6, Landmarks.Selection.FARTHEST, 1);
+        IndexedDijkstras<Location> plain = new IndexedDijkstras<>(csr);
+        IndexedDijkstras<Location> alt = new IndexedDijkstras<>(csr, landmarks);
+        LandmarkAStar<Location> adjacencyAlt = new LandmarkAStar<>(directed, landmarks);
+
+        SplittableRandom random = new SplittableRandom(9);
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(csr.size());
+            int target = random.nextInt(csr.size());
+            assertTrue(landmarks.estimate(source, target) <= plain.distance(source, target));
+            assertEquals(plain.distance(source, target), alt.distance(source, target));
+            Path<WVertex<Location>> path = adjacencyAlt.findPath(csr.valueOf(source), csr.valueOf(target));
+            assertEquals(plain.distance(source, target), path == null ? Double.POSITIVE_INFINITY : path.distance);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedGraphTest {
+    @TempDir
+    java.nio.file.Path directory;
+
+    @Test
+    public void savedGraphsOpenWithEveryEdge() throws IOException {
+        GridGraph graph = GridGraph.makeFullGridGraph(20, 30);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 60; i++) {
+            graph.isolate(new Location(random.nextInt(30), random.nextInt(20)));
+        }
+        for (int i = 0; i < 40; i++) {
+            Location from = new Location(random.nextInt(30), random.nextInt(20));
+            Location to = new Location(random.nextInt(30), random.nextInt(20));
+            if (!from.equals(to)) graph.connect_directed(from, to, 1 + random.nextDouble() * 20);
+        }
+        java.nio.file.Path file = this.directory.resolve("grid.graph");
+        MappedGraph.save(graph, file);
+
+        /* Chunks of 64 bytes so every section spans many mappings */
+        MappedGraph mapped = MappedGraph.open(file, 6);
+        assertEquals(graph.size(), mapped.size());
+        assertEquals(20, mapped.getRows());
+        assertEquals(30, mapped.getCols());
+        for (int id = 0; id < mapped.size(); id++) {
+            Location value = mapped.valueOf(id);
+            assertEquals(graph.vertexAt(id).getValue(), value);
+            assertEquals(id, mapped.indexOf(value));
+            assertEquals(graph.vertexAt(id).getNeighbors().size(), mapped.edgeEnd(id) - mapped.edgeStart(id));
+            for (int edge = mapped.edgeStart(id); edge < mapped.edgeEnd(id); edge++) {
+                assertEquals(graph.weight(value, mapped.valueOf(mapped.edgeTarget(edge))), mapped.edgeWeight(edge));
+            }
+        }
+        assertEquals(-1, mapped.indexOf(new Location(30, 0)));
+
+        MappedGraph reverse = mapped.reverse();
+        assertEquals(mapped.edgeCount(), reverse.edgeCount());
+        for (int id = 0; id < reverse.size(); id++) {
+            for (int edge = reverse.edgeStart(id); edge < reverse.edgeEnd(id); edge++) {
+                Location from = reverse.valueOf(reverse.edgeTarget(edge));
+                assertEquals(graph.weight(from, reverse.valueOf(id)), reverse.edgeWeight(edge));
+            }
+        }
+
+        IndexedDijkstras<Location> expectedDijkstras = new IndexedDijkstras<>(graph.freeze());
+        IndexedDijkstras<Location> mappedDijkstras = new IndexedDijkstras<>(mapped);
+        GridGraph copy = mapped.toGridGraph();
+        for (int i = 0; i < 30; i++) {
+            Location start = mapped.valueOf(random.nextInt(mapped.size()));
+            Location end = mapped.valueOf(random.nextInt(mapped.size()));
+            Path<Location> expected = expectedDijkstras.findPath(start, end);
+            Path<Location> path = mappedDijkstras.findPath(start, end);
+            Path<WVertex<Location>> copied = new Dijkstras<>(copy).findPath(start, end);
+            if (expected == null) {
+                assertNull(path);
+                assertNull(copied);
+                continue;
+            }
+            assertEquals(expected.distance, path.distance);
+            assertEquals(expected.distance, copied.distance);
+        }
+    }
+
+    @Test
+    public void implicitGraphsDropEmptySlots() throws IOException {
+        BitGridGraph grid = GraphGenerators.obstacleGrid(64, 48, 0.3, true, 5);
+        java.nio.file.Path file = this.directory.resolve("bitgrid.graph");
+        MappedGraph.save(grid, file);
+        MappedGraph mapped = MappedGraph.open(file);
+        assertEquals(64, mapped.getRows());
+        assertEquals(48, mapped.getCols());
+
+        IndexedDijkstras<Location> expectedAStar = new IndexedDijkstras<>(grid, Heuristic.straightLine(grid));
+        IndexedDijkstras<Location> mappedAStar = new IndexedDijkstras<>(mapped, Heuristic.straightLine(mapped));
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 30; i++) {
+            Location start = grid.valueOf(random.nextInt(grid.size()));
+            Location end = grid.valueOf(random.nextInt(grid.size()));
+            Path<Location> expected = expectedAStar.findPath(start, end);
+            Path<Location> path = mappedAStar.findPath(start, end);
+            if (expected == null) {
+                assertNull(path);
+            } else {
+                assertEquals(expected.distance, path.distance, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void otherFilesAreRejected() throws IOException {
+        java.nio.file.Path junk = this.directory.resolve("junk.graph");
+        Files.write(junk, new byte[200]);
+        assertThrows(IOException.class, () -> MappedGraph.open(junk));
+
+        java.nio.file.Path file = this.directory.resolve("small.graph");
+        MappedGraph.save(GridGraph.makeFullGridGraph(3, 3), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = 2;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> MappedGraph.open(file));
+    }
+}
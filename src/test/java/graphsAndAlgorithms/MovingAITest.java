@@ -0,0 +1,78 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MovingAITest {
+    private static final String MAP = "type octile\n"
+        + "height 4\n"
+        + "width 6\n"
+        + "map\n"
+        + "......\n"
+        + ".@@@T.\n"
+        + ".@..W.\n"
+        + "...G.S\n";
+
+    private static final String SCENARIOS = "version 1\n"
+        + "0\ttest.map\t6\t4\t0\t0\t5\t0\t5\n"
+        + "0\ttest.map\t6\t4\t2\t2\t3\t3\t1.41421356\n"
+        + "1\ttest.map\t6\t4\t0\t0\t2\t2\t6\n"
+        + "1\ttest.map\t6\t4\t0\t3\t5\t1\t7\n";
+
+    @TempDir
+    java.nio.file.Path directory;
+
+    private static InputStream text(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void scenariosMatchSearchesOnTheMap() throws IOException {
+        BitGridGraph grid = MovingAI.readMap(text(MAP));
+        assertEquals(4, grid.getRows());
+        assertEquals(6, grid.getCols());
+        assertTrue(grid.isDiagonal());
+        assertTrue(grid.isWall(1, 1));
+        assertTrue(grid.isWall(4, 1));
+        assertTrue(grid.isWall(4, 2));
+        assertFalse(grid.isWall(3, 3));
+        assertFalse(grid.isWall(5, 3));
+
+        List<MovingAI.Scenario> scenarios = MovingAI.readScenarios(text(SCENARIOS));
+        assertEquals(4, scenarios.size());
+        assertEquals("test.map", scenarios.get(2).map);
+        assertEquals(new Location(2, 2), scenarios.get(2).goal);
+
+        IndexedDijkstras<Location> aStar = new IndexedDijkstras<>(grid, Heuristic.straightLine(grid));
+        for (MovingAI.Scenario scenario : scenarios) {
+            assertEquals(scenario.optimal, aStar.findPath(scenario.start, scenario.goal).distance, 1e-6);
+        }
+    }
+
+    @Test
+    public void mapsLoadAsGridGraphs() throws IOException {
+        java.nio.file.Path file = this.directory.resolve("test.map");
+        Files.write(file, MAP.getBytes(StandardCharsets.US_ASCII));
+        GridGraph graph = MovingAI.readGridGraph(file);
+        assertEquals(24, graph.size());
+        assertTrue(graph.getGridVertex(new Location(2, 1)).getNeighbors().isEmpty());
+        assertEquals(7, new BreadthFirstSearch<>(graph).findPath(new Location(0, 3), new Location(5, 1)).path.size() - 1);
+
+        assertThrows(IOException.class, () -> MovingAI.readMap(text("type octile\nheight 2\nwidth 3\nmap\n...\n..\n")));
+        assertThrows(IOException.class, () -> MovingAI.readMap(text("type octile\nheight 2\nwidth 3\n")));
+        assertThrows(IOException.class, () -> MovingAI.readMap(text("type octile\nheight 2\nwidth 3\nmap\n....\n...\n")));
+        assertEquals(3, MovingAI.readMap(text("type octile\nheight 2\nwidth 3\nmap\r\n...\r\n...")).getCols());
+    }
+}
@@ -0,0 +1,100 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class ParallelBreadthFirstSearchTest {
+    /*
+     * Every parent is one level up and joined by an edge, and no edge skips a level
+     */
+    private static void assertValidTree(IndexedGraph<Location> graph, ParallelBreadthFirstSearch.Tree tree) {
+        for (int v = 0; v < graph.size(); v++) {
+            if (!tree.isReached(v)) {
+                assertEquals(-1, tree.levels[v]);
+                continue;
+            }
+            if (v != tree.source) {
+                int parent = tree.parents[v];
+                assertEquals(tree.levels[parent] + 1, tree.levels[v]);
+                boolean edge = false;
+                for (int slot = graph.edgeStart(parent); slot < graph.edgeEnd(parent); slot++) {
+                    edge |= graph.edgeTarget(slot) == v;
+                }
+                assertTrue(edge);
+            }
+            for (int slot = graph.edgeStart(v); slot < graph.edgeEnd(v); slot++) {
+                int target = graph.edgeTarget(slot);
+                if (target >= 0) {
+                    assertTrue(tree.isReached(target) && tree.levels[target] <= tree.levels[v] + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void levelsMatchBreadthFirstSearch() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        IndexedGraph<Location> grid = GraphGenerators.obstacleGrid(200, 200, 0.25, false, 4);
+        IndexedGraph<Location> geometric = GraphGenerators.randomGeometric(30000, 3, 4);
+        IndexedGraph<Location> scaleFree = GraphGenerators.scaleFree(30000, 4, 4);
+        SplittableRandom random = new SplittableRandom(4);
+
+        for (IndexedGraph<Location> graph : List.of(grid, geometric, scaleFree)) {
+            ParallelBreadthFirstSearch<Location> parallel = new ParallelBreadthFirstSearch<>(graph, pool);
+            int source = random.nextInt(graph.size());
+            ParallelBreadthFirstSearch.Tree tree = parallel.traverse(graph.valueOf(source));
+            assertValidTree(graph, tree);
+            for (int i = 0; i < 50; i++) {
+                Location end = graph.valueOf(random.nextInt(graph.size()));
+                Path<Location> expected = BreadthFirstSearch.findPath(graph, graph.valueOf(source), end);
+                Path<Location> path = parallel.findPath(graph.valueOf(source), end);
+                if (expected == null) {
+                    assertNull(path);
+                    assertEquals(-1, tree.levels[graph.indexOf(end)]);
+                    continue;
+                }
+                assertEquals(expected.distance, path.distance);
+                assertEquals(expected.path.size() - 1, tree.levels[graph.indexOf(end)]);
+                assertEquals(end, path.path.get(path.path.size() - 1));
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void lowDiameterGraphsGoBottomUp() {
+        CSRGraph<Location> graph = GraphGenerators.scaleFree(50000, 8, 2);
+        ParallelBreadthFirstSearch.Tree tree = new ParallelBreadthFirstSearch<>(graph).traverse(graph.valueOf(graph.size() - 1));
+        assertTrue(tree.bottomUpLevels > 0);
+        assertTrue(tree.bottomUpLevels < tree.depth);
+        assertValidTree(graph, tree);
+    }
+
+    @Test
+    public void directedGraphsUseInEdges() {
+        CSRGraph<Location> graph = GraphGenerators.scaleFree(5000, 6, 8);
+        GridGraph directed = new GridGraph(0, 0);
+        for (int v = 0; v < graph.size(); v++) {
+            directed.add(graph.valueOf(v));
+        }
+        /* Only edges towards smaller ids, so everything reaches vertex 0 but not back */
+        for (int v = 0; v < graph.size(); v++) {
+            for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                if (graph.edgeTarget(edge) < v) directed.connect_directed(graph.valueOf(v), graph.valueOf(graph.edgeTarget(edge)), 1);
+            }
+        }
+        CSRGraph<Location> csr = directed.freeze();
+        ParallelBreadthFirstSearch<Location> parallel = new ParallelBreadthFirstSearch<>(csr);
+        ParallelBreadthFirstSearch.Tree tree = parallel.traverse(graph.valueOf(graph.size() - 1));
+        assertValidTree(csr, tree);
+        assertTrue(tree.isReached(csr.indexOf(graph.valueOf(0))));
+        assertNull(parallel.findPath(graph.valueOf(0), graph.valueOf(graph.size() - 1)));
+    }
+}
@@ -0,0 +1,123 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PathCacheTest {
+    @Test
+    public void repeatedQueriesHitUntilTheGraphChanges() {
+        GridGraph graph = GridGraph.makeFullGridGraph(20, 20);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        PathCache<Location> cache = new PathCache<>(16);
+        Location start = new Location(0, 0);
+        Location end = new Location(19, 0);
+
+        Path<WVertex<Location>> first = cache.findPath(dijkstras, start, end);
+        Path<WVertex<Location>> second = cache.findPath(dijkstras, start, end);
+        assertEquals(19, first.distance, 1e-9);
+        assertEquals(first.path, second.path);
+        assertNotSame(first.path, second.path);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        /* A wall on the straight route forces a detour */
+        graph.isolate(new Location(10, 0));
+        Path<WVertex<Location>> detour = cache.findPath(dijkstras, start, end);
+        assertEquals(21, detour.distance, 1e-9);
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void algorithmsAndMissingPathsAreCachedSeparately() {
+        GridGraph graph = GridGraph.makeFullGridGraph(10, 10);
+        PathCache<Location> cache = new PathCache<>(16);
+        Location start = new Location(0, 0);
+        Location end = new Location(9, 9);
+        graph.isolate(end);
+
+        assertNull(cache.findPath(new Dijkstras<>(graph), start, end));
+        assertNull(cache.findPath(new BreadthFirstSearch<>(graph), start, end));
+        assertEquals(2, cache.size());
+
+        BreadthFirstSearch<Location> bfs = new BreadthFirstSearch<>(graph);
+        cache.findPath(bfs, start, new Location(5, 5));
+        assertNotNull(cache.findPath(bfs, start, new Location(5, 5)));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        GridGraph graph = GridGraph.makeFullGridGraph(10, 10);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        PathCache<Location> cache = new PathCache<>(2);
+        Location start = new Location(0, 0);
+
+        cache.findPath(dijkstras, start, new Location(1, 0));
+        cache.findPath(dijkstras, start, new Location(2, 0));
+        cache.findPath(dijkstras, start, new Location(1, 0));
+        cache.findPath(dijkstras, start, new Location(3, 0));
+        assertEquals(1, cache.getEvictions());
+
+        /* (2, 0) was the least recently used, (1, 0) survives */
+        cache.findPath(dijkstras, start, new Location(1, 0));
+        assertEquals(2, cache.getHits());
+        cache.findPath(dijkstras, start, new Location(2, 0));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void boundedByCachedVertices() {
+        GridGraph graph = GridGraph.makeFullGridGraph(10, 10);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        PathCache<Location> cache = new PathCache<>(100, 12);
+        Location start = new Location(0, 0);
+
+        cache.findPath(dijkstras, start, new Location(5, 0));
+        cache.findPath(dijkstras, start, new Location(0, 5));
+        assertEquals(12, cache.getVertexCount());
+        cache.findPath(dijkstras, start, new Location(1, 0));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(8, cache.getVertexCount());
+
+        /* Longer than the whole budget, returned but never cached */
+        assertEquals(18, cache.findPath(dijkstras, start, new Location(9, 9)).distance, 1e-9);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void stoppedSearchesAreNotCached() {
+        GridGraph graph = GridGraph.makeFullGridGraph(10, 10);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        PathCache<Location> cache = new PathCache<>(16);
+        Location start = new Location(0, 0);
+        Location end = new Location(9, 9);
+        dijkstras.setListener(new SearchListener<Location>() {
+            @Override
+            public void vertexQueued(Location value) {}
+
+            @Override
+            public void vertexVisited(Location value) {
+                dijkstras.stop();
+            }
+
+            @Override
+            public void vertexOnPath(Location value) {}
+        });
+
+        assertNull(cache.findPath(dijkstras, start, end));
+        assertTrue(dijkstras.wasStopped());
+        assertEquals(0, cache.size());
+
+        dijkstras.setListener(null);
+        assertEquals(18, cache.findPath(dijkstras, start, end).distance, 1e-9);
+        assertFalse(dijkstras.wasStopped());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,46 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryEngineTest {
+    @Test
+    public void batchMatchesDijkstras() {
+        GridGraph graph = GridGraph.makeRandomGridGraph(3000, 3, 11);
+        CSRGraph<Location> csr = graph.freeze();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        QueryEngine<Location> engine = new QueryEngine<>(csr, pool);
+
+        SplittableRandom random = new SplittableRandom(11);
+        List<QueryEngine.Query<Location>> batch = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            /* Few distinct starts so most queries share a single-source run */
+            Location start = csr.valueOf(random.nextInt(20));
+            batch.add(new QueryEngine.Query<>(start, csr.valueOf(random.nextInt(csr.size()))));
+        }
+        batch.add(new QueryEngine.Query<>(new Location(-1, -1), csr.valueOf(0)));
+
+        List<Path<Location>> paths = engine.run(batch);
+        assertEquals(batch.size(), paths.size());
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        for (int i = 0; i < batch.size(); i++) {
+            Path<WVertex<Location>> expected = dijkstras.findPath(batch.get(i).start, batch.get(i).end);
+            if (expected == null) {
+                assertNull(paths.get(i));
+                continue;
+            }
+            assertEquals(expected.distance, paths.get(i).distance, 1e-9);
+            assertEquals(batch.get(i).start, paths.get(i).path.get(0));
+            assertEquals(batch.get(i).end, paths.get(i).path.get(paths.get(i).path.size() - 1));
+        }
+        assertEquals(0, engine.submit(csr.valueOf(5), csr.valueOf(5)).join().distance);
+        pool.shutdown();
+    }
+}
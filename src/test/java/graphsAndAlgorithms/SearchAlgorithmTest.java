@@ -0,0 +1,79 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchAlgorithmTest {
+    private static WAdjacencyGraph<Location> makeLine(int length) {
+        WAdjacencyGraph<Location> graph = new WAdjacencyGraph<>();
+        for (int x = 0; x < length; x++) {
+            graph.add(new Location(x, 0));
+            if (x > 0) graph.connect_undirected(new Location(x - 1, 0), new Location(x, 0), 2);
+        }
+        return graph;
+    }
+
+    @Test
+    public void headlessSearchesRunOnPlainGraphs() {
+        WAdjacencyGraph<Location> graph = makeLine(50);
+        List<SearchAlgorithm<Location>> algorithms = List.of(
+            new BreadthFirstSearch<>(graph),
+            new DepthFirstSearch<>(graph),
+            new NearestNeighbor<>(graph),
+            new Dijkstras<>(graph),
+            new AStar<>(graph)
+        );
+        for (SearchAlgorithm<Location> algorithm : algorithms) {
+            Path<WVertex<Location>> path = algorithm.findPath(new Location(0, 0), new Location(49, 0));
+            assertNotNull(path, algorithm.getClass().getSimpleName());
+            assertEquals(new Location(49, 0), path.path.get(path.path.size() - 1).getValue());
+        }
+    }
+
+    @Test
+    public void listenerSeesPathInOrder() {
+        WAdjacencyGraph<Location> graph = makeLine(5);
+        List<Location> onPath = new ArrayList<>();
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        dijkstras.setListener(new SearchListener<Location>() {
+            @Override
+            public void vertexQueued(Location value) {}
+
+            @Override
+            public void vertexVisited(Location value) {}
+
+            @Override
+            public void vertexOnPath(Location value) {
+                onPath.add(value);
+            }
+        });
+        assertEquals(8, dijkstras.findPath(new Location(0, 0), new Location(4, 0)).distance);
+        assertEquals(5, onPath.size());
+        assertEquals(new Location(4, 0), onPath.get(0));
+    }
+
+    @Test
+    public void aStarIsOptimalAndExpandsLess() {
+        GridGraph graph = GridGraph.makeFullGridGraph(40, 40);
+        CSRGraph<Location> csr = graph.freeze();
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        AStar<Location> aStar = new AStar<>(graph);
+        Location start = new Location(2, 5);
+        Location end = new Location(35, 30);
+
+        assertEquals(58, dijkstras.findPath(start, end).distance);
+        int dijkstrasExpansions = dijkstras.getExpansions();
+        assertEquals(58, aStar.findPath(start, end).distance);
+        assertTrue(aStar.getExpansions() < dijkstrasExpansions);
+
+        IndexedDijkstras<Location> indexed = new IndexedDijkstras<>(csr, Heuristic.straightLine(csr));
+        assertEquals(58, indexed.findPath(start, end).distance);
+        assertEquals(58, indexed.findPath(start, end).path.size() - 1);
+    }
+}
@@ -0,0 +1,182 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchSessionTest {
+    private static GridGraph makeMaze() {
+        GridGraph graph = GridGraph.makeFullGridGraph(30, 30);
+        /* Walls across most of every fifth column, alternating ends */
+        for (int x = 5; x < 30; x += 5) {
+            for (int y = 0; y < 25; y++) {
+                graph.isolate(new Location(x, (x / 5) % 2 == 0 ? y : y + 5));
+            }
+        }
+        return graph;
+    }
+
+    private static List<Location> values(Path<WVertex<Location>> path) {
+        List<Location> values = new ArrayList<>();
+        for (WVertex<Location> vertex : path.path) {
+            values.add(vertex.getValue());
+        }
+        return values;
+    }
+
+    @Test
+    public void steppedSessionsMatchFindPath() {
+        GridGraph graph = makeMaze();
+        Location start = new Location(0, 0);
+        Location end = new Location(29, 29);
+        List<SearchAlgorithm<Location>> algorithms = List.of(
+            new BreadthFirstSearch<>(graph),
+            new DepthFirstSearch<>(graph),
+            new Dijkstras<>(graph),
+            new AStar<>(graph),
+            new JumpPointSearch(graph)
+        );
+        for (SearchAlgorithm<Location> algorithm : algorithms) {
+            String name = algorithm.getClass().getSimpleName();
+            Path<WVertex<Location>> expected = algorithm.findPath(start, end);
+            int expansions = algorithm.getExpansions();
+
+            SearchSession<Location> session = algorithm.session(start, end);
+            int steps = 0;
+            while (!session.isFinished()) {
+                steps += session.step(7);
+                assertTrue(session.getExpansions() <= expansions, name);
+            }
+            assertEquals(expansions, session.getExpansions(), name);
+            assertEquals(expansions, steps, name);
+            assertEquals(expected.distance, session.getPath().distance, name);
+            assertEquals(values(expected), values(session.getPath()), name);
+        }
+    }
+
+    @Test
+    public void dStarLiteSessionsRepairTheLastSearch() {
+        GridGraph graph = makeMaze();
+        Location start = new Location(0, 0);
+        Location end = new Location(29, 29);
+        DStarLite<Location> expected = new DStarLite<>(graph);
+        DStarLite<Location> stepped = new DStarLite<>(graph);
+
+        List<Location> events = new ArrayList<>();
+        stepped.setListener(new SearchListener<Location>() {
+            @Override
+            public void vertexQueued(Location value) {
+                events.add(value);
+            }
+
+            @Override
+            public void vertexVisited(Location value) {}
+
+            @Override
+            public void vertexOnPath(Location value) {}
+        });
+        SearchSession<Location> session = stepped.session(start, end);
+        assertTrue(events.isEmpty());
+        /* Events keep going to the listener the session was made with */
+        stepped.setListener(null);
+        int steps = 0;
+        while (!session.isFinished()) {
+            steps += session.step(5);
+        }
+        assertFalse(events.isEmpty());
+        Path<WVertex<Location>> path = expected.findPath(start, end);
+        assertEquals(expected.getExpansions(), steps);
+        assertEquals(path.distance, session.getPath().distance);
+
+        /* After an edit the next session only repairs, as findPath does */
+        graph.isolate(path.path.get(path.path.size() / 2).getValue());
+        session = stepped.session(start, end);
+        steps = 0;
+        while (!session.isFinished()) {
+            steps += session.step(5);
+        }
+        assertEquals(expected.findPath(start, end).distance, session.getPath().distance);
+        assertEquals(expected.getExpansions(), steps);
+        expected.detach();
+        stepped.detach();
+    }
+
+    @Test
+    public void sessionsInterleaveOnOneThread() {
+        GridGraph graph = makeMaze();
+        Dijkstras<Location> aStar = new AStar<>(graph);
+        List<Location> visited = new ArrayList<>();
+        aStar.setListener(new SearchListener<Location>() {
+            @Override
+            public void vertexQueued(Location value) {}
+
+            @Override
+            public void vertexVisited(Location value) {
+                visited.add(value);
+            }
+
+            @Override
+            public void vertexOnPath(Location value) {}
+        });
+
+        Location[][] queries = {
+            { new Location(0, 0), new Location(29, 29) },
+            { new Location(29, 0), new Location(0, 29) },
+            { new Location(12, 3), new Location(27, 20) },
+        };
+        List<SearchSession<Location>> sessions = new ArrayList<>();
+        for (Location[] query : queries) {
+            sessions.add(aStar.session(query[0], query[1]));
+        }
+        /* Round robin, a few expansions each, with a findPath in between on the same thread */
+        boolean busy = true;
+        for (int round = 0; busy; round++) {
+            busy = false;
+            for (SearchSession<Location> session : sessions) {
+                busy |= session.step() | session.step() | session.step();
+            }
+            if (round == 10) aStar.findPath(queries[2][1], queries[2][0]);
+        }
+
+        int total = 0;
+        for (int i = 0; i < queries.length; i++) {
+            Path<WVertex<Location>> expected = new AStar<>(graph).findPath(queries[i][0], queries[i][1]);
+            assertEquals(expected.distance, sessions.get(i).getPath().distance);
+            total += sessions.get(i).getExpansions();
+        }
+        assertEquals(total + aStar.getExpansions(), visited.size());
+    }
+
+    @Test
+    public void deadlinesAndCancel() {
+        GridGraph graph = makeMaze();
+        BreadthFirstSearch<Location> bfs = new BreadthFirstSearch<>(graph);
+        SearchSession<Location> session = bfs.session(new Location(0, 0), new Location(29, 29));
+        assertTrue(session.advanceUntil(System.nanoTime() - 1));
+        assertEquals(0, session.getExpansions());
+        assertFalse(session.advanceUntil(Long.MAX_VALUE));
+        assertEquals(bfs.findPath(new Location(0, 0), new Location(29, 29)).distance, session.getPath().distance);
+        assertFalse(session.step());
+
+        SearchSession<Location> cancelled = bfs.session(new Location(0, 0), new Location(29, 29));
+        cancelled.step(10);
+        cancelled.cancel();
+        assertTrue(cancelled.isFinished());
+        assertNull(cancelled.getPath());
+        assertEquals(0, cancelled.step(10));
+
+        assertTrue(bfs.session(new Location(0, 0), new Location(99, 99)).isFinished());
+
+        /* Algorithms without a resumable search finish in one step */
+        NearestNeighbor<Location> greedy = new NearestNeighbor<>(graph);
+        SearchSession<Location> whole = greedy.session(new Location(0, 0), new Location(3, 3));
+        assertFalse(whole.step());
+        assertEquals(values(greedy.findPath(new Location(0, 0), new Location(3, 3))), values(whole.getPath()));
+    }
+}
@@ -0,0 +1,40 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchWorkspaceTest {
+    @Test
+    public void beginForgetsPreviousSearch() {
+        SearchWorkspace workspace = new SearchWorkspace(4);
+        workspace.reach(2, 1.5, 0);
+        workspace.close(2);
+        assertEquals(1.5, workspace.distance(2));
+
+        workspace.begin(4);
+        assertFalse(workspace.isReached(2));
+        assertFalse(workspace.isClosed(2));
+        assertEquals(Double.POSITIVE_INFINITY, workspace.distance(2));
+        assertEquals(-1, workspace.predecessor(2));
+
+        workspace.begin(10);
+        assertTrue(workspace.capacity() >= 10);
+        assertFalse(workspace.isReached(9));
+    }
+
+    @Test
+    public void repeatedQueriesReuseThreadWorkspace() {
+        GridGraph graph = GridGraph.makeFullGridGraph(15, 15);
+        Dijkstras<Location> dijkstras = new Dijkstras<>(graph);
+        BreadthFirstSearch<Location> bfs = new BreadthFirstSearch<>(graph);
+        for (int i = 0; i < 5; i++) {
+            Location end = new Location(14 - i, 3 + i);
+            double expected = end.getX() + end.getY();
+            assertEquals(expected, dijkstras.findPath(new Location(0, 0), end).distance);
+            assertEquals(expected + 1, bfs.findPath(new Location(0, 0), end).path.size());
+        }
+    }
+}
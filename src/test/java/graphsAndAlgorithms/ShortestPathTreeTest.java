@@ -0,0 +1,80 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class ShortestPathTreeTest {
+    @Test
+    public void dijkstrasTreeMatchesFindPath() {
+        CSRGraph<Location> graph = GraphGenerators.randomGeometric(2000, 5, 11);
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(graph);
+        Location source = graph.valueOf(0);
+        ShortestPathTree<Location> tree = dijkstras.shortestPathTree(source);
+        assertEquals(source, tree.getSource());
+
+        for (int id = 0; id < graph.size(); id++) {
+            Location target = graph.valueOf(id);
+            Path<Location> expected = dijkstras.findPath(source, target);
+            Path<Location> path = tree.pathTo(target);
+            if (expected == null) {
+                assertNull(path);
+                assertFalse(tree.isReached(target));
+                continue;
+            }
+            assertEquals(expected.distance, tree.distance(target), 1e-9);
+            assertEquals(expected.distance, path.distance, 1e-9);
+            assertEquals(source, path.path.get(0));
+            assertEquals(target, path.path.get(path.path.size() - 1));
+        }
+    }
+
+    @Test
+    public void treeStopsOnceTargetsAreSettled() {
+        BitGridGraph grid = GraphGenerators.obstacleGrid(100, 100, 0.2, false, 4);
+        IndexedDijkstras<Location> dijkstras = new IndexedDijkstras<>(grid);
+        Location source = new Location(50, 50);
+        ShortestPathTree<Location> full = dijkstras.shortestPathTree(source);
+        assertTrue(full.getSettled() > 5000);
+
+        /* A target walled off from the source would make the search exhaust its component */
+        SplittableRandom random = new SplittableRandom(9);
+        List<Location> targets = new ArrayList<>();
+        while (targets.size() < 20) {
+            Location target = new Location(45 + random.nextInt(11), 45 + random.nextInt(11));
+            if (full.isReached(target)) targets.add(target);
+        }
+        targets.add(new Location(500, 500));
+
+        ShortestPathTree<Location> partial = dijkstras.shortestPathTree(source, targets);
+        ShortestPathTree<Location> hops = BreadthFirstSearch.shortestPathTree(grid, source, targets);
+        assertTrue(partial.getSettled() < full.getSettled() / 4);
+        assertTrue(hops.getSettled() < full.getSettled() / 4);
+        assertEquals(partial.getSettled(), dijkstras.getExpansions());
+
+        for (Location target : targets) {
+            Path<Location> expected = dijkstras.findPath(source, target);
+            Path<Location> counted = BreadthFirstSearch.findPath(grid, source, target);
+            if (expected == null) {
+                assertNull(partial.pathTo(target));
+                assertNull(hops.pathTo(target));
+                continue;
+            }
+            assertEquals(expected.distance, partial.distance(target), 1e-9);
+            assertEquals(counted.distance, hops.pathTo(target).distance);
+            assertEquals(counted.distance - 1, hops.distance(target));
+        }
+
+        ShortestPathTree<Location> none = dijkstras.shortestPathTree(source, new ArrayList<>());
+        assertEquals(1, none.getSettled());
+        assertEquals(0, none.distance(source));
+        assertNull(dijkstras.shortestPathTree(new Location(500, 500)));
+    }
+}
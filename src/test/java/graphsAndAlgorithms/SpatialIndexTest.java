@@ -0,0 +1,49 @@
+package graphsAndAlgorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SpatialIndexTest {
+    @Test
+    public void matchesBruteForce() {
+        Random random = new Random(8);
+        List<Location> points = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            points.add(new Location(random.nextInt(1000) - 300, random.nextInt(200)));
+        }
+        SpatialIndex index = new SpatialIndex(points);
+
+        for (int k : new int[] { 1, 3, 10 }) {
+            for (int i = 0; i < 100; i++) {
+                Location point = i % 2 == 0 ? points.get(i) : new Location(random.nextInt(3000) - 1000, random.nextInt(600) - 200);
+                List<Double> expected = new ArrayList<>();
+                for (Location other : points) {
+                    if (!other.equals(point)) expected.add(point.distance(other));
+                }
+                expected.sort(null);
+
+                List<Location> nearest = index.nearest(point, k);
+                assertEquals(k, nearest.size());
+                for (int j = 0; j < k; j++) {
+                    assertEquals(expected.get(j), point.distance(nearest.get(j)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void randomGridGraphUsesConfiguredK() {
+        GridGraph graph = GridGraph.makeRandomGridGraph(2000, 5);
+        assertEquals(2000, graph.size());
+        for (Location point : graph.vertices.keySet()) {
+            assertTrue(graph.getGridVertex(point).getNeighbors().size() >= 5);
+        }
+        assertEquals(2, new SpatialIndex(List.of(new Location(0, 0), new Location(5, 5), new Location(1, 1))).nearest(new Location(0, 0), 4).size());
+    }
+}